@@ -0,0 +1,85 @@
+package com.dota2.benchmarks;
+
+import com.dota2.model.Hero;
+import com.dota2.model.Match;
+import com.dota2.model.Player;
+import com.dota2.model.Team;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of binding recorded API payloads to the model classes with a shared ObjectMapper.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeserializationBenchmark {
+    private static final TypeReference<List<Hero>> HERO_LIST = new TypeReference<>() { };
+    private static final TypeReference<List<Team>> TEAM_LIST = new TypeReference<>() { };
+    private static final TypeReference<List<Match>> MATCH_LIST = new TypeReference<>() { };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] match;
+    private byte[] publicMatches;
+    private byte[] player;
+    private byte[] heroes;
+    private byte[] team;
+    private byte[] teams;
+
+    @Setup
+    public void setUp() {
+        match = Fixtures.load(Fixtures.MATCH);
+        publicMatches = Fixtures.load(Fixtures.PUBLIC_MATCHES);
+        player = Fixtures.load(Fixtures.PLAYER);
+        heroes = Fixtures.load(Fixtures.HEROES);
+        team = Fixtures.load(Fixtures.TEAM);
+        teams = Fixtures.load(Fixtures.TEAMS);
+    }
+
+    @Benchmark
+    public Match match() throws IOException {
+        return objectMapper.readValue(match, Match.class);
+    }
+
+    @Benchmark
+    public List<Match> publicMatches() throws IOException {
+        return objectMapper.readValue(publicMatches, MATCH_LIST);
+    }
+
+    @Benchmark
+    public Player player() throws IOException {
+        return objectMapper.readValue(player, Player.class);
+    }
+
+    @Benchmark
+    public List<Hero> heroes() throws IOException {
+        return objectMapper.readValue(heroes, HERO_LIST);
+    }
+
+    @Benchmark
+    public Team team() throws IOException {
+        return objectMapper.readValue(team, Team.class);
+    }
+
+    @Benchmark
+    public List<Team> teams() throws IOException {
+        return objectMapper.readValue(teams, TEAM_LIST);
+    }
+}
@@ -0,0 +1,55 @@
+package com.dota2.benchmarks;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Loads the recorded API payloads under /fixtures on the classpath, laid out like the API paths
+ * that {@link com.dota2.stub.FixtureServer} serves them under.
+ */
+final class Fixtures {
+    static final String HEROES = "heroes.json";
+    static final String PUBLIC_MATCHES = "publicMatches.json";
+    static final String MATCH = "matches/7487603797.json";
+    static final String PLAYER = "players/86745912.json";
+    static final String TEAM = "teams/15.json";
+    static final String TEAMS = "teams.json";
+
+    private Fixtures() {
+    }
+
+    /**
+     * Reads a fixture
+     * @param name file name under /fixtures
+     * @return raw JSON bytes
+     */
+    static byte[] load(String name) {
+        try (InputStream stream = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (stream == null) {
+                throw new IllegalArgumentException("Fixture not found: " + name);
+            }
+            return stream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading fixture " + name, e);
+        }
+    }
+
+    /**
+     * Wraps a fixture in a 200 OK Rest-Assured response, as if it had been received from the API
+     * @param name file name under /fixtures
+     * @return response with the fixture as its body
+     */
+    static Response response(String name) {
+        return new ResponseBuilder()
+                .setStatusCode(200)
+                .setStatusLine("HTTP/1.1 200 OK")
+                .setContentType(ContentType.JSON)
+                .setBody(load(name))
+                .build();
+    }
+}
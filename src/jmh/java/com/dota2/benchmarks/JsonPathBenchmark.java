@@ -0,0 +1,108 @@
+package com.dota2.benchmarks;
+
+import com.dota2.api.client.ModelMapper;
+import com.dota2.model.Hero;
+import com.dota2.model.Match;
+import com.dota2.model.Team;
+import com.dota2.utils.ParsedResponse;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Compares the ways the tests turn a list response into models:
+ * response.jsonPath().getList("", type), response.as(type[].class), direct ObjectMapper binding,
+ * the shared {@link ModelMapper} behind the typed endpoint methods and {@link ParsedResponse};
+ * and six response.then().body(...) assertions against the same six
+ * made through one {@link ParsedResponse}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonPathBenchmark {
+    private static final Map<String, Class<?>> MODELS = Map.of(
+            Fixtures.HEROES, Hero.class,
+            Fixtures.PUBLIC_MATCHES, Match.class,
+            Fixtures.TEAMS, Team.class);
+
+    @Param({Fixtures.HEROES, Fixtures.PUBLIC_MATCHES, Fixtures.TEAMS})
+    public String fixture;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Response response;
+    private Class<?> model;
+    private Class<?> arrayType;
+    private JavaType listType;
+
+    @Setup
+    public void setUp() {
+        response = Fixtures.response(fixture);
+        model = MODELS.get(fixture);
+        arrayType = Array.newInstance(model, 0).getClass();
+        listType = objectMapper.getTypeFactory().constructCollectionType(List.class, model);
+    }
+
+    @Benchmark
+    public List<?> jsonPathGetList() {
+        return response.jsonPath().getList("", model);
+    }
+
+    @Benchmark
+    public Object responseAs() {
+        return response.as(arrayType);
+    }
+
+    @Benchmark
+    public List<?> objectMapper() throws IOException {
+        return objectMapper.readValue(response.asByteArray(), listType);
+    }
+
+    @Benchmark
+    public List<?> modelMapper() {
+        return ModelMapper.getInstance().readList(response, model);
+    }
+
+    @Benchmark
+    public List<?> parsedResponseGetList() {
+        return new ParsedResponse(response).getList("", model);
+    }
+
+    @Benchmark
+    public void repeatedBodyAssertions() {
+        for (int i = 0; i < 6; i++) {
+            response.then().body("[0]", notNullValue());
+        }
+    }
+
+    @Benchmark
+    public void parsedResponseAssertions(Blackhole blackhole) {
+        ParsedResponse parsed = new ParsedResponse(response);
+        for (int i = 0; i < 6; i++) {
+            parsed.then().body("[0]", notNullValue());
+        }
+        blackhole.consume(parsed);
+    }
+}
@@ -0,0 +1,95 @@
+package com.dota2.benchmarks;
+
+import com.dota2.api.client.ClientRegistry;
+import com.dota2.api.client.RestClient;
+import com.dota2.stub.FixtureServer;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the RestClient stack (filters, request logging, retry/timeout/circuit bookkeeping)
+ * over a bare Rest-Assured GET, measured against the local {@link FixtureServer} so the network
+ * and the real API do not dominate the numbers. logMode compares Rest-Assured's synchronous request
+ * dump with the compact request log on the async Log4j configuration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RestClientBenchmark {
+    @Param({"/heroes", "/players/86745912"})
+    public String endpoint;
+
+    @Param({"full", "compact"})
+    public String logMode;
+
+    private FixtureServer server;
+    private PrintStream originalOut;
+    private String baseUrl;
+    private RestClient restClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Logs are still formatted, and written to the log file, on every call; only the console is discarded.
+        // Log4j reads its configuration when the first logger is created, so this comes before the server
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        System.setProperty("log4j2.configurationFile", "compact".equals(logMode) ? "config/log4j2-async.xml" : "config/log4j2.xml");
+
+        server = new FixtureServer(0, Runtime.getRuntime().availableProcessors());
+        baseUrl = server.getBaseUrl();
+
+        // Must be set before the registry reads its config; each fork is a fresh JVM
+        System.setProperty("api.base.url", baseUrl);
+        System.setProperty("api.ratelimit.enabled", "false");
+        System.setProperty("api.cache.enabled", "false");
+        System.setProperty("api.log.mode", logMode);
+        restClient = ClientRegistry.getInstance().getRestClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(originalOut);
+        server.close();
+    }
+
+    @Benchmark
+    public Response restClientGet() {
+        return restClient.get(endpoint);
+    }
+
+    @Benchmark
+    public Response restClientGetAsync() {
+        return restClient.getAsync(endpoint).join();
+    }
+
+    @Benchmark
+    public Response bareRestAssuredGet() {
+        return RestAssured.given()
+                .baseUri(baseUrl)
+                .when()
+                .get(endpoint)
+                .then()
+                .extract().response();
+    }
+}
@@ -0,0 +1,57 @@
+package com.dota2.benchmarks;
+
+import com.dota2.utils.SchemaValidator;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one SchemaValidator.validateSchema call per schema, against a recorded payload that passes it.
+ * The compiled schema and the parsed body are both reused, so this is the validation alone;
+ * validateStreaming reads the body again on each call, as it never keeps a tree of it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SchemaValidationBenchmark {
+    private static final Map<String, String> FIXTURES = Map.of(
+            "hero-schema.json", Fixtures.HEROES,
+            "match-schema.json", Fixtures.MATCH,
+            "player-schema.json", Fixtures.PLAYER,
+            "team-schema.json", Fixtures.TEAM);
+
+    @Param({"hero-schema.json", "match-schema.json", "player-schema.json", "team-schema.json"})
+    public String schema;
+
+    private Response response;
+
+    @Setup
+    public void setUp() {
+        response = Fixtures.response(FIXTURES.get(schema));
+    }
+
+    @Benchmark
+    public void validateSchema() {
+        SchemaValidator.validateSchema(response, schema);
+    }
+
+    @Benchmark
+    public void validateStreaming() {
+        SchemaValidator.validateStreaming(response, schema);
+    }
+}
@@ -0,0 +1,157 @@
+package com.dota2.api.endpoints;
+
+import com.dota2.api.client.ClientRegistry;
+import com.dota2.api.client.ModelMapper;
+import com.dota2.api.client.RestClient;
+import com.dota2.api.config.ApiConfig;
+import com.dota2.constants.EndpointConstants;
+import com.dota2.model.Hero;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory index of the /heroes list, downloaded once and refreshed after a TTL.
+ * Hero IDs are small dense integers, so lookups by ID are a plain array access.
+ */
+public class HeroCatalog {
+    private static final Logger logger = LogManager.getLogger(HeroCatalog.class);
+    private static HeroCatalog instance;
+
+    private final RestClient restClient;
+    private final long ttlNanos;
+    private volatile Snapshot snapshot;
+
+    HeroCatalog(RestClient restClient, long ttlSeconds) {
+        this.restClient = restClient;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    public static synchronized HeroCatalog getInstance() {
+        if (instance == null) {
+            instance = new HeroCatalog(ClientRegistry.getInstance().getRestClient(),
+                    ApiConfig.getInstance().getHeroCatalogTtlSeconds());
+        }
+        return instance;
+    }
+
+    /**
+     * Finds a hero by ID
+     * @param heroId hero ID
+     * @return the hero, or null if no hero has that ID
+     */
+    public Hero findById(int heroId) {
+        Hero[] byId = current().byId;
+        return heroId >= 0 && heroId < byId.length ? byId[heroId] : null;
+    }
+
+    /**
+     * Finds a hero by internal name (npc_dota_hero_antimage) or localized name (Anti-Mage), ignoring case
+     * @param name hero name
+     * @return the hero, or null if no hero has that name
+     */
+    public Hero findByName(String name) {
+        if (name == null) {
+            return null;
+        }
+        return current().byName.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Gets every hero in API order
+     * @return unmodifiable list of heroes
+     */
+    public List<Hero> getHeroes() {
+        return current().heroes;
+    }
+
+    /**
+     * Gets the /heroes response the catalog was built from
+     * @return Response object
+     */
+    public Response getResponse() {
+        return current().response;
+    }
+
+    /**
+     * Drops the loaded catalog so the next lookup downloads /heroes again
+     */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    private Snapshot current() {
+        Snapshot loaded = snapshot;
+        if (loaded != null && !loaded.isExpired(ttlNanos)) {
+            return loaded;
+        }
+        synchronized (this) {
+            loaded = snapshot;
+            if (loaded == null || loaded.isExpired(ttlNanos)) {
+                loaded = load();
+            }
+            return loaded;
+        }
+    }
+
+    private Snapshot load() {
+        logger.info("Loading hero catalog");
+        Response response = restClient.get(EndpointConstants.HEROES_ENDPOINT);
+
+        if (response.getStatusCode() != EndpointConstants.STATUS_OK) {
+            logger.warn("Hero catalog not loaded, /heroes returned status {}", Unbox.box(response.getStatusCode()));
+            return new Snapshot(response, new Hero[0]);
+        }
+
+        Snapshot loaded = new Snapshot(response, ModelMapper.getInstance().read(response, Hero[].class));
+        snapshot = loaded;
+        logger.info("Hero catalog loaded with {} heroes", Unbox.box(loaded.heroes.size()));
+        return loaded;
+    }
+
+    private static final class Snapshot {
+        private final Response response;
+        private final List<Hero> heroes;
+        private final Hero[] byId;
+        private final Map<String, Hero> byName;
+        private final long loadedAt = System.nanoTime();
+
+        private Snapshot(Response response, Hero[] heroes) {
+            this.response = response;
+            this.heroes = Collections.unmodifiableList(Arrays.asList(heroes));
+
+            int maxId = 0;
+            for (Hero hero : heroes) {
+                if (hero.getId() != null) {
+                    maxId = Math.max(maxId, hero.getId());
+                }
+            }
+            this.byId = new Hero[maxId + 1];
+            this.byName = new HashMap<>(heroes.length * 4);
+            for (Hero hero : heroes) {
+                if (hero.getId() != null && hero.getId() >= 0) {
+                    byId[hero.getId()] = hero;
+                }
+                if (hero.getName() != null) {
+                    byName.put(hero.getName().toLowerCase(Locale.ROOT), hero);
+                }
+                if (hero.getLocalizedName() != null) {
+                    byName.put(hero.getLocalizedName().toLowerCase(Locale.ROOT), hero);
+                }
+            }
+        }
+
+        private boolean isExpired(long ttlNanos) {
+            return System.nanoTime() - loadedAt > ttlNanos;
+        }
+    }
+}
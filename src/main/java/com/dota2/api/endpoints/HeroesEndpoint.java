@@ -1,16 +1,20 @@
 package com.dota2.api.endpoints;
 
+import com.dota2.api.client.ClientRegistry;
 import com.dota2.api.client.RestClient;
 import com.dota2.constants.EndpointConstants;
 import com.dota2.model.Hero;
+import com.dota2.model.Page;
+import com.dota2.utils.PageIterator;
 import io.restassured.response.Response;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
 
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * Endpoint class for Heroes API
@@ -18,9 +22,11 @@ import java.util.stream.Collectors;
 public class HeroesEndpoint {
     private static final Logger logger = LogManager.getLogger(HeroesEndpoint.class);
     private final RestClient restClient;
+    private final HeroCatalog heroCatalog;
 
     public HeroesEndpoint() {
-        this.restClient = new RestClient();
+        this.restClient = ClientRegistry.getInstance().getRestClient();
+        this.heroCatalog = HeroCatalog.getInstance();
     }
 
     /**
@@ -33,48 +39,104 @@ public class HeroesEndpoint {
     }
 
     /**
-     * Gets heroes with pagination - client-side implementation since API doesn't support pagination
+     * Gets all heroes without blocking the calling thread
+     * @return future completed with the Response object
+     */
+    public CompletableFuture<Response> getAllHeroesAsync() {
+        logger.info("Getting all heroes asynchronously");
+        return restClient.getAsync(EndpointConstants.HEROES_ENDPOINT);
+    }
+
+    /**
+     * Gets all heroes bound straight from the response bytes into the model
+     * @return list of heroes
+     */
+    public List<Hero> heroes() {
+        logger.info("Getting all heroes as models");
+        return restClient.getList(EndpointConstants.HEROES_ENDPOINT, Hero.class);
+    }
+
+    /**
+     * Gets all heroes as models without blocking the calling thread
+     * @return future completed with the list of heroes
+     */
+    public CompletableFuture<List<Hero>> heroesAsync() {
+        logger.info("Getting all heroes as models asynchronously");
+        return restClient.getListAsync(EndpointConstants.HEROES_ENDPOINT, Hero.class);
+    }
+
+    /**
+     * Gets one page of heroes - client-side implementation since API doesn't support pagination.
+     * The page is sliced from the cached hero catalog, so no download or parsing happens per page.
      * @param limit maximum number of results
      * @param offset number of results to skip
-     * @return Response object containing only the specified subset of heroes
+     * @return Page containing only the specified subset of heroes
      */
-    public Response getHeroesWithPagination(int limit, int offset) {
-        logger.info("Getting heroes with limit: {} and offset: {}", limit, offset);
-
-        Response allHeroesResponse = getAllHeroes();
+    public Page<Hero> getHeroesWithPagination(int limit, int offset) {
+        logger.info("Getting heroes with limit: {} and offset: {}", Unbox.box(limit), Unbox.box(offset));
+        if (limit <= 0 || offset < 0) {
+            throw new IllegalArgumentException("Invalid pagination: limit=" + limit + ", offset=" + offset);
+        }
 
-        List<Hero> allHeroes = allHeroesResponse.jsonPath().getList("", Hero.class);
+        List<Hero> allHeroes = heroCatalog.getHeroes();
+        int from = Math.min(offset, allHeroes.size());
+        int to = Math.min(from + limit, allHeroes.size());
 
-        List<Hero> paginatedHeroes = allHeroes.stream()
-                .skip(offset)
+        return Page.<Hero>builder()
+                .items(allHeroes.subList(from, to))
+                .offset(offset)
                 .limit(limit)
-                .collect(Collectors.toList());
+                .total(allHeroes.size())
+                .build();
+    }
+
+    /**
+     * Iterates over all heroes page by page
+     * @param pageSize number of heroes per page
+     * @return iterator fetching each page lazily
+     */
+    public Iterator<Page<Hero>> heroPages(int pageSize) {
+        return new PageIterator<>(pageSize, this::getHeroesWithPagination);
+    }
 
-        return allHeroesResponse;
+    /**
+     * Streams all heroes page by page
+     * @param pageSize number of heroes per page
+     * @return stream fetching each page lazily
+     */
+    public Stream<Page<Hero>> streamHeroPages(int pageSize) {
+        return PageIterator.stream(pageSize, this::getHeroesWithPagination);
     }
 
     /**
-     * Gets a hero by ID by filtering from all heroes
+     * Gets a hero by ID using the cached hero catalog
      * @param heroId hero ID
-     * @return Response object
+     * @return Response object the catalog was built from
      */
     public Response getHeroById(int heroId) {
-        logger.info("Getting hero with ID: {}", heroId);
+        logger.info("Getting hero with ID: {}", Unbox.box(heroId));
 
-        Response allHeroesResponse = getAllHeroes();
-
-        List<Hero> allHeroes = allHeroesResponse.jsonPath().getList("", Hero.class);
+        if (heroCatalog.findById(heroId) == null) {
+            logger.warn("Hero with ID {} not found", Unbox.box(heroId));
+        }
+        return heroCatalog.getResponse();
+    }
 
-        Hero foundHero = allHeroes.stream()
-                .filter(hero -> hero.getId() != null && hero.getId().equals(heroId))
-                .findFirst()
-                .orElse(null);
+    /**
+     * Finds a hero by ID using the cached hero catalog
+     * @param heroId hero ID
+     * @return the hero, or null if no hero has that ID
+     */
+    public Hero findHeroById(int heroId) {
+        return heroCatalog.findById(heroId);
+    }
 
-        if (foundHero != null) {
-            return allHeroesResponse;
-        } else {
-            logger.warn("Hero with ID {} not found", heroId);
-            return allHeroesResponse;
-        }
+    /**
+     * Finds a hero by internal or localized name using the cached hero catalog
+     * @param name hero name, e.g. npc_dota_hero_antimage or Anti-Mage
+     * @return the hero, or null if no hero has that name
+     */
+    public Hero findHeroByName(String name) {
+        return heroCatalog.findByName(name);
     }
 }
\ No newline at end of file
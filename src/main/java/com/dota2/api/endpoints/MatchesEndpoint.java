@@ -1,19 +1,24 @@
 package com.dota2.api.endpoints;
 
+import com.dota2.api.client.ClientRegistry;
 import com.dota2.api.client.RestClient;
 import com.dota2.constants.EndpointConstants;
+import com.dota2.model.Match;
 import io.restassured.response.Response;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class MatchesEndpoint {
     private static final Logger logger = LogManager.getLogger(MatchesEndpoint.class);
     private final RestClient restClient;
 
     public MatchesEndpoint() {
-        this.restClient = new RestClient();
+        this.restClient = ClientRegistry.getInstance().getRestClient();
     }
 
     /**
@@ -25,17 +30,77 @@ public class MatchesEndpoint {
         return restClient.get(EndpointConstants.MATCHES_ENDPOINT);
     }
 
+    /**
+     * Gets recent public matches without blocking the calling thread
+     * @return future completed with the Response object
+     */
+    public CompletableFuture<Response> getRecentMatchesAsync() {
+        logger.info("Getting recent public matches asynchronously");
+        return restClient.getAsync(EndpointConstants.MATCHES_ENDPOINT);
+    }
+
+    /**
+     * Gets recent public matches bound straight from the response bytes into the model
+     * @return list of matches
+     */
+    public List<Match> recentMatches() {
+        logger.info("Getting recent public matches as models");
+        return restClient.getList(EndpointConstants.MATCHES_ENDPOINT, Match.class);
+    }
+
+    /**
+     * Gets recent public matches as models without blocking the calling thread
+     * @return future completed with the list of matches
+     */
+    public CompletableFuture<List<Match>> recentMatchesAsync() {
+        logger.info("Getting recent public matches as models asynchronously");
+        return restClient.getListAsync(EndpointConstants.MATCHES_ENDPOINT, Match.class);
+    }
+
     /**
      * Gets a match by ID
      * @param matchId match ID
      * @return Response object
      */
     public Response getMatchById(long matchId) {
-        logger.info("Getting match with ID: {}", matchId);
+        logger.info("Getting match with ID: {}", Unbox.box(matchId));
         String endpoint = EndpointConstants.MATCH_BY_ID_ENDPOINT.replace("{id}", String.valueOf(matchId));
         return restClient.get(endpoint);
     }
 
+    /**
+     * Gets a match by ID without blocking the calling thread
+     * @param matchId match ID
+     * @return future completed with the Response object
+     */
+    public CompletableFuture<Response> getMatchByIdAsync(long matchId) {
+        logger.info("Getting match with ID asynchronously: {}", Unbox.box(matchId));
+        String endpoint = EndpointConstants.MATCH_BY_ID_ENDPOINT.replace("{id}", String.valueOf(matchId));
+        return restClient.getAsync(endpoint);
+    }
+
+    /**
+     * Gets a match by ID bound straight from the response bytes into the model
+     * @param matchId match ID
+     * @return the match
+     */
+    public Match match(long matchId) {
+        logger.info("Getting match with ID as model: {}", Unbox.box(matchId));
+        String endpoint = EndpointConstants.MATCH_BY_ID_ENDPOINT.replace("{id}", String.valueOf(matchId));
+        return restClient.get(endpoint, Match.class);
+    }
+
+    /**
+     * Gets a match by ID as a model without blocking the calling thread
+     * @param matchId match ID
+     * @return future completed with the match
+     */
+    public CompletableFuture<Match> matchAsync(long matchId) {
+        logger.info("Getting match with ID as model asynchronously: {}", Unbox.box(matchId));
+        String endpoint = EndpointConstants.MATCH_BY_ID_ENDPOINT.replace("{id}", String.valueOf(matchId));
+        return restClient.getAsync(endpoint, Match.class);
+    }
+
     /**
      * Gets matches by parameters
      * @param parameters map of query parameters
@@ -45,4 +110,24 @@ public class MatchesEndpoint {
         logger.info("Getting matches with parameters: {}", parameters);
         return restClient.get(EndpointConstants.MATCHES_ENDPOINT, parameters);
     }
+
+    /**
+     * Gets matches by parameters without blocking the calling thread
+     * @param parameters map of query parameters
+     * @return future completed with the Response object
+     */
+    public CompletableFuture<Response> getMatchesByParamsAsync(Map<String, Object> parameters) {
+        logger.info("Getting matches asynchronously with parameters: {}", parameters);
+        return restClient.getAsync(EndpointConstants.MATCHES_ENDPOINT, parameters);
+    }
+
+    /**
+     * Gets matches by parameters bound straight from the response bytes into the model
+     * @param parameters map of query parameters
+     * @return list of matches
+     */
+    public List<Match> matches(Map<String, Object> parameters) {
+        logger.info("Getting matches as models with parameters: {}", parameters);
+        return restClient.getList(EndpointConstants.MATCHES_ENDPOINT, parameters, Match.class);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.dota2.api.endpoints;
+
+import io.restassured.response.Response;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Responses of the calls that make up a player overview
+ */
+@Data
+@AllArgsConstructor
+public class PlayerOverview {
+    private Response profile;
+    private Response winLoss;
+    private Response recentMatches;
+}
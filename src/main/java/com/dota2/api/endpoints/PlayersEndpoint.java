@@ -1,12 +1,21 @@
 package com.dota2.api.endpoints;
 
+import com.dota2.api.client.ClientRegistry;
+import com.dota2.api.client.Deadline;
 import com.dota2.api.client.RestClient;
 import com.dota2.constants.EndpointConstants;
+import com.dota2.model.Match;
+import com.dota2.model.Player;
 import io.restassured.response.Response;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Endpoint class for Players API
@@ -19,7 +28,7 @@ public class PlayersEndpoint {
     private static final long STEAM_ID_CONVERTER = 76561197960265728L;
 
     public PlayersEndpoint() {
-        this.restClient = new RestClient();
+        this.restClient = ClientRegistry.getInstance().getRestClient();
     }
 
     /**
@@ -33,59 +42,137 @@ public class PlayersEndpoint {
     }
 
     /**
-     * Gets player information by account ID
+     * Resolve o AccountID do Dota 2 a partir de um SteamID64 ou AccountID
      * @param accountId Player's account ID (pode ser SteamID64 ou AccountID)
-     * @return Response object
+     * @return accountId para Dota 2 API
      */
-    public Response getPlayerById(long accountId) {
+    private static long resolveAccountId(long accountId) {
         // Se o ID for do formato SteamID64 (maior que o valor conversor), converte para AccountID
-        long dota2AccountId = accountId;
         if (accountId > STEAM_ID_CONVERTER) {
-            dota2AccountId = convertSteamIDToAccountID(accountId);
-            logger.info("Converting SteamID64 {} to Dota 2 AccountID {}", accountId, dota2AccountId);
+            long dota2AccountId = convertSteamIDToAccountID(accountId);
+            logger.info("Converting SteamID64 {} to Dota 2 AccountID {}", Unbox.box(accountId), Unbox.box(dota2AccountId));
+            return dota2AccountId;
         }
+        return accountId;
+    }
 
-        logger.info("Getting player with account ID: {}", dota2AccountId);
+    /**
+     * Gets player information by account ID
+     * @param accountId Player's account ID (pode ser SteamID64 ou AccountID)
+     * @return Response object
+     */
+    public Response getPlayerById(long accountId) {
+        long dota2AccountId = resolveAccountId(accountId);
+
+        logger.info("Getting player with account ID: {}", Unbox.box(dota2AccountId));
         String endpoint = EndpointConstants.PLAYER_BY_ID_ENDPOINT.replace("{id}", String.valueOf(dota2AccountId));
         return restClient.get(endpoint);
     }
 
+    /**
+     * Gets player information by account ID without blocking the calling thread
+     * @param accountId Player's account ID (pode ser SteamID64 ou AccountID)
+     * @return future completed with the Response object
+     */
+    public CompletableFuture<Response> getPlayerByIdAsync(long accountId) {
+        long dota2AccountId = resolveAccountId(accountId);
+
+        logger.info("Getting player asynchronously with account ID: {}", Unbox.box(dota2AccountId));
+        String endpoint = EndpointConstants.PLAYER_BY_ID_ENDPOINT.replace("{id}", String.valueOf(dota2AccountId));
+        return restClient.getAsync(endpoint);
+    }
+
+    /**
+     * Gets player information bound straight from the response bytes into the model
+     * @param accountId Player's account ID (pode ser SteamID64 ou AccountID)
+     * @return the player
+     */
+    public Player player(long accountId) {
+        long dota2AccountId = resolveAccountId(accountId);
+
+        logger.info("Getting player as model with account ID: {}", Unbox.box(dota2AccountId));
+        String endpoint = EndpointConstants.PLAYER_BY_ID_ENDPOINT.replace("{id}", String.valueOf(dota2AccountId));
+        return restClient.get(endpoint, Player.class);
+    }
+
+    /**
+     * Gets player information as a model without blocking the calling thread
+     * @param accountId Player's account ID (pode ser SteamID64 ou AccountID)
+     * @return future completed with the player
+     */
+    public CompletableFuture<Player> playerAsync(long accountId) {
+        long dota2AccountId = resolveAccountId(accountId);
+
+        logger.info("Getting player as model asynchronously with account ID: {}", Unbox.box(dota2AccountId));
+        String endpoint = EndpointConstants.PLAYER_BY_ID_ENDPOINT.replace("{id}", String.valueOf(dota2AccountId));
+        return restClient.getAsync(endpoint, Player.class);
+    }
+
     /**
      * Gets player's recent matches
      * @param accountId Player's account ID (pode ser SteamID64 ou AccountID)
      * @return Response object with recent matches
      */
     public Response getPlayerRecentMatches(long accountId) {
-        // Se o ID for do formato SteamID64 (maior que o valor conversor), converte para AccountID
-        long dota2AccountId = accountId;
-        if (accountId > STEAM_ID_CONVERTER) {
-            dota2AccountId = convertSteamIDToAccountID(accountId);
-            logger.info("Converting SteamID64 {} to Dota 2 AccountID {}", accountId, dota2AccountId);
-        }
+        long dota2AccountId = resolveAccountId(accountId);
 
-        logger.info("Getting recent matches for player with account ID: {}", dota2AccountId);
+        logger.info("Getting recent matches for player with account ID: {}", Unbox.box(dota2AccountId));
         String endpoint = EndpointConstants.PLAYER_BY_ID_ENDPOINT.replace("{id}", String.valueOf(dota2AccountId)) + "/recentMatches";
         return restClient.get(endpoint);
     }
 
+    /**
+     * Gets player's recent matches without blocking the calling thread
+     * @param accountId Player's account ID (pode ser SteamID64 ou AccountID)
+     * @return future completed with the Response object
+     */
+    public CompletableFuture<Response> getPlayerRecentMatchesAsync(long accountId) {
+        long dota2AccountId = resolveAccountId(accountId);
+
+        logger.info("Getting recent matches asynchronously for player with account ID: {}", Unbox.box(dota2AccountId));
+        String endpoint = EndpointConstants.PLAYER_BY_ID_ENDPOINT.replace("{id}", String.valueOf(dota2AccountId)) + "/recentMatches";
+        return restClient.getAsync(endpoint);
+    }
+
+    /**
+     * Gets player's recent matches bound straight from the response bytes into the model
+     * @param accountId Player's account ID (pode ser SteamID64 ou AccountID)
+     * @return list of matches
+     */
+    public List<Match> playerRecentMatches(long accountId) {
+        long dota2AccountId = resolveAccountId(accountId);
+
+        logger.info("Getting recent matches as models for player with account ID: {}", Unbox.box(dota2AccountId));
+        String endpoint = EndpointConstants.PLAYER_BY_ID_ENDPOINT.replace("{id}", String.valueOf(dota2AccountId)) + "/recentMatches";
+        return restClient.getList(endpoint, Match.class);
+    }
+
     /**
      * Gets player's win/loss count
      * @param accountId Player's account ID (pode ser SteamID64 ou AccountID)
      * @return Response object with win/loss data
      */
     public Response getPlayerWinLoss(long accountId) {
-        // Se o ID for do formato SteamID64 (maior que o valor conversor), converte para AccountID
-        long dota2AccountId = accountId;
-        if (accountId > STEAM_ID_CONVERTER) {
-            dota2AccountId = convertSteamIDToAccountID(accountId);
-            logger.info("Converting SteamID64 {} to Dota 2 AccountID {}", accountId, dota2AccountId);
-        }
+        long dota2AccountId = resolveAccountId(accountId);
 
-        logger.info("Getting win/loss data for player with account ID: {}", dota2AccountId);
+        logger.info("Getting win/loss data for player with account ID: {}", Unbox.box(dota2AccountId));
         String endpoint = EndpointConstants.PLAYER_BY_ID_ENDPOINT.replace("{id}", String.valueOf(dota2AccountId)) + "/wl";
         return restClient.get(endpoint);
     }
 
+    /**
+     * Gets player's win/loss count without blocking the calling thread
+     * @param accountId Player's account ID (pode ser SteamID64 ou AccountID)
+     * @return future completed with the Response object
+     */
+    public CompletableFuture<Response> getPlayerWinLossAsync(long accountId) {
+        long dota2AccountId = resolveAccountId(accountId);
+
+        logger.info("Getting win/loss data asynchronously for player with account ID: {}", Unbox.box(dota2AccountId));
+        String endpoint = EndpointConstants.PLAYER_BY_ID_ENDPOINT.replace("{id}", String.valueOf(dota2AccountId)) + "/wl";
+        return restClient.getAsync(endpoint);
+    }
+
     /**
      * Gets player's matches with filters
      * @param accountId Player's account ID (pode ser SteamID64 ou AccountID)
@@ -93,51 +180,106 @@ public class PlayersEndpoint {
      * @return Response object with filtered matches
      */
     public Response getPlayerMatches(long accountId, Map<String, Object> parameters) {
-        // Se o ID for do formato SteamID64 (maior que o valor conversor), converte para AccountID
-        long dota2AccountId = accountId;
-        if (accountId > STEAM_ID_CONVERTER) {
-            dota2AccountId = convertSteamIDToAccountID(accountId);
-            logger.info("Converting SteamID64 {} to Dota 2 AccountID {}", accountId, dota2AccountId);
-        }
+        long dota2AccountId = resolveAccountId(accountId);
 
-        logger.info("Getting matches for player with account ID: {} and parameters: {}", dota2AccountId, parameters);
+        logger.info("Getting matches for player with account ID: {} and parameters: {}", Unbox.box(dota2AccountId), parameters);
         String endpoint = EndpointConstants.PLAYER_BY_ID_ENDPOINT.replace("{id}", String.valueOf(dota2AccountId)) + "/matches";
         return restClient.get(endpoint, parameters);
     }
 
+    /**
+     * Gets player's matches with filters without blocking the calling thread
+     * @param accountId Player's account ID (pode ser SteamID64 ou AccountID)
+     * @param parameters Map of query parameters for filtering
+     * @return future completed with the Response object
+     */
+    public CompletableFuture<Response> getPlayerMatchesAsync(long accountId, Map<String, Object> parameters) {
+        long dota2AccountId = resolveAccountId(accountId);
+
+        logger.info("Getting matches asynchronously for player with account ID: {} and parameters: {}", Unbox.box(dota2AccountId), parameters);
+        String endpoint = EndpointConstants.PLAYER_BY_ID_ENDPOINT.replace("{id}", String.valueOf(dota2AccountId)) + "/matches";
+        return restClient.getAsync(endpoint, parameters);
+    }
+
     /**
      * Gets player's hero statistics
      * @param accountId Player's account ID (pode ser SteamID64 ou AccountID)
      * @return Response object with hero stats
      */
     public Response getPlayerHeroes(long accountId) {
-        // Se o ID for do formato SteamID64 (maior que o valor conversor), converte para AccountID
-        long dota2AccountId = accountId;
-        if (accountId > STEAM_ID_CONVERTER) {
-            dota2AccountId = convertSteamIDToAccountID(accountId);
-            logger.info("Converting SteamID64 {} to Dota 2 AccountID {}", accountId, dota2AccountId);
-        }
+        long dota2AccountId = resolveAccountId(accountId);
 
-        logger.info("Getting hero statistics for player with account ID: {}", dota2AccountId);
+        logger.info("Getting hero statistics for player with account ID: {}", Unbox.box(dota2AccountId));
         String endpoint = EndpointConstants.PLAYER_BY_ID_ENDPOINT.replace("{id}", String.valueOf(dota2AccountId)) + "/heroes";
         return restClient.get(endpoint);
     }
 
+    /**
+     * Gets player's hero statistics without blocking the calling thread
+     * @param accountId Player's account ID (pode ser SteamID64 ou AccountID)
+     * @return future completed with the Response object
+     */
+    public CompletableFuture<Response> getPlayerHeroesAsync(long accountId) {
+        long dota2AccountId = resolveAccountId(accountId);
+
+        logger.info("Getting hero statistics asynchronously for player with account ID: {}", Unbox.box(dota2AccountId));
+        String endpoint = EndpointConstants.PLAYER_BY_ID_ENDPOINT.replace("{id}", String.valueOf(dota2AccountId)) + "/heroes";
+        return restClient.getAsync(endpoint);
+    }
+
     /**
      * Gets player's peers (other players they've played with)
      * @param accountId Player's account ID (pode ser SteamID64 ou AccountID)
      * @return Response object with peers data
      */
     public Response getPlayerPeers(long accountId) {
-        // Se o ID for do formato SteamID64 (maior que o valor conversor), converte para AccountID
-        long dota2AccountId = accountId;
-        if (accountId > STEAM_ID_CONVERTER) {
-            dota2AccountId = convertSteamIDToAccountID(accountId);
-            logger.info("Converting SteamID64 {} to Dota 2 AccountID {}", accountId, dota2AccountId);
-        }
+        long dota2AccountId = resolveAccountId(accountId);
 
-        logger.info("Getting peers for player with account ID: {}", dota2AccountId);
+        logger.info("Getting peers for player with account ID: {}", Unbox.box(dota2AccountId));
         String endpoint = EndpointConstants.PLAYER_BY_ID_ENDPOINT.replace("{id}", String.valueOf(dota2AccountId)) + "/peers";
         return restClient.get(endpoint);
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets player's peers (other players they've played with) without blocking the calling thread
+     * @param accountId Player's account ID (pode ser SteamID64 ou AccountID)
+     * @return future completed with the Response object
+     */
+    public CompletableFuture<Response> getPlayerPeersAsync(long accountId) {
+        long dota2AccountId = resolveAccountId(accountId);
+
+        logger.info("Getting peers asynchronously for player with account ID: {}", Unbox.box(dota2AccountId));
+        String endpoint = EndpointConstants.PLAYER_BY_ID_ENDPOINT.replace("{id}", String.valueOf(dota2AccountId)) + "/peers";
+        return restClient.getAsync(endpoint);
+    }
+
+    /**
+     * Gets player's profile, win/loss count and recent matches as one operation.
+     * The three calls run concurrently and share a single deadline, so the whole
+     * overview fails fast with a DeadlineExceededException instead of each call
+     * waiting out its own timeout.
+     * @param accountId Player's account ID (pode ser SteamID64 ou AccountID)
+     * @param timeout time budget for the whole operation
+     * @return PlayerOverview with the three responses
+     */
+    public PlayerOverview getPlayerOverview(long accountId, Duration timeout) {
+        logger.info("Getting overview for player with account ID: {} within {} ms", Unbox.box(accountId), Unbox.box(timeout.toMillis()));
+        return Deadline.run(timeout, () -> {
+            CompletableFuture<Response> profile = getPlayerByIdAsync(accountId);
+            CompletableFuture<Response> winLoss = getPlayerWinLossAsync(accountId);
+            CompletableFuture<Response> recentMatches = getPlayerRecentMatchesAsync(accountId);
+            return new PlayerOverview(await(profile), await(winLoss), await(recentMatches));
+        });
+    }
+
+    private static Response await(CompletableFuture<Response> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.dota2.api.endpoints;
 
+import com.dota2.api.client.ClientRegistry;
 import com.dota2.api.client.RestClient;
 import com.dota2.constants.EndpointConstants;
+import com.dota2.model.Team;
 import io.restassured.response.Response;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Endpoint class for Teams API
@@ -16,7 +21,7 @@ public class TeamsEndpoint {
     private final RestClient restClient;
 
     public TeamsEndpoint() {
-        this.restClient = new RestClient();
+        this.restClient = ClientRegistry.getInstance().getRestClient();
     }
 
     /**
@@ -28,17 +33,77 @@ public class TeamsEndpoint {
         return restClient.get(EndpointConstants.TEAMS_ENDPOINT);
     }
 
+    /**
+     * Gets all teams without blocking the calling thread
+     * @return future completed with the Response object
+     */
+    public CompletableFuture<Response> getAllTeamsAsync() {
+        logger.info("Getting all teams asynchronously");
+        return restClient.getAsync(EndpointConstants.TEAMS_ENDPOINT);
+    }
+
+    /**
+     * Gets all teams bound straight from the response bytes into the model
+     * @return list of teams
+     */
+    public List<Team> teams() {
+        logger.info("Getting all teams as models");
+        return restClient.getList(EndpointConstants.TEAMS_ENDPOINT, Team.class);
+    }
+
+    /**
+     * Gets all teams as models without blocking the calling thread
+     * @return future completed with the list of teams
+     */
+    public CompletableFuture<List<Team>> teamsAsync() {
+        logger.info("Getting all teams as models asynchronously");
+        return restClient.getListAsync(EndpointConstants.TEAMS_ENDPOINT, Team.class);
+    }
+
     /**
      * Gets a team by ID
      * @param teamId Team ID
      * @return Response object with team data
      */
     public Response getTeamById(int teamId) {
-        logger.info("Getting team with ID: {}", teamId);
+        logger.info("Getting team with ID: {}", Unbox.box(teamId));
         String endpoint = EndpointConstants.TEAM_BY_ID_ENDPOINT.replace("{id}", String.valueOf(teamId));
         return restClient.get(endpoint);
     }
 
+    /**
+     * Gets a team by ID without blocking the calling thread
+     * @param teamId Team ID
+     * @return future completed with the Response object
+     */
+    public CompletableFuture<Response> getTeamByIdAsync(int teamId) {
+        logger.info("Getting team with ID asynchronously: {}", Unbox.box(teamId));
+        String endpoint = EndpointConstants.TEAM_BY_ID_ENDPOINT.replace("{id}", String.valueOf(teamId));
+        return restClient.getAsync(endpoint);
+    }
+
+    /**
+     * Gets a team by ID bound straight from the response bytes into the model
+     * @param teamId Team ID
+     * @return the team
+     */
+    public Team team(int teamId) {
+        logger.info("Getting team with ID as model: {}", Unbox.box(teamId));
+        String endpoint = EndpointConstants.TEAM_BY_ID_ENDPOINT.replace("{id}", String.valueOf(teamId));
+        return restClient.get(endpoint, Team.class);
+    }
+
+    /**
+     * Gets a team by ID as a model without blocking the calling thread
+     * @param teamId Team ID
+     * @return future completed with the team
+     */
+    public CompletableFuture<Team> teamAsync(int teamId) {
+        logger.info("Getting team with ID as model asynchronously: {}", Unbox.box(teamId));
+        String endpoint = EndpointConstants.TEAM_BY_ID_ENDPOINT.replace("{id}", String.valueOf(teamId));
+        return restClient.getAsync(endpoint, Team.class);
+    }
+
     /**
      * Gets teams with pagination parameters
      * @param parameters Map containing pagination parameters (limit, offset)
@@ -49,36 +114,79 @@ public class TeamsEndpoint {
         return restClient.get(EndpointConstants.TEAMS_ENDPOINT, parameters);
     }
 
+    /**
+     * Gets teams with pagination parameters without blocking the calling thread
+     * @param parameters Map containing pagination parameters (limit, offset)
+     * @return future completed with the Response object
+     */
+    public CompletableFuture<Response> getTeamsWithParamsAsync(Map<String, Object> parameters) {
+        logger.info("Getting teams asynchronously with parameters: {}", parameters);
+        return restClient.getAsync(EndpointConstants.TEAMS_ENDPOINT, parameters);
+    }
+
     /**
      * Gets matches for a specific team
      * @param teamId Team ID
      * @return Response object with team matches
      */
     public Response getTeamMatches(int teamId) {
-        logger.info("Getting matches for team with ID: {}", teamId);
+        logger.info("Getting matches for team with ID: {}", Unbox.box(teamId));
         String endpoint = EndpointConstants.TEAM_BY_ID_ENDPOINT.replace("{id}", String.valueOf(teamId)) + "/matches";
         return restClient.get(endpoint);
     }
 
+    /**
+     * Gets matches for a specific team without blocking the calling thread
+     * @param teamId Team ID
+     * @return future completed with the Response object
+     */
+    public CompletableFuture<Response> getTeamMatchesAsync(int teamId) {
+        logger.info("Getting matches asynchronously for team with ID: {}", Unbox.box(teamId));
+        String endpoint = EndpointConstants.TEAM_BY_ID_ENDPOINT.replace("{id}", String.valueOf(teamId)) + "/matches";
+        return restClient.getAsync(endpoint);
+    }
+
     /**
      * Gets players for a specific team
      * @param teamId Team ID
      * @return Response object with team players
      */
     public Response getTeamPlayers(int teamId) {
-        logger.info("Getting players for team with ID: {}", teamId);
+        logger.info("Getting players for team with ID: {}", Unbox.box(teamId));
         String endpoint = EndpointConstants.TEAM_BY_ID_ENDPOINT.replace("{id}", String.valueOf(teamId)) + "/players";
         return restClient.get(endpoint);
     }
 
+    /**
+     * Gets players for a specific team without blocking the calling thread
+     * @param teamId Team ID
+     * @return future completed with the Response object
+     */
+    public CompletableFuture<Response> getTeamPlayersAsync(int teamId) {
+        logger.info("Getting players asynchronously for team with ID: {}", Unbox.box(teamId));
+        String endpoint = EndpointConstants.TEAM_BY_ID_ENDPOINT.replace("{id}", String.valueOf(teamId)) + "/players";
+        return restClient.getAsync(endpoint);
+    }
+
     /**
      * Gets heroes played by a specific team
      * @param teamId Team ID
      * @return Response object with heroes played by team
      */
     public Response getTeamHeroes(int teamId) {
-        logger.info("Getting heroes for team with ID: {}", teamId);
+        logger.info("Getting heroes for team with ID: {}", Unbox.box(teamId));
         String endpoint = EndpointConstants.TEAM_BY_ID_ENDPOINT.replace("{id}", String.valueOf(teamId)) + "/heroes";
         return restClient.get(endpoint);
     }
+
+    /**
+     * Gets heroes played by a specific team without blocking the calling thread
+     * @param teamId Team ID
+     * @return future completed with the Response object
+     */
+    public CompletableFuture<Response> getTeamHeroesAsync(int teamId) {
+        logger.info("Getting heroes asynchronously for team with ID: {}", Unbox.box(teamId));
+        String endpoint = EndpointConstants.TEAM_BY_ID_ENDPOINT.replace("{id}", String.valueOf(teamId)) + "/heroes";
+        return restClient.getAsync(endpoint);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,295 @@
+package com.dota2.api.client;
+
+import com.dota2.api.config.ApiConfig;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.attachment.AttachmentData;
+import io.qameta.allure.attachment.FreemarkerAttachmentRenderer;
+import io.qameta.allure.attachment.http.HttpRequestAttachment;
+import io.qameta.allure.attachment.http.HttpResponseAttachment;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Headers;
+import io.restassured.internal.support.Prettifier;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Allure request/response attachments, in place of AllureRestAssured rendering and writing both of them
+ * on the request thread for every request. The filter only keeps a reference to the last
+ * api.allure.attach.max.exchanges exchanges of the running test; when the test ends they are dropped
+ * if it passed (mode failure) or handed to one background writer that renders the usual Request and
+ * Response pages. A body over api.allure.attach.max.bytes is cut in the page, and on failure the whole
+ * body is attached as well, gzip-compressed. The writer queue holds api.allure.attach.queue.size
+ * attachments; when it is full the test thread writes itself rather than piling up bodies.
+ */
+public class AllureAttachments implements Filter {
+    private static final Logger logger = LogManager.getLogger(AllureAttachments.class);
+    private static final long FLUSH_TIMEOUT_SECONDS = 30;
+
+    public enum Mode {
+        /** No exchanges are captured or attached */
+        OFF,
+        /** Exchanges are attached to failed tests only */
+        FAILURE,
+        /** Exchanges are attached to every test, bodies over the cap cut */
+        ALWAYS;
+
+        public static Mode of(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final ThreadLocal<Deque<Exchange>> captured = new ThreadLocal<>();
+    private final Mode mode;
+    private final int maxBodyBytes;
+    private final int maxExchanges;
+    private final ThreadPoolExecutor writer;
+    private final FreemarkerAttachmentRenderer requestRenderer = new FreemarkerAttachmentRenderer("http-request.ftl");
+    private final FreemarkerAttachmentRenderer responseRenderer = new FreemarkerAttachmentRenderer("http-response.ftl");
+    private final LongAdder attached = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder compressed = new LongAdder();
+    private final LongAdder writtenInline = new LongAdder();
+
+    public AllureAttachments(ApiConfig apiConfig) {
+        this.mode = Mode.of(apiConfig.getAllureAttachMode());
+        this.maxBodyBytes = apiConfig.getAllureAttachMaxBytes();
+        this.maxExchanges = apiConfig.getAllureAttachMaxExchanges();
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(apiConfig.getAllureAttachQueueSize()), runnable -> {
+                    Thread thread = new Thread(runnable, "allure-attachments");
+                    thread.setDaemon(true);
+                    return thread;
+                }, (task, executor) -> {
+                    writtenInline.increment();
+                    task.run();
+                });
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Deque<Exchange> exchanges = captured.get();
+        if (exchanges == null) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        Exchange exchange = new Exchange(requestSpec);
+        // A hedged attempt adds to the same capture from another thread
+        synchronized (exchanges) {
+            if (exchanges.size() == maxExchanges) {
+                exchanges.removeFirst();
+                dropped.increment();
+            }
+            exchanges.addLast(exchange);
+        }
+        Response response = ctx.next(requestSpec, responseSpec);
+        // Already read by Rest-Assured, so this keeps a reference rather than copying the body
+        exchange.response = response;
+        exchange.responseBody = response.asByteArray();
+        return response;
+    }
+
+    /**
+     * Starts keeping the exchanges of the calling thread, called before each test method
+     */
+    public void startCapture() {
+        captured.set(new ArrayDeque<>());
+    }
+
+    /**
+     * Binds an operation to the capture of the calling thread, for work it hands to another thread
+     * @param operation operation to bind, e.g. one attempt of a hedged request
+     * @return operation that keeps its exchanges in this thread's capture wherever it runs
+     */
+    <T, R> Function<T, R> inCapture(Function<T, R> operation) {
+        Deque<Exchange> exchanges = captured.get();
+        if (exchanges == null) {
+            return operation;
+        }
+        return argument -> {
+            Deque<Exchange> previous = captured.get();
+            captured.set(exchanges);
+            try {
+                return operation.apply(argument);
+            } finally {
+                if (previous == null) {
+                    captured.remove();
+                } else {
+                    captured.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Stops keeping the exchanges of the calling thread and attaches them to the running test when it
+     * failed, or always in mode always. Must run on the test thread while Allure still has the test open;
+     * only the attachment names are registered here, the content is rendered and written by the writer
+     * @param failed whether the test failed
+     */
+    public void stopCapture(boolean failed) {
+        Deque<Exchange> captures = captured.get();
+        captured.remove();
+        if (captures == null) {
+            return;
+        }
+        Deque<Exchange> exchanges;
+        synchronized (captures) {
+            exchanges = new ArrayDeque<>(captures);
+        }
+        if (exchanges.isEmpty()) {
+            return;
+        }
+        if (!failed && mode != Mode.ALWAYS) {
+            skipped.add(exchanges.size());
+            return;
+        }
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        for (Exchange exchange : exchanges) {
+            String requestSource = lifecycle.prepareAttachment("Request", "text/html", ".html");
+            String responseSource = exchange.response == null ? null
+                    : lifecycle.prepareAttachment(exchange.statusLine(), "text/html", ".html");
+            String fullBodySource = failed && exchange.responseBody != null && exchange.responseBody.length > maxBodyBytes
+                    ? lifecycle.prepareAttachment("Full response body (gzip)", "application/gzip", ".gz")
+                    : null;
+            attached.increment();
+            writer.execute(() -> write(lifecycle, exchange, requestSource, responseSource, fullBodySource));
+        }
+    }
+
+    /**
+     * Waits for the queued attachments to be written, called at the end of the suite
+     */
+    public void flush() {
+        try {
+            writer.submit(() -> { }).get(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("Allure attachments still pending after {} s: {}", FLUSH_TIMEOUT_SECONDS, writer.getQueue().size());
+        }
+    }
+
+    public void logStats() {
+        logger.info("Allure attachments ({}): {} exchanges attached, {} skipped for passing tests, {} dropped over the per-test cap, "
+                + "{} full bodies compressed, {} written on the test thread", mode, attached.sum(), skipped.sum(), dropped.sum(),
+                compressed.sum(), writtenInline.sum());
+    }
+
+    private void write(AllureLifecycle lifecycle, Exchange exchange, String requestSource, String responseSource,
+                       String fullBodySource) {
+        try {
+            writeRendered(lifecycle, requestSource, requestRenderer, exchange.requestAttachment());
+            if (responseSource != null) {
+                writeRendered(lifecycle, responseSource, responseRenderer, exchange.responseAttachment(maxBodyBytes));
+            }
+            if (fullBodySource != null) {
+                lifecycle.writeAttachment(fullBodySource, new ByteArrayInputStream(gzip(exchange.responseBody)));
+                compressed.increment();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not write the Allure attachments of {} {}: {}", exchange.method, exchange.url, e.getMessage());
+        }
+    }
+
+    private static void writeRendered(AllureLifecycle lifecycle, String source, FreemarkerAttachmentRenderer renderer,
+                                      AttachmentData data) {
+        byte[] content = renderer.render(data).getContent().getBytes(StandardCharsets.UTF_8);
+        lifecycle.writeAttachment(source, new ByteArrayInputStream(content));
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static Map<String, String> toMap(Headers headers) {
+        Map<String, String> map = new HashMap<>();
+        headers.forEach(header -> map.put(header.getName(), header.getValue()));
+        return map;
+    }
+
+    /**
+     * One request of a test and, once it completed, its response
+     */
+    private static final class Exchange {
+        private final String method;
+        private final String url;
+        private final Map<String, String> requestHeaders;
+        private final String requestBody;
+        private volatile Response response;
+        private volatile byte[] responseBody;
+
+        private Exchange(FilterableRequestSpecification requestSpec) {
+            this.method = requestSpec.getMethod();
+            this.url = requestSpec.getURI();
+            this.requestHeaders = toMap(requestSpec.getHeaders());
+            this.requestBody = requestSpec.getBody() == null ? null : String.valueOf((Object) requestSpec.getBody());
+        }
+
+        private String statusLine() {
+            String statusLine = response.getStatusLine();
+            return statusLine == null ? "HTTP " + response.getStatusCode() : statusLine;
+        }
+
+        private HttpRequestAttachment requestAttachment() {
+            HttpRequestAttachment.Builder builder = HttpRequestAttachment.Builder.create("Request", url)
+                    .setMethod(method)
+                    .setHeaders(requestHeaders);
+            if (requestBody != null) {
+                builder.setBody(requestBody);
+            }
+            return builder.build();
+        }
+
+        private HttpResponseAttachment responseAttachment(int maxBodyBytes) {
+            return HttpResponseAttachment.Builder.create(statusLine())
+                    .setResponseCode(response.getStatusCode())
+                    .setHeaders(toMap(response.getHeaders()))
+                    .setBody(body(maxBodyBytes))
+                    .build();
+        }
+
+        private String body(int maxBodyBytes) {
+            if (responseBody.length <= maxBodyBytes) {
+                return new Prettifier().getPrettifiedBodyIfPossible(response, response.getBody());
+            }
+            int cut = Utf8.cutLength(responseBody, maxBodyBytes);
+            return new String(responseBody, 0, cut, StandardCharsets.UTF_8)
+                    + "\n... cut at " + cut + " of " + responseBody.length + " bytes";
+        }
+    }
+}
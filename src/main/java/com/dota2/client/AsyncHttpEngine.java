@@ -0,0 +1,204 @@
+package com.dota2.api.client;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Non-blocking HTTP engine backing the async methods of {@link RestClient}.
+ * Requests are multiplexed by the JDK HTTP client, so no thread is parked
+ * while a response is in flight; the small executor only runs completions.
+ */
+public class AsyncHttpEngine {
+    private final String baseUrl;
+    private final HttpClient httpClient;
+
+    public AsyncHttpEngine(String baseUrl, int threads, Duration connectTimeout) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(newExecutor(threads))
+                .build();
+    }
+
+    private static ExecutorService newExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "async-http-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Sends a GET request without blocking the caller
+     * @param endpoint endpoint path relative to the base URL
+     * @param queryParams query parameters, may be empty
+     * @return future completed with the response once the body has been read
+     */
+    public CompletableFuture<Response> get(String endpoint, Map<String, ?> queryParams) {
+        return get(endpoint, queryParams, Collections.emptyMap());
+    }
+
+    /**
+     * Sends a GET request with extra headers without blocking the caller
+     * @param endpoint endpoint path relative to the base URL
+     * @param queryParams query parameters, may be empty
+     * @param headers extra request headers, e.g. conditional request validators
+     * @return future completed with the response once the body has been read
+     */
+    public CompletableFuture<Response> get(String endpoint, Map<String, ?> queryParams, Map<String, String> headers) {
+        return get(endpoint, queryParams, headers, null);
+    }
+
+    /**
+     * Sends a GET request with extra headers and a response timeout without blocking the caller
+     * @param endpoint endpoint path relative to the base URL
+     * @param queryParams query parameters, may be empty
+     * @param headers extra request headers, e.g. conditional request validators
+     * @param timeout time allowed until the response headers arrive, or null for no limit
+     * @return future completed with the response once the body has been read
+     */
+    public CompletableFuture<Response> get(String endpoint, Map<String, ?> queryParams, Map<String, String> headers,
+                                           Duration timeout) {
+        HttpRequest.Builder request = newGet(endpoint, queryParams, timeout);
+        headers.forEach(request::header);
+        // The JDK client exposes no connection events, so DNS, connect and TLS are part of TTFB here
+        RequestTimings timings = new RequestTimings("GET", endpoint);
+        long start = System.nanoTime();
+        long[] headersReceived = new long[1];
+        HttpResponse.BodyHandler<byte[]> bodyHandler = responseInfo -> {
+            headersReceived[0] = System.nanoTime();
+            timings.record(RequestTimings.Phase.TTFB, headersReceived[0] - start);
+            return HttpResponse.BodySubscribers.ofByteArray();
+        };
+        return httpClient.sendAsync(request.build(), bodyHandler)
+                .thenApply(httpResponse -> {
+                    timings.record(RequestTimings.Phase.DOWNLOAD, System.nanoTime() - headersReceived[0]);
+                    Response response = toResponse(httpResponse);
+                    RequestTimings.register(response, timings);
+                    return response;
+                });
+    }
+
+    /**
+     * Sends a GET request and hands the body to a reader on the calling thread while it is still arriving,
+     * so the body is never held whole in memory. Closing the stream early cancels the rest of the download.
+     * @param endpoint endpoint path relative to the base URL
+     * @param queryParams query parameters, may be empty
+     * @param timeout time allowed until the response headers arrive, or null for no limit
+     * @param onHeaders told the status and headers as soon as they arrive, before the body is read
+     * @param bodyReader reads the body; the stream is closed once it returns
+     * @return what the reader returned
+     * @throws UnexpectedStatusException when the response status is not 2xx
+     */
+    public <T> T getStreaming(String endpoint, Map<String, ?> queryParams, Duration timeout,
+                              BiConsumer<Integer, Headers> onHeaders, Function<InputStream, T> bodyReader) {
+        HttpResponse<InputStream> httpResponse;
+        try {
+            httpResponse = httpClient.send(newGet(endpoint, queryParams, timeout).build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException("GET " + endpoint + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("GET " + endpoint + " was interrupted", e);
+        }
+        try (InputStream body = httpResponse.body()) {
+            int status = httpResponse.statusCode();
+            onHeaders.accept(status, toHeaders(httpResponse));
+            if (status < 200 || status > 299) {
+                throw new UnexpectedStatusException(endpoint, status, statusLine(httpResponse));
+            }
+            return bodyReader.apply(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("GET " + endpoint + " body could not be closed", e);
+        }
+    }
+
+    private HttpRequest.Builder newGet(String endpoint, Map<String, ?> queryParams, Duration timeout) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(buildUri(endpoint, queryParams))
+                .header("Accept", "application/json")
+                .GET();
+        if (timeout != null) {
+            request.timeout(timeout);
+        }
+        return request;
+    }
+
+    public String getHost() {
+        return URI.create(baseUrl).getHost();
+    }
+
+    /**
+     * Opens the connection to the API host ahead of the first request.
+     * A single connection is enough because HTTP/2 multiplexes every request over it.
+     */
+    public void prewarm() {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl))
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .exceptionally(e -> null)
+                .join();
+    }
+
+    URI buildUri(String endpoint, Map<String, ?> queryParams) {
+        StringBuilder uri = new StringBuilder(baseUrl).append(endpoint);
+        if (queryParams != null && !queryParams.isEmpty()) {
+            char separator = '?';
+            for (Map.Entry<String, ?> param : queryParams.entrySet()) {
+                uri.append(separator)
+                        .append(URLEncoder.encode(param.getKey(), StandardCharsets.UTF_8))
+                        .append('=')
+                        .append(URLEncoder.encode(String.valueOf(param.getValue()), StandardCharsets.UTF_8));
+                separator = '&';
+            }
+        }
+        return URI.create(uri.toString());
+    }
+
+    private static Response toResponse(HttpResponse<byte[]> httpResponse) {
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(httpResponse.statusCode())
+                .setStatusLine(statusLine(httpResponse))
+                .setHeaders(toHeaders(httpResponse))
+                .setBody(httpResponse.body());
+        httpResponse.headers().firstValue("Content-Type").ifPresent(builder::setContentType);
+        return builder.build();
+    }
+
+    private static Headers toHeaders(HttpResponse<?> httpResponse) {
+        List<Header> headers = new ArrayList<>();
+        httpResponse.headers().map().forEach((name, values) ->
+                values.forEach(value -> headers.add(new Header(name, value))));
+        return new Headers(headers);
+    }
+
+    private static String statusLine(HttpResponse<?> httpResponse) {
+        String protocol = httpResponse.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+        return protocol + " " + httpResponse.statusCode();
+    }
+}
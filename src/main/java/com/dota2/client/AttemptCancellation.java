@@ -0,0 +1,124 @@
+package com.dota2.api.client;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.function.Supplier;
+import org.apache.http.HttpConnection;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.protocol.ExecutionContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Lets a blocking attempt be abandoned from another thread, e.g. the losing side of a hedged request.
+ * The attempt runs with the cancellation in scope and {@link #interceptor()} binds it to the connection
+ * the blocking client leases; cancelling shuts that connection down so the attempt fails at once instead
+ * of holding a connection until its response arrives. An attempt cancelled before it starts is never sent.
+ */
+final class AttemptCancellation {
+    private static final Logger logger = LogManager.getLogger(AttemptCancellation.class);
+    private static final ThreadLocal<AttemptCancellation> CURRENT = new ThreadLocal<>();
+
+    private HttpConnection connection;
+    private boolean started;
+    private boolean finished;
+    private boolean cancelled;
+
+    /**
+     * Binds the cancellation in scope to the connection of the request being sent
+     * @return interceptor to register on the Apache HTTP client
+     */
+    static HttpRequestInterceptor interceptor() {
+        return (request, context) -> {
+            AttemptCancellation cancellation = CURRENT.get();
+            Object connection = context.getAttribute(ExecutionContext.HTTP_CONNECTION);
+            if (cancellation != null && connection instanceof HttpConnection) {
+                cancellation.bind((HttpConnection) connection);
+            }
+        };
+    }
+
+    /**
+     * Tells whether the attempt running on the calling thread has been cancelled
+     * @return true when an attempt is in scope and was cancelled
+     */
+    static boolean isCurrentCancelled() {
+        AttemptCancellation cancellation = CURRENT.get();
+        return cancellation != null && cancellation.isCancelled();
+    }
+
+    /**
+     * Runs the attempt on the calling thread with this cancellation in scope
+     * @param attempt attempt to run
+     * @return result of the attempt
+     * @throws CancellationException when the attempt was cancelled before it started
+     */
+    <T> T run(Supplier<T> attempt) {
+        synchronized (this) {
+            if (cancelled) {
+                throw new CancellationException("Attempt cancelled before it was sent");
+            }
+            started = true;
+        }
+        CURRENT.set(this);
+        try {
+            return attempt.get();
+        } finally {
+            CURRENT.remove();
+            synchronized (this) {
+                finished = true;
+                connection = null;
+            }
+        }
+    }
+
+    /**
+     * Cancels the attempt, shutting its connection down if it is in flight
+     */
+    void cancel() {
+        HttpConnection inFlight;
+        synchronized (this) {
+            cancelled = true;
+            inFlight = finished ? null : connection;
+        }
+        shutdown(inFlight);
+    }
+
+    /**
+     * Cancels the attempt only if it has not started yet
+     * @return true when the attempt will never run
+     */
+    synchronized boolean cancelIfNotStarted() {
+        if (!started) {
+            cancelled = true;
+        }
+        return cancelled && !started;
+    }
+
+    private synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    private void bind(HttpConnection leased) {
+        boolean shutdown;
+        synchronized (this) {
+            connection = leased;
+            shutdown = cancelled;
+        }
+        if (shutdown) {
+            shutdown(leased);
+        }
+    }
+
+    private static void shutdown(HttpConnection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            // The managed connection is detached from its socket once released, so this cannot hit another request
+            connection.shutdown();
+        } catch (IOException e) {
+            logger.debug("Error shutting down cancelled connection: {}", e.getMessage());
+        }
+    }
+}
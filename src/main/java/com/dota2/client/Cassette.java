@@ -0,0 +1,414 @@
+package com.dota2.api.client;
+
+import com.dota2.api.config.ApiConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Record/replay store of GET responses, keyed by method, path and sorted query parameters.
+ * A cassette is two files: an append-only data file holding each response with its body gzipped,
+ * and a memory-mapped open-addressing hash index from the key's 64-bit hash to the record's offset.
+ * Replayed requests are answered from disk without touching the network; in strict replay
+ * a request that was never recorded fails with {@link CassetteMissException}.
+ */
+public class Cassette implements Filter, AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(Cassette.class);
+
+    private static final int MAGIC = 0xCA55E77E;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int SLOT_BYTES = 20;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final String INDEX_EXTENSION = ".idx";
+    private static final String DATA_EXTENSION = ".dat";
+
+    /**
+     * What the cassette does with the requests going through it
+     */
+    public enum Mode {
+        /** Requests go to the network untouched */
+        OFF,
+        /** Requests go to the network and every response is recorded, replacing older recordings */
+        RECORD,
+        /** Requests are answered from the cassette only; a request never recorded fails */
+        REPLAY,
+        /** Recorded requests are replayed, the others go to the network and get recorded */
+        AUTO;
+
+        public static Mode of(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+
+        boolean replays() {
+            return this == REPLAY || this == AUTO;
+        }
+
+        boolean records() {
+            return this == RECORD || this == AUTO;
+        }
+    }
+
+    private final Mode mode;
+    private final Path indexFile;
+    private final FileChannel indexChannel;
+    private final FileChannel dataChannel;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private MappedByteBuffer index;
+    private int capacity;
+    private int size;
+    private long dataEnd;
+
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder missed = new LongAdder();
+
+    public Cassette(ApiConfig apiConfig) {
+        this(Mode.of(apiConfig.getCassetteMode()), Path.of(apiConfig.getCassetteDir()), apiConfig.getCassetteName());
+    }
+
+    /**
+     * Opens a cassette, creating its files when recording
+     * @param mode what to do with requests
+     * @param directory directory holding the cassette files
+     * @param name cassette name, the files are name.idx and name.dat
+     */
+    public Cassette(Mode mode, Path directory, String name) {
+        this.mode = mode;
+        this.indexFile = directory.resolve(name + INDEX_EXTENSION);
+        Path dataFile = directory.resolve(name + DATA_EXTENSION);
+        try {
+            if (!mode.records() && !Files.exists(indexFile)) {
+                throw new IllegalStateException("No cassette to replay at " + indexFile + ", record one with api.cassette.mode=record");
+            }
+            Files.createDirectories(directory);
+            this.indexChannel = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.dataChannel = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.dataEnd = dataChannel.size();
+            if (indexChannel.size() == 0) {
+                mapIndex(INITIAL_CAPACITY);
+                index.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, capacity).putInt(12, 0);
+            } else {
+                openIndex();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error opening cassette " + indexFile, e);
+        }
+        logger.info("Cassette {} opened in {} mode with {} recorded responses", indexFile, mode, size);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (mode == Mode.OFF || !"GET".equals(requestSpec.getMethod())) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        String key = RequestKeys.of(requestSpec.getMethod(), requestSpec.getUserDefinedPath(), requestSpec.getQueryParams());
+        ResponseSnapshot snapshot = replay(key);
+        if (snapshot != null) {
+            return snapshot.toResponse(responseSpec);
+        }
+        return record(key, ctx.next(requestSpec, responseSpec));
+    }
+
+    /**
+     * Looks up a recorded response
+     * @param key request key from {@link RequestKeys#of}
+     * @return recorded response, or null when it must come from the network
+     * @throws CassetteMissException in strict replay mode when the request was never recorded
+     */
+    public ResponseSnapshot replay(String key) {
+        if (!mode.replays()) {
+            return null;
+        }
+        long hash = hash(key);
+        long offset = -1;
+        int length = 0;
+        lock.readLock().lock();
+        try {
+            int slot = find(hash);
+            if (slotHash(slot) != 0) {
+                offset = index.getLong(slotPosition(slot) + 8);
+                length = index.getInt(slotPosition(slot) + 16);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        ResponseSnapshot snapshot = offset < 0 ? null : read(key, offset, length);
+        if (snapshot != null) {
+            replayed.increment();
+            return snapshot;
+        }
+        missed.increment();
+        if (mode == Mode.REPLAY) {
+            throw new CassetteMissException(key);
+        }
+        return null;
+    }
+
+    /**
+     * Records a response received from the network
+     * @param key request key from {@link RequestKeys#of}
+     * @param response response to record
+     * @return the same response
+     */
+    public Response record(String key, Response response) {
+        if (!mode.records()) {
+            return response;
+        }
+        byte[] record = encode(key, response);
+        lock.writeLock().lock();
+        try {
+            long offset = dataEnd;
+            writeFully(dataChannel, ByteBuffer.wrap(record), offset);
+            dataEnd += record.length;
+            // The record is on disk before the index points at it
+            long hash = hash(key);
+            int slot = find(hash);
+            if (slotHash(slot) == 0) {
+                if ((size + 1) * 4L > capacity * 3L) {
+                    grow();
+                    slot = find(hash);
+                }
+                size++;
+                index.putInt(12, size);
+            }
+            index.putLong(slotPosition(slot), hash)
+                    .putLong(slotPosition(slot) + 8, offset)
+                    .putInt(slotPosition(slot) + 16, record.length);
+            recorded.increment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error recording " + key + " into cassette " + indexFile, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return response;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getReplayedCount() {
+        return replayed.sum();
+    }
+
+    public long getRecordedCount() {
+        return recorded.sum();
+    }
+
+    public long getMissedCount() {
+        return missed.sum();
+    }
+
+    public void logStats() {
+        logger.info("Cassette {} ({}): {} responses replayed, {} recorded, {} not found, {} stored",
+                indexFile, mode, replayed.sum(), recorded.sum(), missed.sum(), size());
+    }
+
+    /**
+     * Flushes the index and the recorded responses to disk
+     */
+    public void flush() {
+        lock.writeLock().lock();
+        try {
+            index.force();
+            dataChannel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error flushing cassette " + indexFile, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+        try {
+            indexChannel.close();
+            dataChannel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error closing cassette " + indexFile, e);
+        }
+    }
+
+    private void openIndex() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        readFully(indexChannel, header, 0);
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not a cassette index, or written by another version: " + indexFile);
+        }
+        mapIndex(header.getInt(8));
+        size = index.getInt(12);
+    }
+
+    private void mapIndex(int slots) throws IOException {
+        capacity = slots;
+        index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) slots * SLOT_BYTES);
+    }
+
+    /**
+     * Doubles the index capacity in place, rehashing every slot
+     */
+    private void grow() throws IOException {
+        List<long[]> slots = new ArrayList<>(size);
+        for (int slot = 0; slot < capacity; slot++) {
+            int position = slotPosition(slot);
+            if (index.getLong(position) != 0) {
+                slots.add(new long[] {index.getLong(position), index.getLong(position + 8), index.getInt(position + 16)});
+            }
+        }
+        mapIndex(capacity * 2);
+        for (int position = HEADER_BYTES; position < HEADER_BYTES + capacity * SLOT_BYTES; position += 4) {
+            index.putInt(position, 0);
+        }
+        index.putInt(8, capacity);
+        for (long[] entry : slots) {
+            int position = slotPosition(find(entry[0]));
+            index.putLong(position, entry[0]).putLong(position + 8, entry[1]).putInt(position + 16, (int) entry[2]);
+        }
+    }
+
+    /**
+     * Finds the slot holding a hash, or the empty slot where it would go
+     */
+    private int find(long hash) {
+        int mask = capacity - 1;
+        int slot = (int) (hash ^ (hash >>> 32)) & mask;
+        while (true) {
+            long stored = slotHash(slot);
+            if (stored == 0 || stored == hash) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private long slotHash(int slot) {
+        return index.getLong(slotPosition(slot));
+    }
+
+    private static int slotPosition(int slot) {
+        return HEADER_BYTES + slot * SLOT_BYTES;
+    }
+
+    private ResponseSnapshot read(String key, long offset, int length) {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try {
+            readFully(dataChannel, buffer, offset);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.array()));
+            if (!key.equals(in.readUTF())) {
+                // 64-bit hash collision: the slot belongs to another request
+                return null;
+            }
+            int statusCode = in.readInt();
+            String statusLine = in.readUTF();
+            String contentType = in.readUTF();
+            int headerCount = in.readUnsignedShort();
+            List<Header> headers = new ArrayList<>(headerCount);
+            for (int i = 0; i < headerCount; i++) {
+                headers.add(new Header(in.readUTF(), in.readUTF()));
+            }
+            byte[] compressed = new byte[in.readInt()];
+            in.readFully(compressed);
+            byte[] body;
+            try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+                body = gzip.readAllBytes();
+            }
+            return ResponseSnapshot.of(statusCode, statusLine.isEmpty() ? null : statusLine, new Headers(headers),
+                    contentType.isEmpty() ? null : contentType, body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error replaying " + key + " from cassette " + indexFile, e);
+        }
+    }
+
+    private static byte[] encode(String key, Response response) {
+        try {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                byte[] body = response.asByteArray();
+                gzip.write(body == null ? new byte[0] : body);
+            }
+            ByteArrayOutputStream record = new ByteArrayOutputStream(compressed.size() + 512);
+            DataOutputStream out = new DataOutputStream(record);
+            out.writeUTF(key);
+            out.writeInt(response.getStatusCode());
+            out.writeUTF(response.getStatusLine() == null ? "" : response.getStatusLine());
+            out.writeUTF(response.getContentType() == null ? "" : response.getContentType());
+            List<Header> headers = response.getHeaders().asList();
+            out.writeShort(headers.size());
+            for (Header header : headers) {
+                out.writeUTF(header.getName());
+                out.writeUTF(header.getValue());
+            }
+            out.writeInt(compressed.size());
+            compressed.writeTo(out);
+            return record.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error encoding " + key, e);
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the request key; 0 marks an empty slot, so it is never returned
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of cassette file");
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.dota2.api.client;
+
+/**
+ * Thrown in replay mode for a request that the cassette has no recording of, instead of sending it.
+ */
+public class CassetteMissException extends RuntimeException {
+    private final String requestKey;
+
+    public CassetteMissException(String requestKey) {
+        super("No recorded response for " + requestKey + ", record it with api.cassette.mode=record or auto");
+        this.requestKey = requestKey;
+    }
+
+    public String getRequestKey() {
+        return requestKey;
+    }
+}
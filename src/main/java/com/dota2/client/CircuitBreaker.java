@@ -0,0 +1,316 @@
+package com.dota2.api.client;
+
+import com.dota2.api.config.ApiConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Circuit breaker per endpoint template, e.g. /players/{id} or /matches/{id}.
+ * A closed circuit records the outcome of the last calls in a count-based window and opens
+ * when the error rate or the slow-call rate crosses its threshold. An open circuit fails
+ * requests fast with {@link CircuitBreakerOpenException} until its open duration has elapsed,
+ * then lets a few trial calls through half-open: one failure reopens it, all of them
+ * succeeding closes it again.
+ */
+public class CircuitBreaker implements Filter {
+    private static final Logger logger = LogManager.getLogger(CircuitBreaker.class);
+    private static final int STATUS_SERVER_ERROR = 500;
+
+    /**
+     * State of the circuit of one endpoint template
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Receives circuit state changes
+     */
+    @FunctionalInterface
+    public interface StateChangeListener {
+        void onStateChange(String endpointTemplate, State from, State to);
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final double slowCallRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final ConcurrentMap<String, Circuit> circuits = new ConcurrentHashMap<>();
+    private final List<StateChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    public CircuitBreaker(ApiConfig apiConfig) {
+        this(apiConfig.getCircuitBreakerWindowSize(), apiConfig.getCircuitBreakerMinimumCalls(),
+                apiConfig.getCircuitBreakerFailureRateThreshold(), apiConfig.getCircuitBreakerSlowCallMillis(),
+                apiConfig.getCircuitBreakerSlowCallRateThreshold(),
+                TimeUnit.SECONDS.toMillis(apiConfig.getCircuitBreakerOpenSeconds()), apiConfig.getCircuitBreakerHalfOpenCalls());
+    }
+
+    /**
+     * Creates a circuit breaker with explicit settings, e.g. an open duration shorter than a second in tests
+     * @param windowSize calls recorded per closed circuit
+     * @param minimumCalls calls recorded before the rates can open the circuit
+     * @param failureRateThreshold failure percentage that opens the circuit
+     * @param slowCallMillis duration from which a call counts as slow
+     * @param slowCallRateThreshold slow-call percentage that opens the circuit
+     * @param openMillis time an open circuit fails fast before going half-open
+     * @param halfOpenCalls trial calls let through half-open
+     */
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long slowCallMillis,
+                   double slowCallRateThreshold, long openMillis, int halfOpenCalls) {
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.halfOpenCalls = halfOpenCalls;
+        addListener((template, from, to) -> logger.warn("Circuit for {} changed from {} to {}", template, from, to));
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String endpoint = requestSpec.getUserDefinedPath();
+        acquire(endpoint);
+        long start = System.nanoTime();
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            // Rest-Assured times the network exchange alone, without the rate limiter wait
+            long elapsed = response.getTime() >= 0
+                    ? TimeUnit.MILLISECONDS.toNanos(response.getTime())
+                    : System.nanoTime() - start;
+            onResult(endpoint, elapsed, response.getStatusCode(), null);
+            return response;
+        } catch (Exception e) {
+            // Rest-Assured rethrows checked IOExceptions such as SocketTimeoutException undeclared
+            if (AttemptCancellation.isCurrentCancelled()) {
+                // The losing side of a hedged request was cut off on purpose
+                releaseTrial(EndpointTemplates.of(endpoint));
+            } else {
+                onResult(endpoint, System.nanoTime() - start, 0, e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Asks the circuit of an endpoint for permission to send a request
+     * @param endpoint request path relative to the base URL
+     * @throws CircuitBreakerOpenException when the circuit is open, or half-open with all trial calls taken
+     */
+    public void acquire(String endpoint) {
+        String template = EndpointTemplates.of(endpoint);
+        Circuit circuit = circuitFor(template);
+        State from;
+        State to;
+        long retryAfterMillis = -1;
+        synchronized (circuit) {
+            from = circuit.state;
+            long now = System.nanoTime();
+            if (circuit.state == State.OPEN && now - circuit.openedAt >= openNanos) {
+                circuit.halfOpen();
+            }
+            if (circuit.state == State.OPEN
+                    || (circuit.state == State.HALF_OPEN && circuit.trialPermits == 0)) {
+                circuit.rejected.increment();
+                retryAfterMillis = Math.max(0, TimeUnit.NANOSECONDS.toMillis(circuit.openedAt + openNanos - now));
+            } else if (circuit.state == State.HALF_OPEN) {
+                circuit.trialPermits--;
+            }
+            to = circuit.state;
+        }
+        notifyIfChanged(template, from, to);
+        if (retryAfterMillis >= 0) {
+            throw new CircuitBreakerOpenException(template, retryAfterMillis);
+        }
+    }
+
+    /**
+     * Records the outcome of a request that was let through by {@link #acquire}
+     * @param endpoint request path relative to the base URL
+     * @param elapsedNanos time the request took on the network
+     * @param statusCode response status code, ignored when the request failed
+     * @param error error the request failed with, or null
+     */
+    public void onResult(String endpoint, long elapsedNanos, int statusCode, Throwable error) {
+        String template = EndpointTemplates.of(endpoint);
+        // A spent caller deadline says nothing about the endpoint's health
+        if (error instanceof DeadlineExceededException) {
+            releaseTrial(template);
+            return;
+        }
+        Circuit circuit = circuitFor(template);
+        boolean failed = error != null || statusCode >= STATUS_SERVER_ERROR;
+        boolean slow = elapsedNanos >= slowCallNanos;
+        State from;
+        State to;
+        synchronized (circuit) {
+            from = circuit.state;
+            if (circuit.state == State.HALF_OPEN) {
+                if (failed || slow) {
+                    circuit.open();
+                } else if (++circuit.trialSuccesses >= halfOpenCalls) {
+                    circuit.close();
+                }
+            } else if (circuit.state == State.CLOSED) {
+                circuit.record(failed, slow);
+                if (circuit.calls >= minimumCalls
+                        && (circuit.failureRate() >= failureRateThreshold || circuit.slowCallRate() >= slowCallRateThreshold)) {
+                    logger.warn("Opening circuit for {}: {}% failed, {}% slow over the last {} calls",
+                            template, circuit.failureRate(), circuit.slowCallRate(), circuit.calls);
+                    circuit.open();
+                }
+            }
+            to = circuit.state;
+        }
+        notifyIfChanged(template, from, to);
+    }
+
+    public void addListener(StateChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(StateChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Gets the state of an endpoint's circuit
+     * @param endpoint request path or endpoint template
+     * @return current state, CLOSED for endpoints not called yet
+     */
+    public State getState(String endpoint) {
+        Circuit circuit = circuits.get(EndpointTemplates.of(endpoint));
+        if (circuit == null) {
+            return State.CLOSED;
+        }
+        synchronized (circuit) {
+            return circuit.state;
+        }
+    }
+
+    /**
+     * Gets the number of requests failed fast by an open circuit
+     * @return rejected requests per endpoint template
+     */
+    public Map<String, Long> getRejectedCounts() {
+        Map<String, Long> rejected = new TreeMap<>();
+        circuits.forEach((template, circuit) -> rejected.put(template, circuit.rejected.sum()));
+        return rejected;
+    }
+
+    public void logStats() {
+        circuits.forEach((template, circuit) -> logger.info("Circuit for {}: {}, {} requests failed fast, opened {} times",
+                template, getState(template), circuit.rejected.sum(), circuit.openings.sum()));
+    }
+
+    /**
+     * Gives back the trial permit of a request whose outcome is not recorded
+     */
+    private void releaseTrial(String template) {
+        Circuit circuit = circuitFor(template);
+        synchronized (circuit) {
+            if (circuit.state == State.HALF_OPEN) {
+                circuit.trialPermits++;
+            }
+        }
+    }
+
+    private Circuit circuitFor(String template) {
+        return circuits.computeIfAbsent(template, t -> new Circuit(windowSize));
+    }
+
+    private void notifyIfChanged(String template, State from, State to) {
+        if (from == to) {
+            return;
+        }
+        for (StateChangeListener listener : listeners) {
+            try {
+                listener.onStateChange(template, from, to);
+            } catch (RuntimeException e) {
+                logger.warn("Circuit state listener failed on {}: {}", template, e.getMessage());
+            }
+        }
+    }
+
+    private final class Circuit {
+        private static final byte FAILED = 1;
+        private static final byte SLOW = 2;
+
+        private final byte[] outcomes;
+        private int next;
+        private int calls;
+        private int failures;
+        private int slowCalls;
+        private State state = State.CLOSED;
+        private long openedAt;
+        private int trialPermits;
+        private int trialSuccesses;
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder openings = new LongAdder();
+
+        private Circuit(int windowSize) {
+            this.outcomes = new byte[windowSize];
+        }
+
+        private void record(boolean failed, boolean slow) {
+            if (calls == outcomes.length) {
+                byte evicted = outcomes[next];
+                failures -= evicted & FAILED;
+                slowCalls -= (evicted & SLOW) >> 1;
+            } else {
+                calls++;
+            }
+            byte outcome = (byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0));
+            outcomes[next] = outcome;
+            failures += outcome & FAILED;
+            slowCalls += (outcome & SLOW) >> 1;
+            next = (next + 1) % outcomes.length;
+        }
+
+        private double failureRate() {
+            return calls == 0 ? 0 : failures * 100.0 / calls;
+        }
+
+        private double slowCallRate() {
+            return calls == 0 ? 0 : slowCalls * 100.0 / calls;
+        }
+
+        private void open() {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            openings.increment();
+        }
+
+        private void halfOpen() {
+            state = State.HALF_OPEN;
+            trialPermits = halfOpenCalls;
+            trialSuccesses = 0;
+        }
+
+        private void close() {
+            state = State.CLOSED;
+            calls = 0;
+            next = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+    }
+}
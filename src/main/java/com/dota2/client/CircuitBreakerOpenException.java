@@ -0,0 +1,23 @@
+package com.dota2.api.client;
+
+/**
+ * Thrown instead of sending a request while the circuit of its endpoint template is open.
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+    private final String endpointTemplate;
+    private final long retryAfterMillis;
+
+    public CircuitBreakerOpenException(String endpointTemplate, long retryAfterMillis) {
+        super("Circuit for " + endpointTemplate + " is open, failing fast (retry in " + retryAfterMillis + " ms)");
+        this.endpointTemplate = endpointTemplate;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public String getEndpointTemplate() {
+        return endpointTemplate;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
@@ -0,0 +1,357 @@
+package com.dota2.api.client;
+
+import com.dota2.api.config.ApiConfig;
+import com.dota2.utils.LatencyHistogram;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Per-endpoint-template request metrics: latency histogram, request, error and status-code
+ * counts and response bytes, as seen by the caller of {@link RestClient} (cache hits and
+ * replayed responses included). Blocking requests are recorded once per attempt, async ones once
+ * per call. Each request also gets its {@link RequestTimings}, aggregated here phase by phase.
+ * Recording is lock-free, so the filter can stay on for load tests.
+ * At suite end the metrics are exported as JSON and in the Prometheus text format.
+ */
+public class ClientMetrics implements Filter {
+    private static final Logger logger = LogManager.getLogger(ClientMetrics.class);
+    private static final double[] REPORTED_PERCENTILES = {50, 90, 99};
+    private static final String PROMETHEUS_PREFIX = "dota2_client_";
+
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private volatile long startNanos = System.nanoTime();
+    private volatile Instant startedAt = Instant.now();
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        RequestTimings timings = new RequestTimings(requestSpec.getMethod(), requestSpec.getUserDefinedPath());
+        RequestTimings outer = RequestTimings.current();
+        RequestTimings.setCurrent(timings);
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (Exception e) {
+            // Rest-Assured rethrows checked IOExceptions such as SocketTimeoutException undeclared
+            recordError(requestSpec.getMethod(), requestSpec.getUserDefinedPath(), System.nanoTime() - start);
+            throw e;
+        } finally {
+            RequestTimings.setCurrent(outer);
+        }
+        record(requestSpec.getMethod(), requestSpec.getUserDefinedPath(), System.nanoTime() - start, response, timings);
+        return response;
+    }
+
+    /**
+     * Records a completed request
+     * @param method HTTP method
+     * @param path request path, grouped by {@link EndpointTemplates}
+     * @param nanos time from sending the request to receiving the whole response
+     * @param response response received
+     */
+    public void record(String method, String path, long nanos, Response response) {
+        record(method, path, nanos, response, new RequestTimings(method, path));
+    }
+
+    /**
+     * Records a completed request with the phases timed while it ran
+     * @param method HTTP method
+     * @param path request path, grouped by {@link EndpointTemplates}
+     * @param nanos time from sending the request to receiving the whole response
+     * @param response response received
+     * @param timings phases of the request, tied to the response for the phases timed afterwards
+     */
+    public void record(String method, String path, long nanos, Response response, RequestTimings timings) {
+        byte[] body = response.asByteArray();
+        EndpointMetrics metrics = endpoint(method, path);
+        metrics.record(nanos, response.getStatusCode(), body == null ? 0 : body.length);
+        for (RequestTimings.Phase phase : RequestTimings.Phase.values()) {
+            long phaseNanos = timings.get(phase);
+            if (phaseNanos > 0) {
+                metrics.phases.get(phase).recordNanos(phaseNanos);
+            }
+        }
+        timings.complete(response, nanos, this);
+    }
+
+    /**
+     * Records a phase timed after the request completed, e.g. deserialization
+     * @param method HTTP method
+     * @param path request path, grouped by {@link EndpointTemplates}
+     * @param phase phase
+     * @param nanos time spent
+     */
+    public void recordPhase(String method, String path, RequestTimings.Phase phase, long nanos) {
+        endpoint(method, path).phases.get(phase).recordNanos(nanos);
+    }
+
+    /**
+     * Records a request that failed without a response, e.g. on a timeout or an open circuit
+     * @param method HTTP method
+     * @param path request path, grouped by {@link EndpointTemplates}
+     * @param nanos time until the failure
+     */
+    public void recordError(String method, String path, long nanos) {
+        endpoint(method, path).recordError(nanos);
+    }
+
+    private EndpointMetrics endpoint(String method, String path) {
+        String template = EndpointTemplates.of(path);
+        String key = method + " " + template;
+        EndpointMetrics metrics = endpoints.get(key);
+        return metrics != null ? metrics : endpoints.computeIfAbsent(key, k -> new EndpointMetrics(method, template));
+    }
+
+    /**
+     * Gets the time spent in one phase by an endpoint template
+     * @param method HTTP method
+     * @param endpointTemplate template such as /players/{id}
+     * @param phase phase
+     * @return histogram of the phase, null when the endpoint has not been called
+     */
+    public LatencyHistogram getPhaseLatency(String method, String endpointTemplate, RequestTimings.Phase phase) {
+        EndpointMetrics metrics = endpoints.get(method + " " + endpointTemplate);
+        return metrics == null ? null : metrics.phases.get(phase);
+    }
+
+    /**
+     * Gets the metrics of an endpoint template
+     * @param method HTTP method
+     * @param endpointTemplate template such as /players/{id}
+     * @return latency histogram of the endpoint, null when it has not been called
+     */
+    public LatencyHistogram getLatency(String method, String endpointTemplate) {
+        EndpointMetrics metrics = endpoints.get(method + " " + endpointTemplate);
+        return metrics == null ? null : metrics.latency;
+    }
+
+    public long getRequestCount() {
+        long total = 0;
+        for (EndpointMetrics metrics : endpoints.values()) {
+            total += metrics.requests.sum();
+        }
+        return total;
+    }
+
+    public long getErrorCount() {
+        long total = 0;
+        for (EndpointMetrics metrics : endpoints.values()) {
+            total += metrics.errors.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Clears every metric and restarts the throughput window
+     */
+    public void reset() {
+        endpoints.clear();
+        startNanos = System.nanoTime();
+        startedAt = Instant.now();
+    }
+
+    public void logStats() {
+        new TreeMap<>(endpoints).forEach((key, metrics) -> logger.info(
+                "{}: {} requests, {} errors, statuses {}, {} bytes, latency [{}]",
+                key, metrics.requests.sum(), metrics.errors.sum(), metrics.statusCounts(), metrics.bytes.sum(), metrics.latency));
+    }
+
+    /**
+     * Writes client-metrics.json and client-metrics.prom
+     * @param directory output directory, created when missing
+     * @throws IOException if a file cannot be written
+     */
+    public void export(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        double elapsedSeconds = elapsedSeconds();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt.toString());
+        report.put("elapsedSeconds", elapsedSeconds);
+        Map<String, Object> byEndpoint = new LinkedHashMap<>();
+        new TreeMap<>(endpoints).forEach((key, metrics) -> byEndpoint.put(key, metrics.toReport(elapsedSeconds)));
+        report.put("endpoints", byEndpoint);
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(directory.resolve("client-metrics.json").toFile(), report);
+        Files.writeString(directory.resolve("client-metrics.prom"), toPrometheus(), StandardCharsets.UTF_8);
+        logger.info("Client metrics for {} endpoints written to {}", endpoints.size(), directory.toAbsolutePath());
+    }
+
+    /**
+     * Exports the metrics with the api.metrics.* settings, logging instead of failing
+     */
+    public void export(ApiConfig apiConfig) {
+        try {
+            export(Path.of(apiConfig.getMetricsDir()));
+        } catch (IOException e) {
+            logger.warn("Could not export client metrics: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Renders the metrics in the Prometheus text exposition format
+     * @return latency summaries plus request, error, status and byte counters per endpoint template
+     */
+    public String toPrometheus() {
+        Map<String, EndpointMetrics> sorted = new TreeMap<>(endpoints);
+        StringBuilder out = new StringBuilder(1024);
+        out.append("# HELP ").append(PROMETHEUS_PREFIX).append("request_duration_seconds Request latency by endpoint template\n")
+                .append("# TYPE ").append(PROMETHEUS_PREFIX).append("request_duration_seconds summary\n");
+        sorted.values().forEach(metrics -> {
+            for (double percentile : REPORTED_PERCENTILES) {
+                sample(out, "request_duration_seconds", metrics, "quantile=\"" + percentile / 100 + "\"",
+                        metrics.latency.getValueAtPercentile(percentile) / 1e6);
+            }
+            sample(out, "request_duration_seconds_sum", metrics, null, metrics.latency.getMeanMillis() * metrics.latency.getCount() / 1e3);
+            sample(out, "request_duration_seconds_count", metrics, null, metrics.latency.getCount());
+        });
+        out.append("# HELP ").append(PROMETHEUS_PREFIX).append("request_duration_seconds_max Slowest request by endpoint template\n")
+                .append("# TYPE ").append(PROMETHEUS_PREFIX).append("request_duration_seconds_max gauge\n");
+        sorted.values().forEach(metrics -> sample(out, "request_duration_seconds_max", metrics, null, metrics.latency.getMaxMicros() / 1e6));
+        out.append("# HELP ").append(PROMETHEUS_PREFIX).append("phase_duration_seconds Time per request phase by endpoint template\n")
+                .append("# TYPE ").append(PROMETHEUS_PREFIX).append("phase_duration_seconds summary\n");
+        sorted.values().forEach(metrics -> metrics.phases.forEach((phase, histogram) -> {
+            if (histogram.getCount() == 0) {
+                return;
+            }
+            String phaseLabel = "phase=\"" + phase.name().toLowerCase() + "\"";
+            for (double percentile : REPORTED_PERCENTILES) {
+                sample(out, "phase_duration_seconds", metrics, phaseLabel + ",quantile=\"" + percentile / 100 + "\"",
+                        histogram.getValueAtPercentile(percentile) / 1e6);
+            }
+            sample(out, "phase_duration_seconds_sum", metrics, phaseLabel, histogram.getMeanMillis() * histogram.getCount() / 1e3);
+            sample(out, "phase_duration_seconds_count", metrics, phaseLabel, histogram.getCount());
+        }));
+        out.append("# HELP ").append(PROMETHEUS_PREFIX).append("responses_total Responses by endpoint template and status code\n")
+                .append("# TYPE ").append(PROMETHEUS_PREFIX).append("responses_total counter\n");
+        sorted.values().forEach(metrics -> metrics.statusCounts().forEach((status, count) ->
+                sample(out, "responses_total", metrics, "status=\"" + status + "\"", count)));
+        out.append("# HELP ").append(PROMETHEUS_PREFIX).append("request_errors_total Requests that failed without a response\n")
+                .append("# TYPE ").append(PROMETHEUS_PREFIX).append("request_errors_total counter\n");
+        sorted.values().forEach(metrics -> sample(out, "request_errors_total", metrics, null, metrics.errors.sum()));
+        out.append("# HELP ").append(PROMETHEUS_PREFIX).append("response_bytes_total Response body bytes by endpoint template\n")
+                .append("# TYPE ").append(PROMETHEUS_PREFIX).append("response_bytes_total counter\n");
+        sorted.values().forEach(metrics -> sample(out, "response_bytes_total", metrics, null, metrics.bytes.sum()));
+        return out.toString();
+    }
+
+    private static void sample(StringBuilder out, String name, EndpointMetrics metrics, String extraLabel, double value) {
+        out.append(PROMETHEUS_PREFIX).append(name)
+                .append("{method=\"").append(escapeLabel(metrics.method))
+                .append("\",endpoint=\"").append(escapeLabel(metrics.template)).append('"');
+        if (extraLabel != null) {
+            out.append(',').append(extraLabel);
+        }
+        out.append("} ");
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private double elapsedSeconds() {
+        return (System.nanoTime() - startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * Counters of one method and endpoint template
+     */
+    private static final class EndpointMetrics {
+        private final String method;
+        private final String template;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final Map<RequestTimings.Phase, LatencyHistogram> phases = new EnumMap<>(RequestTimings.Phase.class);
+
+        private EndpointMetrics(String method, String template) {
+            this.method = method;
+            this.template = template;
+            // Filled once here and only read afterwards, so the EnumMap needs no locking
+            for (RequestTimings.Phase phase : RequestTimings.Phase.values()) {
+                phases.put(phase, new LatencyHistogram());
+            }
+        }
+
+        void record(long nanos, int statusCode, int bodyBytes) {
+            latency.recordNanos(nanos);
+            requests.increment();
+            bytes.add(bodyBytes);
+            LongAdder count = statuses.get(statusCode);
+            if (count == null) {
+                count = statuses.computeIfAbsent(statusCode, status -> new LongAdder());
+            }
+            count.increment();
+        }
+
+        void recordError(long nanos) {
+            latency.recordNanos(nanos);
+            requests.increment();
+            errors.increment();
+        }
+
+        Map<Integer, Long> statusCounts() {
+            Map<Integer, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return counts;
+        }
+
+        Map<String, Object> toReport(double elapsedSeconds) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("method", method);
+            report.put("endpoint", template);
+            report.put("requests", requests.sum());
+            report.put("errors", errors.sum());
+            report.put("throughputPerSecond", elapsedSeconds <= 0 ? 0 : requests.sum() / elapsedSeconds);
+            report.put("statusCodes", statusCounts());
+            report.put("responseBytes", bytes.sum());
+            report.put("latencyMs", latencies(latency));
+            Map<String, Object> phaseReport = new LinkedHashMap<>();
+            phases.forEach((phase, histogram) -> {
+                if (histogram.getCount() > 0) {
+                    Map<String, Object> phaseLatencies = latencies(histogram);
+                    phaseLatencies.put("count", histogram.getCount());
+                    phaseReport.put(phase.name().toLowerCase(), phaseLatencies);
+                }
+            });
+            report.put("phasesMs", phaseReport);
+            return report;
+        }
+
+        private static Map<String, Object> latencies(LatencyHistogram histogram) {
+            Map<String, Object> latencies = new LinkedHashMap<>();
+            latencies.put("mean", histogram.getMeanMillis());
+            for (double percentile : REPORTED_PERCENTILES) {
+                latencies.put("p" + (int) percentile, histogram.getPercentileMillis(percentile));
+            }
+            latencies.put("max", histogram.getMaxMillis());
+            return latencies;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.dota2.api.client;
+
+import com.dota2.api.config.ApiConfig;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.HttpRequestRetryHandler;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.DefaultedHttpParams;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Registry holding the HTTP infrastructure shared by every endpoint class.
+ * All blocking requests go through one bounded keep-alive connection pool and
+ * all async requests through one JDK HTTP client, so TCP and TLS handshakes
+ * against the API host are paid once per connection instead of once per test class.
+ */
+@SuppressWarnings("deprecation")
+public class ClientRegistry {
+    private static final Logger logger = LogManager.getLogger(ClientRegistry.class);
+    private static ClientRegistry instance;
+
+    private final ApiConfig apiConfig;
+    private final PoolingClientConnectionManager connectionManager;
+    private final RestAssuredConfig restAssuredConfig;
+    private final AsyncHttpEngine asyncEngine;
+    private final ResponseCache responseCache;
+    private final RequestCoalescer requestCoalescer;
+    private final RateLimiter rateLimiter;
+    private final RetryPolicy retryPolicy;
+    private final TimeoutPolicy timeoutPolicy;
+    private final CircuitBreaker circuitBreaker;
+    private final Cassette cassette;
+    private final AllureAttachments allureAttachments;
+    private final ClientMetrics clientMetrics;
+    private final ModelMapper modelMapper;
+    private final RestClient restClient;
+    private final AtomicBoolean prewarmed = new AtomicBoolean();
+
+    private ClientRegistry() {
+        this.apiConfig = ApiConfig.getInstance();
+        this.connectionManager = buildConnectionManager();
+        this.timeoutPolicy = new TimeoutPolicy(apiConfig);
+        this.restAssuredConfig = RestAssuredConfig.config()
+                .httpClient(HttpClientConfig.httpClientConfig()
+                        .reuseHttpClientInstance()
+                        .httpClientFactory(this::createHttpClient))
+                .objectMapperConfig(ObjectMapperConfig.objectMapperConfig()
+                        .defaultObjectMapper(new TimedObjectMapper()));
+        configureAsyncConnectionPool();
+        this.asyncEngine = new AsyncHttpEngine(apiConfig.getBaseUrl(), apiConfig.getAsyncThreads(),
+                Duration.ofSeconds(apiConfig.getConnectTimeoutSeconds()));
+        this.responseCache = new ResponseCache(apiConfig);
+        this.requestCoalescer = new RequestCoalescer();
+        this.rateLimiter = new RateLimiter(apiConfig);
+        this.retryPolicy = new RetryPolicy(apiConfig);
+        this.circuitBreaker = new CircuitBreaker(apiConfig);
+        this.clientMetrics = new ClientMetrics();
+        this.modelMapper = ModelMapper.getInstance();
+        // Only opened when used, so the default off mode creates no files
+        this.cassette = Cassette.Mode.of(apiConfig.getCassetteMode()) == Cassette.Mode.OFF ? null : new Cassette(apiConfig);
+        this.allureAttachments = AllureAttachments.Mode.of(apiConfig.getAllureAttachMode()) == AllureAttachments.Mode.OFF
+                ? null : new AllureAttachments(apiConfig);
+        this.restClient = new RestClient(this);
+        startIdleEviction();
+    }
+
+    public static synchronized ClientRegistry getInstance() {
+        if (instance == null) {
+            instance = new ClientRegistry();
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the shared REST client
+     * @return RestClient backed by the shared connection pool
+     */
+    public RestClient getRestClient() {
+        return restClient;
+    }
+
+    RestAssuredConfig getRestAssuredConfig() {
+        return restAssuredConfig;
+    }
+
+    AsyncHttpEngine getAsyncEngine() {
+        return asyncEngine;
+    }
+
+    /**
+     * Gets the shared GET response cache, used when api.cache.enabled is true
+     * @return ResponseCache with its hit/miss/eviction counters
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Gets the shared single-flight coalescer, used when api.coalescing.enabled is true
+     * @return RequestCoalescer with its coalesced request counter
+     */
+    public RequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
+    /**
+     * Gets the shared rate limiter, used when api.ratelimit.enabled is true
+     * @return RateLimiter with its wait-time statistics
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Gets the shared retry policy for GET requests, driven by test.retry.count
+     * @return RetryPolicy with its retry and hedging counters
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Gets the shared timeout policy applied to every request
+     * @return TimeoutPolicy with its timeout counters
+     */
+    public TimeoutPolicy getTimeoutPolicy() {
+        return timeoutPolicy;
+    }
+
+    /**
+     * Gets the shared circuit breaker, used when api.circuitbreaker.enabled is true
+     * @return CircuitBreaker with its circuit states and state-change listeners
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Gets the shared request metrics, recorded when api.metrics.enabled is true
+     * @return ClientMetrics with latency histograms and counters per endpoint template
+     */
+    public ClientMetrics getClientMetrics() {
+        return clientMetrics;
+    }
+
+    /**
+     * Gets the shared model mapper behind the typed GET methods and response.as(...)
+     * @return ModelMapper binding response bodies to the model classes
+     */
+    public ModelMapper getModelMapper() {
+        return modelMapper;
+    }
+
+    /**
+     * Gets the shared record/replay cassette, opened when api.cassette.mode is not off
+     * @return Cassette with its replay/record counters, or null when the mode is off
+     */
+    public Cassette getCassette() {
+        return cassette;
+    }
+
+    /**
+     * Gets the shared Allure attachment pipeline, used when api.allure.attach.mode is not off
+     * @return AllureAttachments with its attached/skipped counters, or null when the mode is off
+     */
+    public AllureAttachments getAllureAttachments() {
+        return allureAttachments;
+    }
+
+    /**
+     * Gets the current connection pool usage
+     * @return leased, pending, available and max connection counts
+     */
+    public PoolStats getPoolStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    /**
+     * Opens connections to the API host ahead of the first request so the suite
+     * does not pay handshake latency on its first calls. Only runs once.
+     */
+    public void prewarm() {
+        if (!prewarmed.compareAndSet(false, true)) {
+            return;
+        }
+        int connections = Math.min(apiConfig.getPoolPrewarmConnections(), apiConfig.getPoolMaxPerRoute());
+        logger.info("Pre-warming {} connections to {}", connections, apiConfig.getBaseUrl());
+        long start = System.nanoTime();
+
+        HttpRoute route = routeFor(apiConfig.getBaseUrl());
+        HttpParams params = connectionParams();
+        List<ManagedClientConnection> opened = new ArrayList<>();
+        try {
+            for (int i = 0; i < connections; i++) {
+                ManagedClientConnection connection = connectionManager.requestConnection(route, null)
+                        .getConnection(apiConfig.getDefaultTimeout(), TimeUnit.SECONDS);
+                opened.add(connection);
+                connection.open(route, new BasicHttpContext(), params);
+                connection.markReusable();
+            }
+        } catch (Exception e) {
+            logger.warn("Connection pre-warm stopped after {} connections: {}", opened.size(), e.getMessage());
+        } finally {
+            for (ManagedClientConnection connection : opened) {
+                connectionManager.releaseConnection(connection, apiConfig.getPoolIdleEvictionSeconds(), TimeUnit.SECONDS);
+            }
+        }
+
+        asyncEngine.prewarm();
+        logger.info("Connection pre-warm finished in {} ms: {}",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), getPoolStats());
+    }
+
+    private PoolingClientConnectionManager buildConnectionManager() {
+        PoolingClientConnectionManager manager = new PoolingClientConnectionManager(PhaseTimers.timedSchemeRegistry(),
+                new PhaseTimers.TimedDnsResolver());
+        manager.setMaxTotal(apiConfig.getPoolMaxTotal());
+        manager.setDefaultMaxPerRoute(apiConfig.getPoolMaxPerRoute());
+        return manager;
+    }
+
+    private HttpClient createHttpClient() {
+        return new TimeoutAwareHttpClient();
+    }
+
+    private HttpParams connectionParams() {
+        HttpParams params = new BasicHttpParams();
+        HttpConnectionParams.setConnectionTimeout(params, (int) TimeUnit.SECONDS.toMillis(apiConfig.getConnectTimeoutSeconds()));
+        HttpConnectionParams.setSoTimeout(params, (int) TimeUnit.SECONDS.toMillis(apiConfig.getReadTimeoutSeconds()));
+        HttpConnectionParams.setTcpNoDelay(params, true);
+        return params;
+    }
+
+    private void configureAsyncConnectionPool() {
+        // Read once by the JDK client when the first instance is created
+        if (System.getProperty("jdk.httpclient.keepalive.timeout") == null) {
+            System.setProperty("jdk.httpclient.keepalive.timeout", String.valueOf(apiConfig.getPoolIdleEvictionSeconds()));
+        }
+        if (System.getProperty("jdk.httpclient.connectionPoolSize") == null) {
+            System.setProperty("jdk.httpclient.connectionPoolSize", String.valueOf(apiConfig.getPoolMaxTotal()));
+        }
+    }
+
+    private void startIdleEviction() {
+        int idleSeconds = apiConfig.getPoolIdleEvictionSeconds();
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleSeconds, TimeUnit.SECONDS);
+        }, idleSeconds, idleSeconds, TimeUnit.SECONDS);
+    }
+
+    private static HttpRoute routeFor(String baseUrl) {
+        URI uri = URI.create(baseUrl);
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() != -1 ? uri.getPort() : (secure ? 443 : 80);
+        return new HttpRoute(new HttpHost(uri.getHost(), port, uri.getScheme()), null, secure);
+    }
+
+    /**
+     * Blocking client that applies the {@link TimeoutPolicy} of the request running on the
+     * calling thread. The client instance is shared, so the timeouts are layered over its
+     * parameters per request instead of being set on them.
+     */
+    private final class TimeoutAwareHttpClient extends DefaultHttpClient {
+
+        private TimeoutAwareHttpClient() {
+            super(connectionManager, connectionParams());
+            addRequestInterceptor(timeoutPolicy.watchdogInterceptor());
+            addRequestInterceptor(AttemptCancellation.interceptor());
+        }
+
+        @Override
+        protected HttpRequestExecutor createRequestExecutor() {
+            return new PhaseTimers.TimedRequestExecutor();
+        }
+
+        @Override
+        protected HttpRequestRetryHandler createHttpRequestRetryHandler() {
+            HttpRequestRetryHandler defaults = super.createHttpRequestRetryHandler();
+            // A cancelled attempt had its connection shut down on purpose, so it must not be sent again
+            return (exception, executionCount, context) -> !AttemptCancellation.isCurrentCancelled()
+                    && defaults.retryRequest(exception, executionCount, context);
+        }
+
+        @Override
+        protected HttpParams determineParams(HttpRequest request) {
+            HttpParams params = super.determineParams(request);
+            TimeoutPolicy.RequestTimeouts timeouts = TimeoutPolicy.current();
+            if (timeouts == null) {
+                return params;
+            }
+            HttpParams requestParams = new BasicHttpParams();
+            HttpConnectionParams.setConnectionTimeout(requestParams, timeouts.getConnectMillis());
+            HttpConnectionParams.setSoTimeout(requestParams, timeouts.getReadMillis());
+            requestParams.setLongParameter(ClientPNames.CONN_MANAGER_TIMEOUT, timeouts.getConnectMillis());
+            return new DefaultedHttpParams(requestParams, params);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.dota2.api.client;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Absolute time budget shared by every request made while it is in scope.
+ * A deadline set around a multi-call flow bounds the whole flow: each request gets at most
+ * the time left, and once it is spent further requests fail with {@link DeadlineExceededException}
+ * instead of being sent. Nested deadlines never extend an outer one.
+ */
+public final class Deadline {
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * Creates a deadline that expires after the given time
+     * @param timeout time budget from now
+     * @return new deadline
+     */
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Gets the deadline in scope on the calling thread
+     * @return current deadline, or null when none is set
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs an operation with a deadline in scope, capped by any deadline already in scope
+     * @param timeout time budget for the whole operation
+     * @param operation operation to run
+     * @return result of the operation
+     */
+    public static <T> T run(Duration timeout, Supplier<T> operation) {
+        Deadline requested = after(timeout);
+        Deadline outer = CURRENT.get();
+        return runWithin(outer != null && outer.expiresAtNanos - requested.expiresAtNanos < 0 ? outer : requested, operation);
+    }
+
+    /**
+     * Runs an operation with an existing deadline in scope, e.g. on a thread other than the one that created it
+     * @param deadline deadline to apply, may be null
+     * @param operation operation to run
+     * @return result of the operation
+     */
+    public static <T> T runWithin(Deadline deadline, Supplier<T> operation) {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(deadline);
+        try {
+            return operation.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+}
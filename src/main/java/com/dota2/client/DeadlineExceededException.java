@@ -0,0 +1,16 @@
+package com.dota2.api.client;
+
+/**
+ * Thrown when a request cannot complete within the {@link Deadline} in scope.
+ * It is never retried, since the time budget it reports is already spent.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
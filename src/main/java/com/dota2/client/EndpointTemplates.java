@@ -0,0 +1,39 @@
+package com.dota2.api.client;
+
+/**
+ * Utility for grouping concrete request paths by endpoint template,
+ * e.g. /players/123/wl becomes /players/{id}/wl.
+ */
+public final class EndpointTemplates {
+
+    private EndpointTemplates() {
+    }
+
+    /**
+     * Replaces numeric path segments with {id} and drops any query string
+     * @param path request path relative to the base URL
+     * @return endpoint template
+     */
+    public static String of(String path) {
+        int query = path.indexOf('?');
+        String rawPath = query >= 0 ? path.substring(0, query) : path;
+
+        StringBuilder template = new StringBuilder(rawPath.length());
+        for (String segment : rawPath.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            template.append('/').append(isNumeric(segment) ? "{id}" : segment);
+        }
+        return template.length() == 0 ? "/" : template.toString();
+    }
+
+    private static boolean isNumeric(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,127 @@
+package com.dota2.api.client;
+
+import com.dota2.api.config.ApiConfig;
+import com.dota2.model.Hero;
+import com.dota2.model.Match;
+import com.dota2.model.Player;
+import com.dota2.model.Team;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.restassured.response.Response;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The one Jackson ObjectMapper shared by the typed endpoint methods, response.as(...) and
+ * {@link com.dota2.utils.ParsedResponse}. Response bytes are bound straight into the model
+ * classes, skipping the Groovy tree response.jsonPath() builds first. The deserializers and
+ * serializers of the models are looked up when the mapper is created, so the first test
+ * does not pay for the introspection, and the readers are cached per target type.
+ * api.json.module=afterburner or blackbird registers that bytecode-generating Jackson module
+ * when it is on the classpath (mvn -P blackbird).
+ */
+public final class ModelMapper {
+    private static final Logger logger = LogManager.getLogger(ModelMapper.class);
+    private static final Class<?>[] MODELS = {Hero.class, Match.class, Player.class, Team.class};
+    private static final Map<String, String> MODULES = Map.of(
+            "afterburner", "com.fasterxml.jackson.module.afterburner.AfterburnerModule",
+            "blackbird", "com.fasterxml.jackson.module.blackbird.BlackbirdModule");
+    private static ModelMapper instance;
+
+    private final ObjectMapper objectMapper;
+    private final Map<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    ModelMapper(String module) {
+        long start = System.nanoTime();
+        this.objectMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        registerModule(objectMapper, module);
+        for (Class<?> model : MODELS) {
+            reader(objectMapper.constructType(model));
+            reader(objectMapper.constructType(Array.newInstance(model, 0).getClass()));
+            reader(objectMapper.getTypeFactory().constructCollectionType(List.class, model));
+            objectMapper.writerFor(model);
+        }
+        logger.info("Model mapper ready in {} ms with module: {}",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), module);
+    }
+
+    public static synchronized ModelMapper getInstance() {
+        if (instance == null) {
+            instance = new ModelMapper(ApiConfig.getInstance().getJsonModule());
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the shared mapper, e.g. to build other readers from it
+     * @return ObjectMapper configured for the model classes
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * Binds a response body to a model class, timed as the DESERIALIZE phase of its request
+     * @param response response with a JSON body
+     * @param type model class, or an array of one
+     * @return bound object
+     */
+    public <T> T read(Response response, Class<T> type) {
+        return read(response, objectMapper.constructType(type));
+    }
+
+    /**
+     * Binds a JSON array body to a list of a model class, timed as the DESERIALIZE phase of its request
+     * @param response response with a JSON array body
+     * @param type model class of the elements
+     * @return bound list
+     */
+    public <T> List<T> readList(Response response, Class<T> type) {
+        return read(response, objectMapper.getTypeFactory().constructCollectionType(List.class, type));
+    }
+
+    private <T> T read(Response response, JavaType type) {
+        ObjectReader reader = reader(type);
+        return RequestTimings.time(response, RequestTimings.Phase.DESERIALIZE, () -> {
+            try {
+                return reader.readValue(response.asByteArray());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Response body cannot be read as " + type, e);
+            }
+        });
+    }
+
+    private ObjectReader reader(JavaType type) {
+        return readers.computeIfAbsent(type, objectMapper::readerFor);
+    }
+
+    private static void registerModule(ObjectMapper objectMapper, String module) {
+        String name = module.trim().toLowerCase(Locale.ROOT);
+        if (name.isEmpty() || name.equals("none")) {
+            return;
+        }
+        String className = MODULES.get(name);
+        if (className == null) {
+            throw new IllegalArgumentException("Unknown Jackson module: " + module + ", expected none, afterburner or blackbird");
+        }
+        try {
+            objectMapper.registerModule((Module) Class.forName(className).getDeclaredConstructor().newInstance());
+        } catch (ClassNotFoundException e) {
+            logger.warn("Jackson module {} is not on the classpath, binding with plain reflection", name);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Jackson module " + name + " could not be created", e);
+        }
+    }
+}
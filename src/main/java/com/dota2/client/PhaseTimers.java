@@ -0,0 +1,174 @@
+package com.dota2.api.client;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.HttpInetSocketAddress;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeLayeredSocketFactory;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.scheme.SchemeSocketFactory;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+/**
+ * Hooks into the blocking Apache HTTP client that time the network phases of the request
+ * running on the calling thread into its {@link RequestTimings}. Outside a request, e.g.
+ * while pre-warming the pool, they only delegate.
+ */
+final class PhaseTimers {
+    private static final String SEND_START_ATTRIBUTE = "dota2.timing.send.start";
+
+    private PhaseTimers() {
+    }
+
+    /**
+     * Default http/https schemes with socket factories that time the TCP connect and TLS handshake separately
+     */
+    static SchemeRegistry timedSchemeRegistry() {
+        SchemeRegistry defaults = SchemeRegistryFactory.createDefault();
+        SchemeRegistry timed = new SchemeRegistry();
+        for (String name : defaults.getSchemeNames()) {
+            Scheme scheme = defaults.getScheme(name);
+            SchemeSocketFactory factory = scheme.getSchemeSocketFactory();
+            // The route planner treats a layered factory as TLS, so only TLS factories are wrapped as one
+            timed.register(new Scheme(name, scheme.getDefaultPort(), factory instanceof SchemeLayeredSocketFactory
+                    ? new TimedLayeredSocketFactory((SchemeLayeredSocketFactory) factory)
+                    : new TimedSocketFactory(factory)));
+        }
+        return timed;
+    }
+
+    /**
+     * System resolver timing each lookup as the DNS phase
+     */
+    static final class TimedDnsResolver implements DnsResolver {
+        @Override
+        public InetAddress[] resolve(String host) throws UnknownHostException {
+            long start = System.nanoTime();
+            try {
+                return SystemDefaultDnsResolver.INSTANCE.resolve(host);
+            } finally {
+                RequestTimings.recordCurrent(RequestTimings.Phase.DNS, System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Socket factory timing the TCP connect
+     */
+    private static class TimedSocketFactory implements SchemeSocketFactory {
+        private final SchemeSocketFactory delegate;
+
+        private TimedSocketFactory(SchemeSocketFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Socket createSocket(HttpParams params) throws IOException {
+            return delegate.createSocket(params);
+        }
+
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remoteAddress, InetSocketAddress localAddress,
+                                    HttpParams params) throws IOException, ConnectTimeoutException {
+            long start = System.nanoTime();
+            try {
+                return delegate.connectSocket(socket, remoteAddress, localAddress, params);
+            } finally {
+                RequestTimings.recordCurrent(RequestTimings.Phase.CONNECT, System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public boolean isSecure(Socket socket) {
+            return delegate.isSecure(socket);
+        }
+    }
+
+    /**
+     * TLS socket factory timing the TCP connect and the handshake on top of it separately
+     */
+    private static final class TimedLayeredSocketFactory extends TimedSocketFactory implements SchemeLayeredSocketFactory {
+        private final SchemeLayeredSocketFactory delegate;
+
+        private TimedLayeredSocketFactory(SchemeLayeredSocketFactory delegate) {
+            super(delegate);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remoteAddress, InetSocketAddress localAddress,
+                                    HttpParams params) throws IOException, ConnectTimeoutException {
+            // Same steps as the TLS factory's own connectSocket, split so each one can be timed
+            long start = System.nanoTime();
+            Socket connected;
+            try {
+                connected = PlainSocketFactory.getSocketFactory().connectSocket(socket, remoteAddress, localAddress, params);
+            } finally {
+                RequestTimings.recordCurrent(RequestTimings.Phase.CONNECT, System.nanoTime() - start);
+            }
+            String host = remoteAddress instanceof HttpInetSocketAddress
+                    ? ((HttpInetSocketAddress) remoteAddress).getHttpHost().getHostName()
+                    : remoteAddress.getHostName();
+            return createLayeredSocket(connected, host, remoteAddress.getPort(), params);
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpParams params)
+                throws IOException, UnknownHostException {
+            long start = System.nanoTime();
+            try {
+                return delegate.createLayeredSocket(socket, target, port, params);
+            } finally {
+                RequestTimings.recordCurrent(RequestTimings.Phase.TLS, System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Request executor timing the wait for the response headers as TTFB and reading the body as
+     * DOWNLOAD. The body is read into memory here, which Rest-Assured would do right after anyway.
+     */
+    static final class TimedRequestExecutor extends HttpRequestExecutor {
+        @Override
+        protected HttpResponse doSendRequest(HttpRequest request, HttpClientConnection connection, HttpContext context)
+                throws IOException, HttpException {
+            context.setAttribute(SEND_START_ATTRIBUTE, System.nanoTime());
+            return super.doSendRequest(request, connection, context);
+        }
+
+        @Override
+        protected HttpResponse doReceiveResponse(HttpRequest request, HttpClientConnection connection, HttpContext context)
+                throws HttpException, IOException {
+            HttpResponse response = super.doReceiveResponse(request, connection, context);
+            RequestTimings timings = RequestTimings.current();
+            Object sendStart = context.getAttribute(SEND_START_ATTRIBUTE);
+            if (timings == null || !(sendStart instanceof Long)) {
+                return response;
+            }
+            long headersReceived = System.nanoTime();
+            timings.record(RequestTimings.Phase.TTFB, headersReceived - (Long) sendStart);
+            HttpEntity entity = response.getEntity();
+            if (entity != null) {
+                response.setEntity(new BufferedHttpEntity(entity));
+                timings.record(RequestTimings.Phase.DOWNLOAD, System.nanoTime() - headersReceived);
+            }
+            return response;
+        }
+    }
+}
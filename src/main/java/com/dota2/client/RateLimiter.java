@@ -0,0 +1,300 @@
+package com.dota2.api.client;
+
+import com.dota2.api.config.ApiConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.net.URI;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Client-side adaptive token-bucket rate limiter.
+ * Every request takes a token from its host bucket and, when one is configured, from its
+ * endpoint group bucket (the first path segment, e.g. players). Buckets halve their rate on
+ * 429 responses, pause for Retry-After, follow rate-limit headers when the server reports its
+ * remaining quota, and recover gradually towards the configured rate on successful responses.
+ */
+public class RateLimiter implements Filter {
+    private static final Logger logger = LogManager.getLogger(RateLimiter.class);
+    private static final int STATUS_TOO_MANY_REQUESTS = 429;
+    private static final String[] REMAINING_HEADERS = {
+            "X-Rate-Limit-Remaining-Minute", "X-RateLimit-Remaining", "RateLimit-Remaining"
+    };
+
+    private final ApiConfig apiConfig;
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(ApiConfig apiConfig) {
+        this.apiConfig = apiConfig;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String host = URI.create(requestSpec.getBaseUri()).getHost();
+        String endpoint = requestSpec.getUserDefinedPath();
+
+        long waitNanos = reserve(host, endpoint);
+        if (waitNanos > 0) {
+            LockSupport.parkNanos(waitNanos);
+        }
+
+        Response response = ctx.next(requestSpec, responseSpec);
+        onResponse(host, endpoint, response.getStatusCode(), response.getHeaders());
+        return response;
+    }
+
+    /**
+     * Takes a token for a request, borrowing against future refills when the bucket is empty
+     * @param host API host
+     * @param endpoint request path relative to the base URL
+     * @return nanoseconds the caller must wait before sending the request
+     */
+    public long reserve(String host, String endpoint) {
+        TokenBucket bucket = bucketFor(host);
+        TokenBucket group = groupBucketFor(host, endpoint);
+        // Read after the buckets exist, so a bucket created just now never sees a time before its own start
+        long now = System.nanoTime();
+        long waitNanos = bucket.reserve(now);
+        if (group != null) {
+            waitNanos = Math.max(waitNanos, group.reserve(now));
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Adapts the buckets of a request to the response the server sent
+     * @param host API host
+     * @param endpoint request path relative to the base URL
+     * @param statusCode response status code
+     * @param headers response headers
+     */
+    public void onResponse(String host, String endpoint, int statusCode, Headers headers) {
+        long retryAfterNanos = retryAfterNanos(headers);
+        Integer remaining = remainingQuota(headers);
+
+        adapt(bucketFor(host), endpoint, statusCode, retryAfterNanos, remaining);
+        TokenBucket group = groupBucketFor(host, endpoint);
+        if (group != null) {
+            adapt(group, endpoint, statusCode, retryAfterNanos, remaining);
+        }
+    }
+
+    /**
+     * Gets the time requests spent waiting for tokens
+     * @return wait statistics per bucket
+     */
+    public Map<String, WaitStats> getWaitStats() {
+        Map<String, WaitStats> stats = new TreeMap<>();
+        buckets.forEach((name, bucket) -> stats.put(name, bucket.waitStats()));
+        return stats;
+    }
+
+    public void logStats() {
+        getWaitStats().forEach((name, stats) -> logger.info("Rate limiter {}: {}", name, stats));
+    }
+
+    private static void adapt(TokenBucket bucket, String endpoint, int statusCode, long retryAfterNanos, Integer remaining) {
+        if (statusCode == STATUS_TOO_MANY_REQUESTS) {
+            bucket.throttle(retryAfterNanos);
+            logger.warn("Rate limited on {} ({}), slowing down to {} req/s", endpoint, bucket.name, bucket.currentRate());
+        } else {
+            bucket.recover(remaining);
+        }
+    }
+
+    private TokenBucket bucketFor(String host) {
+        return buckets.computeIfAbsent(host, key -> newBucket(key, "api.ratelimit.requests.per.second." + host,
+                "api.ratelimit.burst." + host, apiConfig.getRateLimitRequestsPerSecond(), apiConfig.getRateLimitBurst()));
+    }
+
+    private TokenBucket groupBucketFor(String host, String endpoint) {
+        String group = endpointGroup(endpoint);
+        String rateKey = "api.ratelimit.requests.per.second." + group;
+        if (apiConfig.getProperty(rateKey) == null) {
+            return null;
+        }
+        return buckets.computeIfAbsent(host + " " + group, key -> newBucket(key, rateKey,
+                "api.ratelimit.burst." + group, apiConfig.getRateLimitRequestsPerSecond(), apiConfig.getRateLimitBurst()));
+    }
+
+    private TokenBucket newBucket(String name, String rateKey, String burstKey, double defaultRate, int defaultBurst) {
+        double rate = Double.parseDouble(apiConfig.getProperty(rateKey, String.valueOf(defaultRate)));
+        int burst = Integer.parseInt(apiConfig.getProperty(burstKey, String.valueOf(defaultBurst)));
+        logger.info("Rate limiter bucket {}: {} req/s, burst {}", name, rate, burst);
+        return new TokenBucket(name, rate, burst, apiConfig.getRateLimitRecoveryFactor());
+    }
+
+    private static String endpointGroup(String endpoint) {
+        String template = EndpointTemplates.of(endpoint);
+        int next = template.indexOf('/', 1);
+        return next > 0 ? template.substring(1, next) : template.substring(1);
+    }
+
+    private static long retryAfterNanos(Headers headers) {
+        String retryAfter = headers.getValue("Retry-After");
+        if (retryAfter == null) {
+            return 0;
+        }
+        try {
+            return TimeUnit.SECONDS.toNanos(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static Integer remainingQuota(Headers headers) {
+        for (String name : REMAINING_HEADERS) {
+            String value = headers.getValue(name);
+            if (value != null) {
+                try {
+                    return Integer.parseInt(value.trim());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Time spent waiting on one bucket
+     */
+    public static final class WaitStats {
+        private final long requests;
+        private final long waits;
+        private final long totalWaitNanos;
+        private final long maxWaitNanos;
+        private final long throttles;
+        private final double currentRate;
+
+        private WaitStats(long requests, long waits, long totalWaitNanos, long maxWaitNanos, long throttles, double currentRate) {
+            this.requests = requests;
+            this.waits = waits;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+            this.throttles = throttles;
+            this.currentRate = currentRate;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getWaits() {
+            return waits;
+        }
+
+        public long getTotalWaitMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos);
+        }
+
+        public long getMaxWaitMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos);
+        }
+
+        public long getThrottles() {
+            return throttles;
+        }
+
+        public double getCurrentRate() {
+            return currentRate;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests, %d waited %d ms in total (max %d ms), %d throttled, current rate %.2f req/s",
+                    requests, waits, getTotalWaitMillis(), getMaxWaitMillis(), throttles, currentRate);
+        }
+    }
+
+    private static final class TokenBucket {
+        private static final double MIN_RATE_FRACTION = 0.05;
+
+        private final String name;
+        private final double configuredRate;
+        private final double burst;
+        private final double recoveryFactor;
+        private double rate;
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+        // nanoTime has an arbitrary origin, possibly negative, so "not paused" is a time already passed rather than 0
+        private long pausedUntil = lastRefill;
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder waits = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+        private final LongAdder throttles = new LongAdder();
+
+        private TokenBucket(String name, double rate, int burst, double recoveryFactor) {
+            this.name = name;
+            this.configuredRate = rate;
+            this.rate = rate;
+            this.burst = burst;
+            this.tokens = burst;
+            this.recoveryFactor = recoveryFactor;
+        }
+
+        private long reserve(long now) {
+            long waitNanos;
+            synchronized (this) {
+                refill(now);
+                tokens -= 1;
+                waitNanos = tokens >= 0 ? 0 : (long) (-tokens / rate * TimeUnit.SECONDS.toNanos(1));
+                waitNanos = Math.max(waitNanos, pausedUntil - now);
+            }
+            requests.increment();
+            if (waitNanos > 0) {
+                waits.increment();
+                totalWaitNanos.add(waitNanos);
+                maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+            }
+            return Math.max(waitNanos, 0);
+        }
+
+        private synchronized void throttle(long retryAfterNanos) {
+            throttles.increment();
+            rate = Math.max(configuredRate * MIN_RATE_FRACTION, rate / 2);
+            tokens = Math.min(tokens, 0);
+            long resumeAt = System.nanoTime() + retryAfterNanos;
+            if (retryAfterNanos > 0 && resumeAt - pausedUntil > 0) {
+                pausedUntil = resumeAt;
+            }
+        }
+
+        private synchronized void recover(Integer remainingQuota) {
+            if (remainingQuota != null && remainingQuota < tokens) {
+                tokens = remainingQuota;
+            }
+            rate = Math.min(configuredRate, rate + (configuredRate - rate) * recoveryFactor);
+        }
+
+        private synchronized double currentRate() {
+            return rate;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(burst, tokens + (now - lastRefill) * rate / TimeUnit.SECONDS.toNanos(1));
+            lastRefill = now;
+        }
+
+        private WaitStats waitStats() {
+            return new WaitStats(requests.sum(), waits.sum(), totalWaitNanos.sum(), maxWaitNanos.get(),
+                    throttles.sum(), currentRate());
+        }
+    }
+}
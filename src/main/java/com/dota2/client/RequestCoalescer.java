@@ -0,0 +1,119 @@
+package com.dota2.api.client;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Single-flight coalescing of identical GET requests.
+ * While a request is in flight, identical requests from other threads (blocking or async)
+ * wait for it instead of going to the network, and each waiter gets its own copy of the body.
+ * Hedged requests carry {@link #HEDGE_HEADER} and always go to the network, since waiting
+ * on the slow call they are racing would defeat their purpose.
+ */
+public class RequestCoalescer implements Filter {
+    private static final Logger logger = LogManager.getLogger(RequestCoalescer.class);
+
+    /**
+     * Marker header on hedged attempts; removed before the request is sent
+     */
+    static final String HEDGE_HEADER = "X-Hedged-Request";
+
+    private final ConcurrentMap<String, CompletableFuture<ResponseSnapshot>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!"GET".equals(requestSpec.getMethod())) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        if (requestSpec.getHeaders().hasHeaderWithName(HEDGE_HEADER)) {
+            requestSpec.removeHeader(HEDGE_HEADER);
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        String key = RequestKeys.of(requestSpec.getMethod(), requestSpec.getUserDefinedPath(), requestSpec.getQueryParams());
+        CompletableFuture<ResponseSnapshot> call = new CompletableFuture<>();
+        CompletableFuture<ResponseSnapshot> leader = inFlight.putIfAbsent(key, call);
+        if (leader != null) {
+            coalesced.increment();
+            return await(leader).toResponse(responseSpec);
+        }
+
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            call.complete(ResponseSnapshot.of(response));
+            return response;
+        } catch (Exception | Error e) {
+            // Rest-Assured rethrows checked IOExceptions undeclared; waiters must see them too
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Runs an async request unless an identical one is already in flight
+     * @param key request key from {@link RequestKeys#of}
+     * @param request starts the request when this caller is the first one
+     * @return future completed with a private copy of the response
+     */
+    public CompletableFuture<Response> coalesce(String key, Supplier<CompletableFuture<Response>> request) {
+        CompletableFuture<ResponseSnapshot> call = new CompletableFuture<>();
+        CompletableFuture<ResponseSnapshot> leader = inFlight.putIfAbsent(key, call);
+        if (leader != null) {
+            coalesced.increment();
+            return leader.thenApply(ResponseSnapshot::toResponse);
+        }
+
+        try {
+            request.get().whenComplete((response, error) -> {
+                inFlight.remove(key, call);
+                if (error != null) {
+                    call.completeExceptionally(error);
+                } else {
+                    call.complete(ResponseSnapshot.of(response));
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, call);
+            call.completeExceptionally(e);
+        }
+        return call.thenApply(ResponseSnapshot::toResponse);
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    public void logStats() {
+        logger.info("Request coalescing: {} duplicate in-flight GET requests served by a shared call", getCoalescedCount());
+    }
+
+    private static ResponseSnapshot await(CompletableFuture<ResponseSnapshot> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.dota2.api.client;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Utility building canonical keys that identify identical requests.
+ */
+public final class RequestKeys {
+
+    private RequestKeys() {
+    }
+
+    /**
+     * Builds the key for a request from its method, path and query parameters sorted by name,
+     * so the same request built with parameters in a different order gets the same key
+     * @param method HTTP method
+     * @param path request path relative to the base URL
+     * @param queryParams query parameters, may be null
+     * @return canonical request key
+     */
+    public static String of(String method, String path, Map<String, ?> queryParams) {
+        StringBuilder key = new StringBuilder(method).append(' ').append(path);
+        if (queryParams != null && !queryParams.isEmpty()) {
+            char separator = '?';
+            for (Map.Entry<String, ?> param : new TreeMap<>(queryParams).entrySet()) {
+                key.append(separator).append(param.getKey()).append('=').append(param.getValue());
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,71 @@
+package com.dota2.api.client;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+
+/**
+ * Compact request log used instead of Rest-Assured's .log(LogDetail.ALL) when api.log.mode=compact.
+ * Each request is one parameterized log4j line rather than a dump formatted on System.out, so with
+ * config/log4j2-async.xml the request thread only enqueues it. Response bodies are logged at DEBUG,
+ * cut at api.log.body.max.bytes, and bodies over that cap for one response in every
+ * api.log.body.sample.every only; error responses always log their (cut) body at WARN.
+ */
+public class RequestLogFilter implements Filter {
+    private static final Logger logger = LogManager.getLogger(RequestLogFilter.class);
+
+    private final int bodyMaxBytes;
+    private final int bodySampleEvery;
+    private final AtomicLong oversizedBodies = new AtomicLong();
+
+    public RequestLogFilter(int bodyMaxBytes, int bodySampleEvery) {
+        if (bodySampleEvery < 1) {
+            throw new IllegalArgumentException("Body sampling interval must be at least 1: " + bodySampleEvery);
+        }
+        this.bodyMaxBytes = bodyMaxBytes;
+        this.bodySampleEvery = bodySampleEvery;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        int status = response.getStatusCode();
+        Level level = status >= 400 ? Level.WARN : Level.INFO;
+        if (logger.isEnabled(level)) {
+            logger.log(level, "{} {} -> {} in {} ms", requestSpec.getMethod(), requestSpec.getURI(),
+                    Unbox.box(status), Unbox.box(millis));
+        }
+        Level bodyLevel = status >= 400 ? Level.WARN : Level.DEBUG;
+        if (logger.isEnabled(bodyLevel)) {
+            logBody(bodyLevel, response.asByteArray());
+        }
+        return response;
+    }
+
+    private void logBody(Level level, byte[] body) {
+        if (body.length <= bodyMaxBytes) {
+            logger.log(level, "Response body: {}", new String(body, StandardCharsets.UTF_8));
+            return;
+        }
+        if (level != Level.WARN && oversizedBodies.getAndIncrement() % bodySampleEvery != 0) {
+            return;
+        }
+        int cut = Utf8.cutLength(body, bodyMaxBytes);
+        logger.log(level, "Response body, first {} of {} bytes: {}", Unbox.box(cut), Unbox.box(body.length),
+                new String(body, 0, cut, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,284 @@
+package com.dota2.api.client;
+
+import io.restassured.response.Response;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Where the time of one request went, phase by phase. The network phases are filled in by
+ * hooks in the HTTP clients of {@link ClientRegistry} and {@link AsyncHttpEngine}; the
+ * deserialization and schema validation phases by whoever processes the response afterwards,
+ * through {@link #time(Response, Phase, Supplier)}.
+ * A phase that did not happen, e.g. DNS and connect on a reused connection, stays at 0.
+ */
+public final class RequestTimings {
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<RequestTimings> LAST = new ThreadLocal<>();
+    private static final ThreadLocal<List<RequestTimings>> CAPTURED = new ThreadLocal<>();
+    private static final Map<Response, RequestTimings> BY_RESPONSE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Phases of a request, in the order they happen
+     */
+    public enum Phase {
+        /** Host name resolution */
+        DNS,
+        /** TCP connection */
+        CONNECT,
+        /** TLS handshake */
+        TLS,
+        /** From sending the request to receiving the response headers: server think time plus one round trip */
+        TTFB,
+        /** Reading the response body */
+        DOWNLOAD,
+        /** Mapping the body to model objects */
+        DESERIALIZE,
+        /** Validating the body against a JSON schema */
+        SCHEMA_VALIDATION
+    }
+
+    private final String method;
+    private final String path;
+    private final AtomicLongArray nanos = new AtomicLongArray(Phase.values().length);
+    private volatile long totalNanos;
+    private volatile ClientMetrics metrics;
+    private final List<RequestTimings> capture = CAPTURED.get();
+
+    /**
+     * Starts the timings of a request, captured for the calling thread if it is capturing
+     * @param method HTTP method
+     * @param path request path
+     */
+    public RequestTimings(String method, String path) {
+        this.method = method;
+        this.path = path;
+    }
+
+    /**
+     * Gets the timings of the request running on the calling thread, for the HTTP client hooks
+     * @return timings being filled in, or null outside a request
+     */
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    static void setCurrent(RequestTimings timings) {
+        if (timings == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(timings);
+        }
+    }
+
+    /**
+     * Gets the timings of the last request completed on the calling thread
+     * @return timings, or null when no request has completed on this thread
+     */
+    public static RequestTimings last() {
+        return LAST.get();
+    }
+
+    /**
+     * Gets the timings of a response returned by {@link RestClient}
+     * @return timings, or null for a response that did not go through the client
+     */
+    public static RequestTimings of(Response response) {
+        return response == null ? null : BY_RESPONSE.get(response);
+    }
+
+    /**
+     * Adds time to a phase of the request running on the calling thread, if any
+     */
+    public static void recordCurrent(Phase phase, long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.record(phase, nanos);
+        }
+    }
+
+    /**
+     * Times work done on a response after it was received, e.g. deserialization
+     * @param response response the work is about, attributed to its request
+     * @param phase phase the work belongs to
+     * @param work work to time
+     * @return result of the work
+     */
+    public static <T> T time(Response response, Phase phase, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            RequestTimings timings = of(response);
+            if (timings != null) {
+                timings.recordAfterCompletion(phase, System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Starts collecting the timings of every request completed on the calling thread, e.g. for one test
+     */
+    public static void startCapture() {
+        CAPTURED.set(Collections.synchronizedList(new ArrayList<>()));
+    }
+
+    /**
+     * Binds an operation to the capture of the calling thread, for work it hands to another thread
+     * @param operation operation to bind, e.g. one attempt of a hedged request
+     * @return operation that adds the timings of its requests to this thread's capture wherever it runs
+     */
+    static <T, R> Function<T, R> inCapture(Function<T, R> operation) {
+        List<RequestTimings> capture = CAPTURED.get();
+        if (capture == null) {
+            return operation;
+        }
+        return argument -> {
+            List<RequestTimings> previous = CAPTURED.get();
+            CAPTURED.set(capture);
+            try {
+                return operation.apply(argument);
+            } finally {
+                if (previous == null) {
+                    CAPTURED.remove();
+                } else {
+                    CAPTURED.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Stops collecting on the calling thread
+     * @return timings collected since {@link #startCapture()}, in completion order
+     */
+    public static List<RequestTimings> stopCapture() {
+        List<RequestTimings> captured = CAPTURED.get();
+        CAPTURED.remove();
+        if (captured == null) {
+            return Collections.emptyList();
+        }
+        synchronized (captured) {
+            return new ArrayList<>(captured);
+        }
+    }
+
+    /**
+     * Renders timings as a fixed-width table in milliseconds, one request per row
+     * @param timings timings to render
+     * @return table with a header row
+     */
+    public static String table(List<RequestTimings> timings) {
+        StringBuilder table = new StringBuilder(128 * (timings.size() + 1));
+        table.append(String.format("%-40s", "request"));
+        for (Phase phase : Phase.values()) {
+            table.append(String.format(" %10s", phase.name().toLowerCase()));
+        }
+        table.append(String.format(" %10s%n", "total"));
+        for (RequestTimings timing : timings) {
+            table.append(String.format("%-40s", timing.method + " " + timing.path));
+            for (Phase phase : Phase.values()) {
+                long phaseNanos = timing.get(phase);
+                table.append(phaseNanos == 0 ? String.format(" %10s", "-") : String.format(" %10.2f", phaseNanos / 1e6));
+            }
+            table.append(String.format(" %10.2f%n", timing.totalNanos / 1e6));
+        }
+        return table.toString();
+    }
+
+    /**
+     * Adds time to a phase
+     * @param phase phase
+     * @param phaseNanos time spent, in nanoseconds
+     */
+    public void record(Phase phase, long phaseNanos) {
+        nanos.addAndGet(phase.ordinal(), phaseNanos);
+    }
+
+    /**
+     * Gets the time spent in a phase
+     * @return nanoseconds, 0 when the phase did not happen
+     */
+    public long get(Phase phase) {
+        return nanos.get(phase.ordinal());
+    }
+
+    /**
+     * Gets the time from sending the request to receiving the whole response
+     * @return nanoseconds, 0 until the request has completed
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Ties timings to a response before the request completes, e.g. those of one async attempt
+     */
+    static void register(Response response, RequestTimings timings) {
+        BY_RESPONSE.put(response, timings);
+    }
+
+    /**
+     * Adds the phases of another set of timings, e.g. those of the attempt that produced the response
+     */
+    void merge(RequestTimings other) {
+        if (other != null && other != this) {
+            for (Phase phase : Phase.values()) {
+                nanos.addAndGet(phase.ordinal(), other.get(phase));
+            }
+        }
+    }
+
+    /**
+     * Marks the request as completed, reporting phases recorded from now on to the metrics
+     * @param response response handed to the caller
+     * @param total time from sending the request to receiving the whole response
+     * @param sink metrics to report later phases to, or null
+     */
+    void complete(Response response, long total, ClientMetrics sink) {
+        this.totalNanos = total;
+        this.metrics = sink;
+        if (response != null) {
+            BY_RESPONSE.put(response, this);
+        }
+        LAST.set(this);
+        if (capture != null) {
+            capture.add(this);
+        }
+    }
+
+    void recordAfterCompletion(Phase phase, long phaseNanos) {
+        record(phase, phaseNanos);
+        ClientMetrics sink = metrics;
+        if (sink != null) {
+            sink.recordPhase(method, path, phase, phaseNanos);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(method).append(' ').append(path).append(':');
+        for (Phase phase : Phase.values()) {
+            long phaseNanos = get(phase);
+            if (phaseNanos != 0) {
+                text.append(' ').append(phase.name().toLowerCase()).append('=')
+                        .append(TimeUnit.NANOSECONDS.toMicros(phaseNanos) / 1000.0).append("ms");
+            }
+        }
+        return text.append(" total=").append(TimeUnit.NANOSECONDS.toMicros(totalNanos) / 1000.0).append("ms").toString();
+    }
+}
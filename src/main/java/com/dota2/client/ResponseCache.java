@@ -0,0 +1,271 @@
+package com.dota2.api.client;
+
+import com.dota2.api.config.ApiConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Size-bounded LRU cache for successful GET responses with a TTL per endpoint template.
+ * Entries are keyed by {@link RequestKeys}, so the same request built with
+ * parameters in a different order still hits.
+ * Stale entries carrying an ETag or Last-Modified validator are revalidated with a
+ * conditional request; a 304 Not Modified is answered with the stored body. When the entry was
+ * evicted while its revalidation was in flight, the 304 is handed back as is and the
+ * {@link RestClient} sends the request again, without validators since there is no entry left.
+ */
+public class ResponseCache implements Filter {
+    private static final Logger logger = LogManager.getLogger(ResponseCache.class);
+
+    static final int STATUS_NOT_MODIFIED = 304;
+
+    private final ApiConfig apiConfig;
+    private final int maxEntries;
+    private final boolean revalidate;
+    private final Map<String, Entry> entries;
+    private final Map<String, Long> ttlNanosByTemplate = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder lostRevalidations = new LongAdder();
+    private final Map<String, LongAdder> bytesSavedByTemplate = new ConcurrentHashMap<>();
+
+    public ResponseCache(ApiConfig apiConfig) {
+        this.apiConfig = apiConfig;
+        this.maxEntries = apiConfig.getCacheMaxEntries();
+        this.revalidate = apiConfig.isCacheRevalidationEnabled();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!"GET".equals(requestSpec.getMethod())) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        String path = requestSpec.getUserDefinedPath();
+        String key = RequestKeys.of(requestSpec.getMethod(), path, requestSpec.getQueryParams());
+        ResponseSnapshot cached = lookup(key);
+        if (cached != null) {
+            return cached.toResponse(responseSpec);
+        }
+
+        conditionalHeaders(key).forEach(requestSpec::header);
+        Response response = ctx.next(requestSpec, responseSpec);
+        Response result = onResponse(key, path, response);
+        return result == response ? response : ResponseSnapshot.attachTo(responseSpec, result);
+    }
+
+    /**
+     * Looks up a fresh cached response
+     * @param key cache key from {@link RequestKeys#of}
+     * @return cached snapshot, or null on a miss
+     */
+    public ResponseSnapshot lookup(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+                hits.increment();
+                return entry.snapshot;
+            }
+            if (entry != null && !(revalidate && entry.hasValidators())) {
+                entries.remove(key);
+                expirations.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Builds If-None-Match / If-Modified-Since headers for a stale entry
+     * @param key cache key from {@link RequestKeys#of}
+     * @return conditional request headers, empty when there is nothing to revalidate
+     */
+    public Map<String, String> conditionalHeaders(String key) {
+        if (!revalidate) {
+            return Collections.emptyMap();
+        }
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null || !entry.hasValidators()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> headers = new HashMap<>(2);
+        if (entry.etag != null) {
+            headers.put("If-None-Match", entry.etag);
+        }
+        if (entry.lastModified != null) {
+            headers.put("If-Modified-Since", entry.lastModified);
+        }
+        return headers;
+    }
+
+    /**
+     * Handles the response to a cache miss: a 304 refreshes the stale entry and is
+     * answered with its stored body, anything else goes through {@link #store}
+     * @param key cache key from {@link RequestKeys#of}
+     * @param path request path
+     * @param response response received from the server
+     * @return the response to hand to the caller; still a bodiless 304 when the stale entry is gone,
+     * which the caller must send again
+     */
+    public Response onResponse(String key, String path, Response response) {
+        if (response.getStatusCode() == STATUS_NOT_MODIFIED) {
+            Entry refreshed = refresh(key, path);
+            if (refreshed != null) {
+                revalidations.increment();
+                bytesSavedByTemplate.computeIfAbsent(EndpointTemplates.of(path), t -> new LongAdder())
+                        .add(refreshed.snapshot.getBodySize());
+                return refreshed.snapshot.toResponse();
+            }
+            lostRevalidations.increment();
+            logger.debug("Cache entry {} was evicted before its 304 arrived", key);
+            return response;
+        }
+        store(key, path, response);
+        return response;
+    }
+
+    /**
+     * Stores a response if it is a 200 OK. Endpoints with a zero TTL are only kept
+     * when revalidation is on and the response has validators, so they are always
+     * revalidated instead of being served from memory.
+     * @param key cache key from {@link RequestKeys#of}
+     * @param path request path, used to pick the TTL for its endpoint template
+     * @param response response to store
+     */
+    public void store(String key, String path, Response response) {
+        if (response.getStatusCode() != 200) {
+            return;
+        }
+        long ttlNanos = ttlNanosFor(EndpointTemplates.of(path));
+        boolean hasValidators = response.getHeader("ETag") != null || response.getHeader("Last-Modified") != null;
+        if (ttlNanos <= 0 && !(revalidate && hasValidators)) {
+            return;
+        }
+        Entry entry = new Entry(ResponseSnapshot.of(response), System.nanoTime() + Math.max(ttlNanos, 0));
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    private Entry refresh(String key, String path) {
+        synchronized (entries) {
+            Entry stale = entries.get(key);
+            if (stale == null) {
+                return null;
+            }
+            Entry refreshed = new Entry(stale.snapshot, System.nanoTime() + ttlNanosFor(EndpointTemplates.of(path)));
+            entries.put(key, refreshed);
+            return refreshed;
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
+    public long getRevalidationCount() {
+        return revalidations.sum();
+    }
+
+    /**
+     * Gets how many 304s arrived after their stale entry had been evicted, each sent again in full
+     */
+    public long getLostRevalidationCount() {
+        return lostRevalidations.sum();
+    }
+
+    /**
+     * Gets the body bytes not downloaded thanks to 304 Not Modified answers
+     * @return bytes saved per endpoint template
+     */
+    public Map<String, Long> getBytesSavedByEndpoint() {
+        Map<String, Long> bytesSaved = new TreeMap<>();
+        bytesSavedByTemplate.forEach((template, bytes) -> bytesSaved.put(template, bytes.sum()));
+        return bytesSaved;
+    }
+
+    public void logStats() {
+        logger.info("Response cache: {} entries, {} hits, {} misses, {} evictions, {} expirations, {} revalidations, "
+                + "{} lost revalidations", size(), getHitCount(), getMissCount(), getEvictionCount(), getExpirationCount(),
+                getRevalidationCount(), getLostRevalidationCount());
+        getBytesSavedByEndpoint().forEach((template, bytes) ->
+                logger.info("Response cache: {} bytes saved by revalidation on {}", bytes, template));
+    }
+
+    private long ttlNanosFor(String template) {
+        return ttlNanosByTemplate.computeIfAbsent(template,
+                t -> TimeUnit.SECONDS.toNanos(apiConfig.getCacheTtlSeconds(t)));
+    }
+
+    private static final class Entry {
+        private final ResponseSnapshot snapshot;
+        private final long expiresAt;
+        private final String etag;
+        private final String lastModified;
+
+        private Entry(ResponseSnapshot snapshot, long expiresAt) {
+            this.snapshot = snapshot;
+            this.expiresAt = expiresAt;
+            this.etag = snapshot.getHeaders().getValue("ETag");
+            this.lastModified = snapshot.getHeaders().getValue("Last-Modified");
+        }
+
+        private boolean hasValidators() {
+            return etag != null || lastModified != null;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.dota2.api.client;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Headers;
+import io.restassured.internal.RestAssuredResponseImpl;
+import io.restassured.internal.ResponseSpecificationImpl;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * Immutable copy of a response that can be handed out to many callers.
+ * Every call to {@link #toResponse()} returns a new Response over its own copy of the body.
+ */
+public final class ResponseSnapshot {
+    private final int statusCode;
+    private final String statusLine;
+    private final Headers headers;
+    private final String contentType;
+    private final byte[] body;
+
+    private ResponseSnapshot(int statusCode, String statusLine, Headers headers, String contentType, byte[] body) {
+        this.statusCode = statusCode;
+        this.statusLine = statusLine;
+        this.headers = headers;
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    /**
+     * Copies a response, reading its body fully
+     * @param response response to copy
+     * @return snapshot of the response
+     */
+    public static ResponseSnapshot of(Response response) {
+        byte[] body = response.asByteArray();
+        return new ResponseSnapshot(response.getStatusCode(), response.getStatusLine(), response.getHeaders(),
+                response.getContentType(), body == null ? new byte[0] : body.clone());
+    }
+
+    /**
+     * Rebuilds a snapshot from stored fields, e.g. a {@link Cassette} record
+     * @param body response body, owned by the snapshot from now on
+     * @return snapshot of the stored response
+     */
+    static ResponseSnapshot of(int statusCode, String statusLine, Headers headers, String contentType, byte[] body) {
+        return new ResponseSnapshot(statusCode, statusLine, headers, contentType, body);
+    }
+
+    /**
+     * Builds a new Response from this snapshot
+     * @return Response with its own copy of the body
+     */
+    public Response toResponse() {
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(statusCode)
+                .setHeaders(headers)
+                .setBody(body.clone());
+        if (statusLine != null) {
+            builder.setStatusLine(statusLine);
+        }
+        if (contentType != null && !contentType.isEmpty()) {
+            builder.setContentType(contentType);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Builds a new Response from this snapshot for a filter to return instead of calling the server
+     * @param responseSpec response specification of the filtered request
+     * @return Response with its own copy of the body, tied to the request's log
+     */
+    public Response toResponse(FilterableResponseSpecification responseSpec) {
+        return attachTo(responseSpec, toResponse());
+    }
+
+    /**
+     * Ties a response built by a filter to the request it answers. Rest-Assured only sets the
+     * log repository on responses that come from the network, and then().log() fails without it.
+     * @param responseSpec response specification of the filtered request
+     * @param response response built by the filter
+     * @return the same response
+     */
+    static Response attachTo(FilterableResponseSpecification responseSpec, Response response) {
+        if (response instanceof RestAssuredResponseImpl && responseSpec instanceof ResponseSpecificationImpl) {
+            ((RestAssuredResponseImpl) response).setLogRepository(((ResponseSpecificationImpl) responseSpec).getLogRepository());
+        }
+        return response;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public Headers getHeaders() {
+        return headers;
+    }
+
+    String getStatusLine() {
+        return statusLine;
+    }
+
+    /**
+     * Opens the body for reading, without copying it
+     */
+    InputStream openBody() {
+        return new ByteArrayInputStream(body);
+    }
+
+    public int getBodySize() {
+        return body.length;
+    }
+}
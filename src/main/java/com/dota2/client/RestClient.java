@@ -1,56 +1,145 @@
 package com.dota2.api.client;
 
 import com.dota2.api.config.ApiConfig;
-import io.qameta.allure.restassured.AllureRestAssured;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
  * REST Client for making API requests.
- * Uses Rest-Assured for HTTP requests.
+ * Uses Rest-Assured for blocking HTTP requests and {@link AsyncHttpEngine} for non-blocking GETs.
  */
 public class RestClient {
     private static final Logger logger = LogManager.getLogger(RestClient.class);
     private final ApiConfig apiConfig;
     private final RequestSpecification requestSpec;
+    private final AsyncHttpEngine asyncEngine;
+    private final ClientMetrics clientMetrics;
+    private final Cassette cassette;
+    private final AllureAttachments allureAttachments;
+    private final ResponseCache responseCache;
+    private final RequestCoalescer requestCoalescer;
+    private final RateLimiter rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final RetryPolicy retryPolicy;
+    private final TimeoutPolicy timeoutPolicy;
+    private final ModelMapper modelMapper;
 
+    /**
+     * Creates a client on top of the shared connection pool.
+     * Endpoint classes should prefer {@link ClientRegistry#getRestClient()}.
+     */
     public RestClient() {
+        this(ClientRegistry.getInstance());
+    }
+
+    RestClient(ClientRegistry registry) {
         this.apiConfig = ApiConfig.getInstance();
-        this.requestSpec = buildRequestSpec();
+        this.clientMetrics = apiConfig.isMetricsEnabled() ? registry.getClientMetrics() : null;
+        this.cassette = registry.getCassette();
+        this.allureAttachments = registry.getAllureAttachments();
+        this.responseCache = apiConfig.isCacheEnabled() ? registry.getResponseCache() : null;
+        this.requestCoalescer = apiConfig.isCoalescingEnabled() ? registry.getRequestCoalescer() : null;
+        this.rateLimiter = apiConfig.isRateLimitEnabled() ? registry.getRateLimiter() : null;
+        this.circuitBreaker = apiConfig.isCircuitBreakerEnabled() ? registry.getCircuitBreaker() : null;
+        this.retryPolicy = registry.getRetryPolicy();
+        this.timeoutPolicy = registry.getTimeoutPolicy();
+        this.requestSpec = buildRequestSpec(registry.getRestAssuredConfig());
+        this.asyncEngine = registry.getAsyncEngine();
+        this.modelMapper = registry.getModelMapper();
     }
 
-    private RequestSpecification buildRequestSpec() {
-        return new RequestSpecBuilder()
+    private RequestSpecification buildRequestSpec(RestAssuredConfig restAssuredConfig) {
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+                .setConfig(restAssuredConfig)
                 .setBaseUri(apiConfig.getBaseUrl())
-                .setContentType(ContentType.JSON)
-                .addFilter(new AllureRestAssured())  // For Allure reporting
+                .setContentType(ContentType.JSON);
+        if (allureAttachments != null) {
+            // For Allure reporting; written off the request thread
+            builder.addFilter(allureAttachments);
+        }
+        if (clientMetrics != null) {
+            // Outermost after Allure, so the latency is what the caller waits for
+            builder.addFilter(clientMetrics);
+        }
+        if (cassette != null) {
+            // Records what the cache and the rest of the stack return; replays skip all of it
+            builder.addFilter(cassette);
+        }
+        if (responseCache != null) {
+            builder.addFilter(responseCache);
+        }
+        if (requestCoalescer != null) {
+            builder.addFilter(requestCoalescer);
+        }
+        if (circuitBreaker != null) {
+            // Ahead of the rate limiter, so requests failed fast do not spend tokens
+            builder.addFilter(circuitBreaker);
+        }
+        if (rateLimiter != null) {
+            builder.addFilter(rateLimiter);
+        }
+        builder.addFilter(timeoutPolicy);
+        if ("compact".equalsIgnoreCase(apiConfig.getLogMode())) {
+            return builder
+                    .addFilter(new RequestLogFilter(apiConfig.getLogBodyMaxBytes(), apiConfig.getLogBodySampleEvery()))
+                    .build();
+        }
+        return builder
                 .log(LogDetail.ALL)
                 .build();
     }
 
     public Response get(String endpoint) {
-        logger.info("Executing GET request to: {}", endpoint);
-        return RestAssured.given()
-                .spec(requestSpec)
-                .when()
-                .get(endpoint)
-                .then()
-                .log().ifValidationFails()
-                .extract().response();
+        return get(endpoint, Collections.emptyMap());
     }
 
     public Response get(String endpoint, Map<String, ?> queryParams) {
         logger.info("Executing GET request to: {} with params: {}", endpoint, queryParams);
-        return RestAssured.given()
+        // Hedged attempts run on another thread, so the caller's deadline and test captures are handed over explicitly
+        Deadline deadline = Deadline.current();
+        Function<Boolean, Response> attempt = RequestTimings.inCapture(
+                hedge -> Deadline.runWithin(deadline, () -> send(endpoint, queryParams, hedge)));
+        if (allureAttachments != null) {
+            attempt = allureAttachments.inCapture(attempt);
+        }
+        return retryPolicy.execute(endpoint, attempt);
+    }
+
+    private Response send(String endpoint, Map<String, ?> queryParams, boolean hedge) {
+        Response response = sendOnce(endpoint, queryParams, hedge);
+        if (responseCache != null && response.getStatusCode() == ResponseCache.STATUS_NOT_MODIFIED) {
+            // The stale entry was evicted while being revalidated, so the cache sends no validators this time
+            response = sendOnce(endpoint, queryParams, hedge);
+        }
+        return response;
+    }
+
+    private Response sendOnce(String endpoint, Map<String, ?> queryParams, boolean hedge) {
+        RequestSpecification request = RestAssured.given()
                 .spec(requestSpec)
-                .queryParams(queryParams)
+                .queryParams(queryParams);
+        if (hedge && requestCoalescer != null) {
+            request.header(RequestCoalescer.HEDGE_HEADER, "true");
+        }
+        return request
                 .when()
                 .get(endpoint)
                 .then()
@@ -58,6 +147,242 @@ public class RestClient {
                 .extract().response();
     }
 
+    public CompletableFuture<Response> getAsync(String endpoint) {
+        return getAsync(endpoint, Collections.emptyMap());
+    }
+
+    public CompletableFuture<Response> getAsync(String endpoint, Map<String, ?> queryParams) {
+        logger.info("Executing async GET request to: {} with params: {}", endpoint, queryParams);
+        if (clientMetrics == null) {
+            return replayedAsync(endpoint, queryParams);
+        }
+        // Created on the caller's thread, so a test capturing its request timings gets this one too
+        RequestTimings timings = new RequestTimings("GET", endpoint);
+        long start = System.nanoTime();
+        return replayedAsync(endpoint, queryParams).whenComplete((response, error) -> {
+            if (response != null) {
+                timings.merge(RequestTimings.of(response));
+                clientMetrics.record("GET", endpoint, System.nanoTime() - start, response, timings);
+            } else {
+                clientMetrics.recordError("GET", endpoint, System.nanoTime() - start);
+            }
+        });
+    }
+
+    /**
+     * Gets a resource bound to a model class
+     * @param endpoint endpoint path
+     * @param type model class, or an array of one
+     * @return bound object
+     * @throws UnexpectedStatusException when the response status is not 2xx
+     */
+    public <T> T get(String endpoint, Class<T> type) {
+        return get(endpoint, Collections.emptyMap(), type);
+    }
+
+    public <T> T get(String endpoint, Map<String, ?> queryParams, Class<T> type) {
+        return modelMapper.read(successful(endpoint, get(endpoint, queryParams)), type);
+    }
+
+    /**
+     * Gets a JSON array bound to a list of a model class
+     * @param endpoint endpoint path
+     * @param type model class of the elements
+     * @return bound list
+     * @throws UnexpectedStatusException when the response status is not 2xx
+     */
+    public <T> List<T> getList(String endpoint, Class<T> type) {
+        return getList(endpoint, Collections.emptyMap(), type);
+    }
+
+    public <T> List<T> getList(String endpoint, Map<String, ?> queryParams, Class<T> type) {
+        return modelMapper.readList(successful(endpoint, get(endpoint, queryParams)), type);
+    }
+
+    /**
+     * Gets a resource bound to a model class without blocking the calling thread
+     * @return future completed with the bound object, or failed with an UnexpectedStatusException
+     */
+    public <T> CompletableFuture<T> getAsync(String endpoint, Class<T> type) {
+        return getAsync(endpoint).thenApply(response -> modelMapper.read(successful(endpoint, response), type));
+    }
+
+    /**
+     * Gets a JSON array bound to a list of a model class without blocking the calling thread
+     * @return future completed with the bound list, or failed with an UnexpectedStatusException
+     */
+    public <T> CompletableFuture<List<T>> getListAsync(String endpoint, Class<T> type) {
+        return getListAsync(endpoint, Collections.emptyMap(), type);
+    }
+
+    public <T> CompletableFuture<List<T>> getListAsync(String endpoint, Map<String, ?> queryParams, Class<T> type) {
+        return getAsync(endpoint, queryParams).thenApply(response -> modelMapper.readList(successful(endpoint, response), type));
+    }
+
+    /**
+     * Gets a resource and hands its body to a reader on the calling thread while it is still arriving,
+     * e.g. to validate a large payload without holding it in memory. A replaying cassette answers from the
+     * recorded body, and a recording one takes the buffered path through every filter, since recording
+     * needs the whole body. Otherwise the request takes a rate limiter token and a circuit breaker permit
+     * and goes to the HTTP engine; the cache, coalescing, retries and metrics do not see it, as a body
+     * already handed to the reader cannot be replayed to them.
+     * @param endpoint endpoint path
+     * @param queryParams query parameters, may be empty
+     * @param bodyReader reads the body stream; returning early stops the download
+     * @return what the reader returned
+     * @throws UnexpectedStatusException when the response status is not 2xx
+     * @throws CassetteMissException in strict replay mode when the request was never recorded
+     * @throws CircuitBreakerOpenException when the endpoint's circuit is open
+     */
+    public <T> T getStreaming(String endpoint, Map<String, ?> queryParams, Function<InputStream, T> bodyReader) {
+        logger.info("Executing streaming GET request to: {} with params: {}", endpoint, queryParams);
+        if (cassette != null) {
+            ResponseSnapshot recorded = cassette.replay(RequestKeys.of("GET", endpoint, queryParams));
+            if (recorded != null) {
+                if (recorded.getStatusCode() < 200 || recorded.getStatusCode() > 299) {
+                    throw new UnexpectedStatusException(endpoint, recorded.getStatusCode(), recorded.getStatusLine());
+                }
+                return bodyReader.apply(recorded.openBody());
+            }
+            if (cassette.getMode().records()) {
+                Response response = successful(endpoint, get(endpoint, queryParams));
+                return bodyReader.apply(new ByteArrayInputStream(response.asByteArray()));
+            }
+        }
+
+        if (circuitBreaker != null) {
+            circuitBreaker.acquire(endpoint);
+        }
+        String host = asyncEngine.getHost();
+        if (rateLimiter != null) {
+            long waitNanos = rateLimiter.reserve(host, endpoint);
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+        }
+        TimeoutPolicy.RequestTimeouts timeouts = timeoutPolicy.timeoutsFor(endpoint);
+        long start = System.nanoTime();
+        boolean[] answered = new boolean[1];
+        try {
+            return asyncEngine.getStreaming(endpoint, queryParams, Duration.ofMillis(timeouts.getReadMillis()),
+                    (status, headers) -> {
+                        answered[0] = true;
+                        if (rateLimiter != null) {
+                            rateLimiter.onResponse(host, endpoint, status, headers);
+                        }
+                        if (circuitBreaker != null) {
+                            circuitBreaker.onResult(endpoint, System.nanoTime() - start, status, null);
+                        }
+                    }, bodyReader);
+        } catch (RuntimeException e) {
+            // Errors after the headers came from the body or its reader, not from the endpoint
+            if (circuitBreaker != null && !answered[0]) {
+                circuitBreaker.onResult(endpoint, System.nanoTime() - start, 0, e);
+            }
+            throw e;
+        }
+    }
+
+    private static Response successful(String endpoint, Response response) {
+        int status = response.getStatusCode();
+        if (status < 200 || status > 299) {
+            throw new UnexpectedStatusException(endpoint, status, response.getStatusLine());
+        }
+        return response;
+    }
+
+    private CompletableFuture<Response> replayedAsync(String endpoint, Map<String, ?> queryParams) {
+        String key = RequestKeys.of("GET", endpoint, queryParams);
+        Deadline deadline = Deadline.current();
+        if (cassette == null) {
+            return cachedAsync(key, endpoint, queryParams, deadline);
+        }
+
+        ResponseSnapshot recorded;
+        try {
+            recorded = cassette.replay(key);
+        } catch (CassetteMissException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (recorded != null) {
+            return CompletableFuture.completedFuture(recorded.toResponse());
+        }
+        return cachedAsync(key, endpoint, queryParams, deadline)
+                .thenApply(response -> cassette.record(key, response));
+    }
+
+    private CompletableFuture<Response> cachedAsync(String key, String endpoint, Map<String, ?> queryParams, Deadline deadline) {
+        if (responseCache == null) {
+            return sendAsync(key, endpoint, queryParams, Collections.emptyMap(), deadline);
+        }
+
+        ResponseSnapshot cached = responseCache.lookup(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached.toResponse());
+        }
+        return sendAsync(key, endpoint, queryParams, responseCache.conditionalHeaders(key), deadline)
+                .thenApply(response -> responseCache.onResponse(key, endpoint, response))
+                .thenCompose(response -> response.getStatusCode() != ResponseCache.STATUS_NOT_MODIFIED
+                        ? CompletableFuture.completedFuture(response)
+                        // The stale entry was evicted while being revalidated; ask again without validators
+                        : sendAsync(key, endpoint, queryParams, Collections.emptyMap(), deadline)
+                                .thenApply(retried -> responseCache.onResponse(key, endpoint, retried)));
+    }
+
+    private CompletableFuture<Response> sendAsync(String key, String endpoint, Map<String, ?> queryParams,
+                                                  Map<String, String> headers, Deadline deadline) {
+        if (requestCoalescer == null) {
+            return retryPolicy.executeAsync(endpoint, () -> throttledAsync(endpoint, queryParams, headers, deadline));
+        }
+        return requestCoalescer.coalesce(key,
+                () -> retryPolicy.executeAsync(endpoint, () -> throttledAsync(endpoint, queryParams, headers, deadline)));
+    }
+
+    private CompletableFuture<Response> throttledAsync(String endpoint, Map<String, ?> queryParams,
+                                                       Map<String, String> headers, Deadline deadline) {
+        if (circuitBreaker != null) {
+            try {
+                circuitBreaker.acquire(endpoint);
+            } catch (CircuitBreakerOpenException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        if (rateLimiter == null) {
+            return timedAsync(endpoint, queryParams, headers, deadline);
+        }
+        String host = asyncEngine.getHost();
+        long waitNanos = rateLimiter.reserve(host, endpoint);
+        CompletableFuture<Response> request = waitNanos <= 0
+                ? timedAsync(endpoint, queryParams, headers, deadline)
+                : CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS))
+                        .thenCompose(ignored -> timedAsync(endpoint, queryParams, headers, deadline));
+        return request.thenApply(response -> {
+            rateLimiter.onResponse(host, endpoint, response.getStatusCode(), response.getHeaders());
+            return response;
+        });
+    }
+
+    private CompletableFuture<Response> timedAsync(String endpoint, Map<String, ?> queryParams,
+                                                   Map<String, String> headers, Deadline deadline) {
+        TimeoutPolicy.RequestTimeouts timeouts;
+        try {
+            timeouts = Deadline.runWithin(deadline, () -> timeoutPolicy.timeoutsFor(endpoint));
+        } catch (DeadlineExceededException e) {
+            if (circuitBreaker != null) {
+                circuitBreaker.onResult(endpoint, 0, 0, e);
+            }
+            return CompletableFuture.failedFuture(e);
+        }
+        long start = System.nanoTime();
+        CompletableFuture<Response> request = timeoutPolicy.bound(endpoint, timeouts,
+                asyncEngine.get(endpoint, queryParams, headers, Duration.ofMillis(timeouts.getReadMillis())));
+        if (circuitBreaker == null) {
+            return request;
+        }
+        return request.whenComplete((response, error) -> circuitBreaker.onResult(endpoint, System.nanoTime() - start,
+                response != null ? response.getStatusCode() : 0, error instanceof CompletionException ? error.getCause() : error));
+    }
+
     public Response post(String endpoint, Object requestBody) {
         logger.info("Executing POST request to: {}", endpoint);
         return RestAssured.given()
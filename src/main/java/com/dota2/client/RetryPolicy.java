@@ -0,0 +1,302 @@
+package com.dota2.api.client;
+
+import com.dota2.api.config.ApiConfig;
+import io.restassured.response.Response;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Retry policy for idempotent GET requests.
+ * Retries 5xx, 429 and timeouts up to test.retry.count times with exponential backoff and
+ * full jitter. When hedging is enabled, a second attempt is sent if the first one has not
+ * answered within the p95 latency observed for its endpoint template; whichever answers
+ * first wins and the other one is cancelled.
+ */
+public class RetryPolicy {
+    private static final Logger logger = LogManager.getLogger(RetryPolicy.class);
+    private static final int STATUS_TOO_MANY_REQUESTS = 429;
+    private static final int STATUS_SERVER_ERROR = 500;
+
+    private final int maxRetries;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final boolean hedging;
+    private final double hedgingPercentile;
+    private final long hedgingMinDelayMillis;
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final ExecutorService hedgeExecutor;
+
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder hedgesSent = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+
+    public RetryPolicy(ApiConfig apiConfig) {
+        this.maxRetries = apiConfig.getRetryCount();
+        this.baseDelayMillis = apiConfig.getRetryBaseDelayMillis();
+        this.maxDelayMillis = apiConfig.getRetryMaxDelayMillis();
+        this.hedging = apiConfig.isHedgingEnabled();
+        this.hedgingPercentile = apiConfig.getHedgingPercentile();
+        this.hedgingMinDelayMillis = apiConfig.getHedgingMinDelayMillis();
+        AtomicInteger counter = new AtomicInteger();
+        this.hedgeExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "hedged-request-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs a blocking GET, retrying and hedging it according to the policy
+     * @param endpoint request path, used for logging and per-template latency tracking
+     * @param request sends one attempt; receives true when the attempt is a hedge
+     * @return the first successful response, or the last response/error once retries run out
+     */
+    public Response execute(String endpoint, Function<Boolean, Response> request) {
+        Deadline deadline = Deadline.current();
+        for (int attempt = 0; ; attempt++) {
+            Response response;
+            try {
+                response = hedging ? hedged(endpoint, request) : timed(endpoint, () -> request.apply(false));
+            } catch (Exception e) {
+                // Rest-Assured rethrows checked IOExceptions such as SocketTimeoutException undeclared
+                if (attempt >= maxRetries || !isRetryable(e) || !backOff(endpoint, attempt, e.getClass().getSimpleName(), deadline)) {
+                    throw e;
+                }
+                continue;
+            }
+            if (attempt >= maxRetries || !isRetryable(response.getStatusCode())
+                    || !backOff(endpoint, attempt, "status " + response.getStatusCode(), deadline)) {
+                return response;
+            }
+        }
+    }
+
+    /**
+     * Runs a non-blocking GET, retrying it according to the policy without parking a thread between attempts
+     * @param endpoint request path, used for logging
+     * @param request sends one attempt
+     * @return future completed with the first successful response, or the last response/error once retries run out
+     */
+    public CompletableFuture<Response> executeAsync(String endpoint, Supplier<CompletableFuture<Response>> request) {
+        return attemptAsync(endpoint, request, 0, Deadline.current());
+    }
+
+    public void logStats() {
+        logger.info("Retry policy: {} retries, {} hedged requests sent, {} won by the hedge",
+                retries.sum(), hedgesSent.sum(), hedgesWon.sum());
+    }
+
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    public long getHedgesSent() {
+        return hedgesSent.sum();
+    }
+
+    public long getHedgesWon() {
+        return hedgesWon.sum();
+    }
+
+    private CompletableFuture<Response> attemptAsync(String endpoint, Supplier<CompletableFuture<Response>> request,
+                                                     int attempt, Deadline deadline) {
+        long start = System.nanoTime();
+        return request.get().handle((response, error) -> {
+            if (error == null) {
+                record(endpoint, start);
+            }
+            boolean retryable = attempt < maxRetries
+                    && (error != null ? isRetryable(error) : isRetryable(response.getStatusCode()));
+            long delay = retryable ? backOffDelay(endpoint, attempt, error != null
+                    ? unwrap(error).getClass().getSimpleName() : "status " + response.getStatusCode(), deadline) : -1;
+            if (delay < 0) {
+                return error == null
+                        ? CompletableFuture.completedFuture(response)
+                        : CompletableFuture.<Response>failedFuture(unwrap(error));
+            }
+            return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                    .thenCompose(ignored -> attemptAsync(endpoint, request, attempt + 1, deadline));
+        }).thenCompose(Function.identity());
+    }
+
+    /**
+     * Runs the primary attempt on the calling thread, so it keeps the caller's thread-local state, and
+     * sends the hedge from another thread once the hedge delay has passed. Whichever answers first wins
+     * and the other is cancelled: a hedge not sent yet never goes out, one in flight has its connection
+     * shut down.
+     */
+    private Response hedged(String endpoint, Function<Boolean, Response> request) {
+        long hedgeDelay = hedgeDelayMillis(endpoint);
+        AttemptCancellation primary = new AttemptCancellation();
+        AttemptCancellation hedge = new AttemptCancellation();
+        CompletableFuture<Response> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+
+        CompletableFuture.runAsync(() -> {
+            Response response;
+            try {
+                response = hedge.run(() -> {
+                    hedgesSent.increment();
+                    logger.info("No answer from {} after {} ms, sending hedged request", endpoint, hedgeDelay);
+                    return timed(endpoint, () -> request.apply(true));
+                });
+            } catch (CancellationException e) {
+                return;
+            } catch (Exception e) {
+                complete(winner, null, e, failures, true, primary);
+                return;
+            }
+            complete(winner, response, null, failures, true, primary);
+        }, CompletableFuture.delayedExecutor(hedgeDelay, TimeUnit.MILLISECONDS, hedgeExecutor));
+
+        try {
+            Response response = primary.run(() -> timed(endpoint, () -> request.apply(false)));
+            complete(winner, response, null, failures, false, hedge);
+        } catch (Exception e) {
+            if (hedge.cancelIfNotStarted()) {
+                throw e;
+            }
+            complete(winner, null, e, failures, false, hedge);
+        }
+        try {
+            return winner.join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private void complete(CompletableFuture<Response> winner, Response response, Throwable error,
+                          AtomicInteger failures, boolean isHedge, AttemptCancellation other) {
+        if (error == null) {
+            if (winner.complete(response)) {
+                other.cancel();
+                if (isHedge) {
+                    hedgesWon.increment();
+                }
+            }
+        } else if (failures.incrementAndGet() == 2) {
+            winner.completeExceptionally(unwrap(error));
+        }
+    }
+
+    private Response timed(String endpoint, Supplier<Response> request) {
+        long start = System.nanoTime();
+        Response response = request.get();
+        record(endpoint, start);
+        return response;
+    }
+
+    private void record(String endpoint, long start) {
+        latencies.computeIfAbsent(EndpointTemplates.of(endpoint), t -> new LatencyWindow())
+                .add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private long hedgeDelayMillis(String endpoint) {
+        LatencyWindow window = latencies.get(EndpointTemplates.of(endpoint));
+        long percentile = window == null ? 0 : window.percentile(hedgingPercentile);
+        return Math.max(hedgingMinDelayMillis, percentile);
+    }
+
+    private boolean backOff(String endpoint, int attempt, String reason, Deadline deadline) {
+        long delay = backOffDelay(endpoint, attempt, reason, deadline);
+        if (delay < 0) {
+            return false;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off from " + endpoint, e);
+        }
+        return true;
+    }
+
+    /**
+     * Picks the delay before the next retry
+     * @return delay in milliseconds, or -1 when the deadline in scope would expire before the retry is sent
+     */
+    private long backOffDelay(String endpoint, int attempt, String reason, Deadline deadline) {
+        long ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt, 20));
+        long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        if (deadline != null && deadline.remainingMillis() <= delay) {
+            logger.warn("Not retrying GET {} after {}: deadline expires in {} ms", endpoint, reason, deadline.remainingMillis());
+            return -1;
+        }
+        retries.increment();
+        logger.warn("Retrying GET {} after {} (retry {}/{}) in {} ms", endpoint, reason, attempt + 1, maxRetries, delay);
+        return delay;
+    }
+
+    private static boolean isRetryable(int statusCode) {
+        return statusCode == STATUS_TOO_MANY_REQUESTS || statusCode >= STATUS_SERVER_ERROR;
+    }
+
+    private static boolean isRetryable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeadlineExceededException) {
+                return false;
+            }
+            if (cause instanceof SocketTimeoutException
+                    || cause instanceof ConnectTimeoutException
+                    || cause instanceof HttpTimeoutException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof RuntimeException ? (RuntimeException) cause : new CompletionException(cause);
+    }
+
+    /**
+     * Sliding window of the most recent latencies of one endpoint template
+     */
+    private static final class LatencyWindow {
+        private static final int SIZE = 128;
+        private static final int MIN_SAMPLES = 20;
+
+        private final long[] samples = new long[SIZE];
+        private int count;
+        private int next;
+
+        private synchronized void add(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % SIZE;
+            count = Math.min(count + 1, SIZE);
+        }
+
+        private synchronized long percentile(double percentile) {
+            if (count < MIN_SAMPLES) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.min(count - 1, Math.ceil(percentile * count) - 1)];
+        }
+    }
+}
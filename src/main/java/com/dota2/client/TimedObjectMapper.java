@@ -0,0 +1,33 @@
+package com.dota2.api.client;
+
+import io.restassured.internal.mapping.Jackson2Mapper;
+import io.restassured.mapper.ObjectMapper;
+import io.restassured.mapper.ObjectMapperDeserializationContext;
+import io.restassured.mapper.ObjectMapperSerializationContext;
+
+/**
+ * Rest-Assured's Jackson mapper on the shared {@link ModelMapper}, timing every response.as(...) as the DESERIALIZE phase
+ * of the last request completed on the calling thread. The mapping context does not say which
+ * response is being read, and tests map the response they have just received.
+ */
+final class TimedObjectMapper implements ObjectMapper {
+    private final ObjectMapper delegate = new Jackson2Mapper((type, charset) -> ModelMapper.getInstance().getObjectMapper());
+
+    @Override
+    public Object deserialize(ObjectMapperDeserializationContext context) {
+        long start = System.nanoTime();
+        try {
+            return delegate.deserialize(context);
+        } finally {
+            RequestTimings last = RequestTimings.last();
+            if (last != null) {
+                last.recordAfterCompletion(RequestTimings.Phase.DESERIALIZE, System.nanoTime() - start);
+            }
+        }
+    }
+
+    @Override
+    public Object serialize(ObjectMapperSerializationContext context) {
+        return delegate.serialize(context);
+    }
+}
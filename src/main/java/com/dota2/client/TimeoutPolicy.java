@@ -0,0 +1,294 @@
+package com.dota2.api.client;
+
+import com.dota2.api.config.ApiConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.http.HttpConnection;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.protocol.ExecutionContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Connect, read and total timeouts for every request, with per-endpoint overrides.
+ * Each request gets the configured timeouts of its endpoint template, capped by the time
+ * left on the {@link Deadline} in scope. The total timeout is enforced by a watchdog that
+ * shuts the connection down, since a read timeout alone does not bound a slow trickling body.
+ */
+public class TimeoutPolicy implements Filter {
+    private static final Logger logger = LogManager.getLogger(TimeoutPolicy.class);
+    private static final ThreadLocal<RequestTimeouts> CURRENT = new ThreadLocal<>();
+
+    private final ApiConfig apiConfig;
+    private final long connectMillis;
+    private final Map<String, Long> readMillisByTemplate = new ConcurrentHashMap<>();
+    private final Map<String, Long> totalMillisByTemplate = new ConcurrentHashMap<>();
+    private final Map<String, TimeoutCounts> countsByTemplate = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService watchdog;
+
+    public TimeoutPolicy(ApiConfig apiConfig) {
+        this.apiConfig = apiConfig;
+        this.connectMillis = TimeUnit.SECONDS.toMillis(apiConfig.getConnectTimeoutSeconds());
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-timeout-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String endpoint = requestSpec.getUserDefinedPath();
+        RequestTimeouts timeouts = timeoutsFor(endpoint);
+        CURRENT.set(timeouts);
+        try {
+            return ctx.next(requestSpec, responseSpec);
+        } catch (Exception e) {
+            if (timeouts.expired) {
+                throw expired(endpoint, timeouts, e);
+            }
+            record(endpoint, e);
+            throw e;
+        } finally {
+            timeouts.disarm();
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Gets the timeouts for a request about to be sent
+     * @param endpoint request path relative to the base URL
+     * @return timeouts of the endpoint template, capped by the deadline in scope
+     * @throws DeadlineExceededException when the deadline in scope has already expired
+     */
+    public RequestTimeouts timeoutsFor(String endpoint) {
+        String template = EndpointTemplates.of(endpoint);
+        long total = totalMillisByTemplate.computeIfAbsent(template,
+                t -> TimeUnit.SECONDS.toMillis(apiConfig.getRequestTimeoutSeconds(t)));
+        long read = readMillisByTemplate.computeIfAbsent(template,
+                t -> TimeUnit.SECONDS.toMillis(apiConfig.getReadTimeoutSeconds(t)));
+
+        Deadline deadline = Deadline.current();
+        boolean boundByDeadline = false;
+        if (deadline != null) {
+            long remaining = deadline.remainingMillis();
+            if (remaining <= 0) {
+                countsFor(endpoint).deadlines.increment();
+                throw new DeadlineExceededException("Deadline exceeded before sending request to " + endpoint);
+            }
+            if (remaining < total) {
+                total = remaining;
+                boundByDeadline = true;
+            }
+        }
+        return new RequestTimeouts(Math.min(connectMillis, total), Math.min(read, total), total, boundByDeadline);
+    }
+
+    /**
+     * Applies the total timeout to an async request and counts the timeouts it hits
+     * @param endpoint request path relative to the base URL
+     * @param timeouts timeouts from {@link #timeoutsFor}
+     * @param request request in flight
+     * @return future failing with a timeout or {@link DeadlineExceededException} once the total timeout has elapsed
+     */
+    public CompletableFuture<Response> bound(String endpoint, RequestTimeouts timeouts, CompletableFuture<Response> request) {
+        return request.orTimeout(timeouts.totalMillis, TimeUnit.MILLISECONDS).handle((response, error) -> {
+            if (error == null) {
+                return response;
+            }
+            Throwable cause = unwrap(error);
+            if (cause instanceof TimeoutException && timeouts.boundByDeadline) {
+                throw expired(endpoint, timeouts, cause);
+            }
+            record(endpoint, cause);
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new CompletionException(cause);
+        });
+    }
+
+    /**
+     * Arms the total-timeout watchdog once the blocking client has a connection for the request
+     * @return interceptor to register on the Apache HTTP client
+     */
+    public HttpRequestInterceptor watchdogInterceptor() {
+        return (request, context) -> {
+            RequestTimeouts timeouts = CURRENT.get();
+            Object connection = context.getAttribute(ExecutionContext.HTTP_CONNECTION);
+            if (timeouts != null && connection instanceof HttpConnection) {
+                timeouts.arm(watchdog, (HttpConnection) connection);
+            }
+        };
+    }
+
+    /**
+     * Gets the timeouts of the blocking request running on the calling thread
+     * @return current request timeouts, or null outside a request
+     */
+    static RequestTimeouts current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Gets the number of timeouts hit so far
+     * @return timeout counts per endpoint template
+     */
+    public Map<String, TimeoutCounts> getTimeoutCounts() {
+        return new TreeMap<>(countsByTemplate);
+    }
+
+    public void logStats() {
+        if (countsByTemplate.isEmpty()) {
+            logger.info("Timeouts: none");
+        }
+        getTimeoutCounts().forEach((template, counts) -> logger.info("Timeouts on {}: {}", template, counts));
+    }
+
+    private RuntimeException expired(String endpoint, RequestTimeouts timeouts, Throwable cause) {
+        if (timeouts.boundByDeadline) {
+            countsFor(endpoint).deadlines.increment();
+            return new DeadlineExceededException("Deadline exceeded after " + timeouts.totalMillis
+                    + " ms waiting for " + endpoint, cause);
+        }
+        countsFor(endpoint).totals.increment();
+        SocketTimeoutException timeout = new SocketTimeoutException("Request to " + endpoint
+                + " exceeded its total timeout of " + timeouts.totalMillis + " ms");
+        timeout.initCause(cause);
+        return new UncheckedIOException(timeout);
+    }
+
+    private void record(String endpoint, Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectTimeoutException || cause instanceof HttpConnectTimeoutException) {
+                countsFor(endpoint).connects.increment();
+                return;
+            }
+            if (cause instanceof SocketTimeoutException || cause instanceof HttpTimeoutException) {
+                countsFor(endpoint).reads.increment();
+                return;
+            }
+            if (cause instanceof TimeoutException) {
+                countsFor(endpoint).totals.increment();
+                return;
+            }
+        }
+    }
+
+    private TimeoutCounts countsFor(String endpoint) {
+        return countsByTemplate.computeIfAbsent(EndpointTemplates.of(endpoint), t -> new TimeoutCounts());
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * Timeouts applied to one request
+     */
+    public static final class RequestTimeouts {
+        private final long connectMillis;
+        private final long readMillis;
+        private final long totalMillis;
+        private final boolean boundByDeadline;
+        private final long expiresAtNanos;
+        private ScheduledFuture<?> watchdogTask;
+        private volatile boolean expired;
+
+        private RequestTimeouts(long connectMillis, long readMillis, long totalMillis, boolean boundByDeadline) {
+            this.connectMillis = connectMillis;
+            this.readMillis = readMillis;
+            this.totalMillis = totalMillis;
+            this.boundByDeadline = boundByDeadline;
+            this.expiresAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(totalMillis);
+        }
+
+        public int getConnectMillis() {
+            return (int) Math.min(Integer.MAX_VALUE, connectMillis);
+        }
+
+        public int getReadMillis() {
+            return (int) Math.min(Integer.MAX_VALUE, readMillis);
+        }
+
+        public long getTotalMillis() {
+            return totalMillis;
+        }
+
+        private synchronized void arm(ScheduledExecutorService watchdog, HttpConnection connection) {
+            if (watchdogTask != null) {
+                watchdogTask.cancel(false);
+            }
+            watchdogTask = watchdog.schedule(() -> {
+                expired = true;
+                try {
+                    connection.shutdown();
+                } catch (IOException e) {
+                    logger.debug("Error shutting down timed out connection: {}", e.getMessage());
+                }
+            }, expiresAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        private synchronized void disarm() {
+            if (watchdogTask != null) {
+                watchdogTask.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Timeouts hit on one endpoint template
+     */
+    public static final class TimeoutCounts {
+        private final LongAdder connects = new LongAdder();
+        private final LongAdder reads = new LongAdder();
+        private final LongAdder totals = new LongAdder();
+        private final LongAdder deadlines = new LongAdder();
+
+        public long getConnectTimeouts() {
+            return connects.sum();
+        }
+
+        public long getReadTimeouts() {
+            return reads.sum();
+        }
+
+        public long getTotalTimeouts() {
+            return totals.sum();
+        }
+
+        public long getDeadlinesExceeded() {
+            return deadlines.sum();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d connect, %d read, %d total timeouts, %d deadlines exceeded",
+                    getConnectTimeouts(), getReadTimeouts(), getTotalTimeouts(), getDeadlinesExceeded());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.dota2.api.client;
+
+/**
+ * Thrown by the typed GET methods of {@link RestClient} when the API does not answer with a
+ * 2xx status, instead of binding an error body into a model object.
+ */
+public class UnexpectedStatusException extends RuntimeException {
+    private final String endpoint;
+    private final int statusCode;
+
+    public UnexpectedStatusException(String endpoint, int statusCode, String statusLine) {
+        super("GET " + endpoint + " returned " + (statusLine != null ? statusLine : String.valueOf(statusCode)));
+        this.endpoint = endpoint;
+        this.statusCode = statusCode;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
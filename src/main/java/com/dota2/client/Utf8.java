@@ -0,0 +1,28 @@
+package com.dota2.api.client;
+
+/**
+ * Cuts UTF-8 bodies for logs and attachments without splitting a multi-byte character
+ */
+final class Utf8 {
+
+    private Utf8() {
+    }
+
+    /**
+     * Finds where to cut a UTF-8 body to keep at most a number of bytes
+     * @param body UTF-8 encoded body
+     * @param maxBytes most bytes to keep
+     * @return length of the longest prefix of at most maxBytes bytes that ends on a character boundary
+     */
+    static int cutLength(byte[] body, int maxBytes) {
+        if (body.length <= maxBytes) {
+            return body.length;
+        }
+        int end = Math.max(0, maxBytes);
+        // Continuation bytes are 10xxxxxx; back up to the first byte of the character the cap falls in
+        while (end > 0 && (body[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        return end;
+    }
+}
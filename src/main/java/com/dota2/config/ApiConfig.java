@@ -31,6 +31,7 @@ public class ApiConfig {
         try (InputStream inputStream = getClass().getResourceAsStream(CONFIG_FILE)) {
             if (inputStream != null) {
                 properties.load(inputStream);
+                applySystemPropertyOverrides();
                 logger.info("API configuration loaded successfully");
             } else {
                 logger.error("Unable to find config file: {}", CONFIG_FILE);
@@ -42,6 +43,19 @@ public class ApiConfig {
         }
     }
 
+    /**
+     * Lets -Dapi.* and -Dtest.* system properties override the config file,
+     * e.g. -Dapi.base.url=http://localhost:8080 to run against a local stub
+     */
+    private void applySystemPropertyOverrides() {
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith("api.") || key.startsWith("test.")) {
+                properties.setProperty(key, System.getProperty(key));
+                logger.info("Config property {} overridden by system property", key);
+            }
+        }
+    }
+
     public String getBaseUrl() {
         return properties.getProperty("api.base.url");
     }
@@ -50,6 +64,319 @@ public class ApiConfig {
         return Integer.parseInt(properties.getProperty("api.timeout.seconds", "30"));
     }
 
+    public int getConnectTimeoutSeconds() {
+        return Integer.parseInt(properties.getProperty("api.timeout.connect.seconds", "5"));
+    }
+
+    public int getReadTimeoutSeconds() {
+        return Integer.parseInt(properties.getProperty("api.timeout.read.seconds", String.valueOf(getDefaultTimeout())));
+    }
+
+    /**
+     * Gets the socket read timeout for an endpoint template
+     * @param endpointTemplate endpoint path with ids replaced by {id}, e.g. /matches/{id}
+     * @return read timeout in seconds, falling back to api.timeout.read.seconds
+     */
+    public int getReadTimeoutSeconds(String endpointTemplate) {
+        String defaultTimeout = String.valueOf(getReadTimeoutSeconds());
+        return Integer.parseInt(properties.getProperty("api.timeout.read.seconds." + endpointTemplate, defaultTimeout));
+    }
+
+    /**
+     * Gets the total time allowed for one request to an endpoint template
+     * @param endpointTemplate endpoint path with ids replaced by {id}, e.g. /matches/{id}
+     * @return total timeout in seconds, falling back to api.timeout.seconds
+     */
+    public int getRequestTimeoutSeconds(String endpointTemplate) {
+        String defaultTimeout = String.valueOf(getDefaultTimeout());
+        return Integer.parseInt(properties.getProperty("api.timeout.seconds." + endpointTemplate, defaultTimeout));
+    }
+
+    public int getAsyncThreads() {
+        return Integer.parseInt(properties.getProperty("api.async.threads", "4"));
+    }
+
+    public int getPoolMaxTotal() {
+        return Integer.parseInt(properties.getProperty("api.pool.max.total", "20"));
+    }
+
+    public int getPoolMaxPerRoute() {
+        return Integer.parseInt(properties.getProperty("api.pool.max.per.route", "10"));
+    }
+
+    public int getPoolIdleEvictionSeconds() {
+        return Integer.parseInt(properties.getProperty("api.pool.idle.eviction.seconds", "30"));
+    }
+
+    public boolean isPoolPrewarmEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("api.pool.prewarm.enabled", "false"));
+    }
+
+    public int getPoolPrewarmConnections() {
+        return Integer.parseInt(properties.getProperty("api.pool.prewarm.connections", "4"));
+    }
+
+    public int getHeroCatalogTtlSeconds() {
+        return Integer.parseInt(properties.getProperty("api.heroes.catalog.ttl.seconds", "3600"));
+    }
+
+    public boolean isCacheEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("api.cache.enabled", "false"));
+    }
+
+    public int getCacheMaxEntries() {
+        return Integer.parseInt(properties.getProperty("api.cache.max.entries", "256"));
+    }
+
+    public boolean isCacheRevalidationEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("api.cache.revalidate.enabled", "true"));
+    }
+
+    /**
+     * Gets the cache TTL for an endpoint template, e.g. api.cache.ttl.seconds./teams/{id},
+     * falling back to api.cache.ttl.seconds
+     * @param endpointTemplate endpoint template such as /heroes
+     * @return TTL in seconds, 0 disables caching for the endpoint
+     */
+    public int getCacheTtlSeconds(String endpointTemplate) {
+        String defaultTtl = properties.getProperty("api.cache.ttl.seconds", "60");
+        return Integer.parseInt(properties.getProperty("api.cache.ttl.seconds." + endpointTemplate, defaultTtl));
+    }
+
+    public boolean isCoalescingEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("api.coalescing.enabled", "true"));
+    }
+
+    public boolean isRateLimitEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("api.ratelimit.enabled", "true"));
+    }
+
+    public double getRateLimitRequestsPerSecond() {
+        return Double.parseDouble(properties.getProperty("api.ratelimit.requests.per.second", "1.0"));
+    }
+
+    public int getRateLimitBurst() {
+        return Integer.parseInt(properties.getProperty("api.ratelimit.burst", "60"));
+    }
+
+    public double getRateLimitRecoveryFactor() {
+        return Double.parseDouble(properties.getProperty("api.ratelimit.recovery.factor", "0.1"));
+    }
+
+    public boolean isCircuitBreakerEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("api.circuitbreaker.enabled", "true"));
+    }
+
+    public int getCircuitBreakerWindowSize() {
+        return Integer.parseInt(properties.getProperty("api.circuitbreaker.window.size", "20"));
+    }
+
+    public int getCircuitBreakerMinimumCalls() {
+        return Integer.parseInt(properties.getProperty("api.circuitbreaker.minimum.calls", "10"));
+    }
+
+    public double getCircuitBreakerFailureRateThreshold() {
+        return Double.parseDouble(properties.getProperty("api.circuitbreaker.failure.rate.threshold", "50"));
+    }
+
+    public long getCircuitBreakerSlowCallMillis() {
+        return Long.parseLong(properties.getProperty("api.circuitbreaker.slow.call.ms", "10000"));
+    }
+
+    public double getCircuitBreakerSlowCallRateThreshold() {
+        return Double.parseDouble(properties.getProperty("api.circuitbreaker.slow.call.rate.threshold", "80"));
+    }
+
+    public int getCircuitBreakerOpenSeconds() {
+        return Integer.parseInt(properties.getProperty("api.circuitbreaker.open.seconds", "30"));
+    }
+
+    public int getCircuitBreakerHalfOpenCalls() {
+        return Integer.parseInt(properties.getProperty("api.circuitbreaker.half.open.calls", "3"));
+    }
+
+    public int getRetryCount() {
+        return Integer.parseInt(properties.getProperty("test.retry.count", "0"));
+    }
+
+    public long getRetryBaseDelayMillis() {
+        return Long.parseLong(properties.getProperty("api.retry.base.delay.ms", "200"));
+    }
+
+    public long getRetryMaxDelayMillis() {
+        return Long.parseLong(properties.getProperty("api.retry.max.delay.ms", "5000"));
+    }
+
+    public boolean isHedgingEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("api.hedging.enabled", "false"));
+    }
+
+    public double getHedgingPercentile() {
+        return Double.parseDouble(properties.getProperty("api.hedging.percentile", "0.95"));
+    }
+
+    public long getHedgingMinDelayMillis() {
+        return Long.parseLong(properties.getProperty("api.hedging.min.delay.ms", "100"));
+    }
+
+    public boolean isStubEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("api.stub.enabled", "false"));
+    }
+
+    public int getStubPort() {
+        return Integer.parseInt(properties.getProperty("api.stub.port", "8089"));
+    }
+
+    public int getStubThreads() {
+        String defaultThreads = String.valueOf(Runtime.getRuntime().availableProcessors());
+        return Integer.parseInt(properties.getProperty("api.stub.threads", defaultThreads));
+    }
+
+    /**
+     * Threads validating the elements of large arrays against a schema
+     */
+    public int getSchemaParallelism() {
+        String defaultThreads = String.valueOf(Runtime.getRuntime().availableProcessors());
+        return Integer.parseInt(properties.getProperty("api.schema.parallelism", defaultThreads));
+    }
+
+    /**
+     * Array size from which the elements are validated in parallel instead of on the calling thread
+     */
+    public int getSchemaParallelThreshold() {
+        return Integer.parseInt(properties.getProperty("api.schema.parallel.threshold", "64"));
+    }
+
+    /**
+     * How RestClient logs requests: full (Rest-Assured's request dump on System.out) or compact
+     * (one log4j line per request, bodies cut and sampled)
+     */
+    public String getLogMode() {
+        return properties.getProperty("api.log.mode", "full");
+    }
+
+    public int getLogBodyMaxBytes() {
+        return Integer.parseInt(properties.getProperty("api.log.body.max.bytes", "2048"));
+    }
+
+    /**
+     * Compact log: bodies over the size cap are logged for one response in every N
+     */
+    public int getLogBodySampleEvery() {
+        return Integer.parseInt(properties.getProperty("api.log.body.sample.every", "10"));
+    }
+
+    /**
+     * Whether a response shaped like the last one validated for its endpoint skips the full schema validation.
+     * Off by default, since value constraints are then only checked when the structure changes
+     */
+    public boolean isSchemaSnapshotEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("api.schema.snapshot.enabled", "false"));
+    }
+
+    public String getSchemaSnapshotFile() {
+        return properties.getProperty("api.schema.snapshot.file", "target/contract-snapshots.json");
+    }
+
+    /**
+     * Share of responses a sampled schema check validates: one in every N
+     */
+    public int getSchemaSampleEvery() {
+        return Integer.parseInt(properties.getProperty("api.schema.sample.every", "10"));
+    }
+
+    /**
+     * Bytecode-generating Jackson module for the shared model mapper: none, afterburner or blackbird
+     */
+    public String getJsonModule() {
+        return properties.getProperty("api.json.module", "none");
+    }
+
+    public boolean isMetricsEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("api.metrics.enabled", "true"));
+    }
+
+    public String getMetricsDir() {
+        return properties.getProperty("api.metrics.dir", "target/metrics");
+    }
+
+    /**
+     * Whether each test gets a table of its requests' phase timings attached to its Allure result
+     */
+    public boolean isTimingAttachmentEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("api.metrics.timing.attachment.enabled", "true"));
+    }
+
+    public boolean isProxyEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("api.proxy.enabled", "false"));
+    }
+
+    public int getProxyPort() {
+        return Integer.parseInt(properties.getProperty("api.proxy.port", "8090"));
+    }
+
+    /**
+     * Gets the base URL the fault injection proxy forwards to
+     */
+    public String getProxyTarget() {
+        return properties.getProperty("api.proxy.target", "http://localhost:8089/api");
+    }
+
+    /**
+     * Gets a fault injection setting for an endpoint template, e.g. api.proxy.latency./matches/{id},
+     * falling back to the setting for every endpoint, e.g. api.proxy.latency
+     * @param name setting name without the api.proxy. prefix
+     * @param endpointTemplate endpoint template such as /heroes
+     * @param defaultValue value when neither is set
+     * @return setting value
+     */
+    public String getProxyFault(String name, String endpointTemplate, String defaultValue) {
+        String global = properties.getProperty("api.proxy." + name, defaultValue);
+        return properties.getProperty("api.proxy." + name + "." + endpointTemplate, global);
+    }
+
+    /**
+     * Gets the cassette mode: off, record, replay (cassette only, unknown requests fail) or auto
+     * (replay what was recorded, record the rest)
+     */
+    public String getCassetteMode() {
+        return properties.getProperty("api.cassette.mode", "off");
+    }
+
+    public String getCassetteDir() {
+        return properties.getProperty("api.cassette.dir", "src/test/resources/cassettes");
+    }
+
+    public String getCassetteName() {
+        return properties.getProperty("api.cassette.name", "opendota");
+    }
+
+    /**
+     * Gets when request/response attachments are added to the Allure results: off, failure (failed tests
+     * only) or always
+     */
+    public String getAllureAttachMode() {
+        return properties.getProperty("api.allure.attach.mode", "failure");
+    }
+
+    /**
+     * Gets the body size above which attachments show the start of the body only
+     */
+    public int getAllureAttachMaxBytes() {
+        return Integer.parseInt(properties.getProperty("api.allure.attach.max.bytes", "16384"));
+    }
+
+    /**
+     * Gets how many of its last requests a test keeps for its attachments
+     */
+    public int getAllureAttachMaxExchanges() {
+        return Integer.parseInt(properties.getProperty("api.allure.attach.max.exchanges", "20"));
+    }
+
+    public int getAllureAttachQueueSize() {
+        return Integer.parseInt(properties.getProperty("api.allure.attach.queue.size", "256"));
+    }
+
     public String getProperty(String key) {
         return properties.getProperty(key);
     }
@@ -0,0 +1,26 @@
+package com.dota2.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Model class for a single page of a larger result list
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Page<T> {
+    private List<T> items;
+    private int offset;
+    private int limit;
+    private int total;
+
+    public boolean hasNext() {
+        return offset + items.size() < total;
+    }
+}
@@ -0,0 +1,490 @@
+package com.dota2.stub;
+
+import com.dota2.api.client.EndpointTemplates;
+import com.dota2.api.config.ApiConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * HTTP/1.1 reverse proxy that sits between the client and an upstream (OpenDota or the
+ * {@link FixtureServer}) and degrades its responses according to the {@link FaultProfile}
+ * of each endpoint template: added latency, bandwidth caps, connection resets, truncated
+ * bodies and injected 429/5xx answers. It works on raw sockets so that a reset is a real
+ * TCP RST and a partial body is a real short read, as the client would see them in production.
+ * Connections are kept alive like a normal server, one worker thread per client connection.
+ */
+public class FaultInjectionProxy implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(FaultInjectionProxy.class);
+    private static final int MAX_HEADER_BYTES = 64 * 1024;
+    /** Bandwidth caps are enforced by pacing writes in slices of this many milliseconds */
+    private static final int PACING_SLICE_MILLIS = 50;
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-connection",
+            "transfer-encoding", "te", "trailer", "upgrade", "content-length", "host", "expect");
+
+    private final URI target;
+    private final Function<String, FaultProfile> profiles;
+    private final Map<String, FaultProfile> profileCache = new ConcurrentHashMap<>();
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor;
+    private final HttpClient upstream;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private volatile boolean running = true;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder delayed = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+    private final LongAdder partialBodies = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder upstreamFailures = new LongAdder();
+
+    /**
+     * Starts a proxy
+     * @param port port to listen on, 0 for any free port
+     * @param target base URL to forward to, e.g. http://localhost:8089/api
+     * @param profiles faults to inject by endpoint template, looked up once per template
+     * @throws IOException when the port cannot be bound
+     */
+    public FaultInjectionProxy(int port, String target, Function<String, FaultProfile> profiles) throws IOException {
+        this.target = URI.create(target.endsWith("/") ? target.substring(0, target.length() - 1) : target);
+        this.profiles = profiles;
+        this.upstream = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "fault-proxy-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(port), 1024);
+        executor.execute(this::acceptLoop);
+        logger.info("Fault injection proxy at {} forwarding to {}", getBaseUrl(), this.target);
+    }
+
+    /**
+     * Starts a proxy with the api.proxy.* settings
+     * @return running proxy
+     * @throws IOException when the port cannot be bound
+     */
+    public static FaultInjectionProxy start() throws IOException {
+        ApiConfig apiConfig = ApiConfig.getInstance();
+        return new FaultInjectionProxy(apiConfig.getProxyPort(), apiConfig.getProxyTarget(),
+                endpointTemplate -> FaultProfile.of(apiConfig, endpointTemplate));
+    }
+
+    /**
+     * Runs a proxy until the JVM is stopped, for pointing api.base.url at it from another process
+     * @param args optional port and target, default to api.proxy.port and api.proxy.target
+     */
+    public static void main(String[] args) throws IOException {
+        ApiConfig apiConfig = ApiConfig.getInstance();
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : apiConfig.getProxyPort();
+        String target = args.length > 1 ? args[1] : apiConfig.getProxyTarget();
+        FaultInjectionProxy proxy = new FaultInjectionProxy(port, target,
+                endpointTemplate -> FaultProfile.of(apiConfig, endpointTemplate));
+        Runtime.getRuntime().addShutdownHook(new Thread(proxy::close));
+        logger.info("Press Ctrl+C to stop the fault injection proxy");
+    }
+
+    /**
+     * Gets the URL to use as api.base.url, the proxy's address with the target's base path
+     */
+    public String getBaseUrl() {
+        return "http://localhost:" + getPort() + target.getRawPath();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getResetCount() {
+        return resets.sum();
+    }
+
+    public long getPartialBodyCount() {
+        return partialBodies.sum();
+    }
+
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    public void logStats() {
+        logger.info("Fault injection proxy: {} requests, {} delayed, {} reset, {} partial bodies, {} throttled (429), "
+                        + "{} injected errors, {} upstream failures",
+                requests.sum(), delayed.sum(), resets.sum(), partialBodies.sum(), throttled.sum(), errors.sum(),
+                upstreamFailures.sum());
+        profileCache.values().forEach(profile -> logger.info("Fault profile {}", profile));
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            logger.warn("Error closing the fault injection proxy socket: {}", e.getMessage());
+        }
+        for (Socket connection : connections) {
+            closeQuietly(connection);
+        }
+        executor.shutdownNow();
+        logStats();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket connection = serverSocket.accept();
+                connection.setTcpNoDelay(true);
+                connections.add(connection);
+                executor.execute(() -> serve(connection));
+            } catch (IOException e) {
+                if (running) {
+                    logger.warn("Fault injection proxy stopped accepting connections: {}", e.getMessage());
+                }
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket connection) {
+        try (connection) {
+            InputStream in = new BufferedInputStream(connection.getInputStream());
+            OutputStream out = connection.getOutputStream();
+            ProxyRequest request;
+            while (running && (request = ProxyRequest.read(in)) != null) {
+                if (!handle(request, connection, out) || request.closeRequested()) {
+                    return;
+                }
+            }
+        } catch (SocketException e) {
+            // The client went away, e.g. after its own read timeout on a delayed response
+        } catch (IOException e) {
+            logger.debug("Fault injection proxy connection failed: {}", e.getMessage());
+        } finally {
+            connections.remove(connection);
+        }
+    }
+
+    /**
+     * Answers one request, injecting the faults rolled for it
+     * @return false when the connection has been closed by an injected fault
+     */
+    private boolean handle(ProxyRequest request, Socket connection, OutputStream out) throws IOException {
+        requests.increment();
+        String relativePath = request.path().startsWith(target.getRawPath())
+                ? request.path().substring(target.getRawPath().length())
+                : request.path();
+        FaultProfile profile = profileCache.computeIfAbsent(EndpointTemplates.of(relativePath), profiles);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long delayMillis = profile.getLatency().sampleMillis(random);
+        if (delayMillis > 0) {
+            delayed.increment();
+            sleep(delayMillis);
+        }
+        if (random.nextDouble() < profile.getResetRate()) {
+            resets.increment();
+            reset(connection);
+            return false;
+        }
+        if (random.nextDouble() < profile.getThrottleRate()) {
+            throttled.increment();
+            writeResponse(out, 429, "Too Many Requests",
+                    List.<String[]>of(new String[] {"Retry-After", String.valueOf(profile.getThrottleRetryAfterSeconds())}),
+                    "{\"error\":\"rate limit exceeded\"}".getBytes(StandardCharsets.UTF_8), request.isHead(), profile);
+            return true;
+        }
+        if (random.nextDouble() < profile.getErrorRate()) {
+            errors.increment();
+            writeResponse(out, profile.getErrorStatus(), "Injected Fault", List.of(),
+                    "{\"error\":\"injected fault\"}".getBytes(StandardCharsets.UTF_8), request.isHead(), profile);
+            return true;
+        }
+
+        HttpResponse<byte[]> response;
+        try {
+            response = forward(request);
+        } catch (IOException e) {
+            upstreamFailures.increment();
+            writeResponse(out, 502, "Bad Gateway", List.of(),
+                    ("{\"error\":\"upstream failed: " + e.getClass().getSimpleName() + "\"}").getBytes(StandardCharsets.UTF_8),
+                    request.isHead(), profile);
+            return true;
+        }
+        List<String[]> headers = new ArrayList<>();
+        response.headers().map().forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT)) && !name.startsWith(":")) {
+                values.forEach(value -> headers.add(new String[] {name, value}));
+            }
+        });
+        byte[] body = response.body();
+        if (!request.isHead() && body.length > 0 && random.nextDouble() < profile.getPartialBodyRate()) {
+            // Announces the full length, sends a prefix and hangs up, like an upstream dying mid-response
+            partialBodies.increment();
+            writeHead(out, response.statusCode(), reasonPhrase(response.statusCode()), headers, body.length);
+            writePaced(out, body, random.nextInt(body.length), profile.getBandwidthBytesPerSecond());
+            out.flush();
+            connection.shutdownOutput();
+            return false;
+        }
+        writeResponse(out, response.statusCode(), reasonPhrase(response.statusCode()), headers, body, request.isHead(), profile);
+        return true;
+    }
+
+    private HttpResponse<byte[]> forward(ProxyRequest request) throws IOException {
+        URI uri = URI.create(target.getScheme() + "://" + target.getRawAuthority() + request.target());
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(60))
+                .method(request.method(), request.body().length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(request.body()));
+        for (String[] header : request.headers()) {
+            if (!HOP_BY_HOP_HEADERS.contains(header[0].toLowerCase(Locale.ROOT))) {
+                builder.header(header[0], header[1]);
+            }
+        }
+        try {
+            return upstream.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while forwarding " + request.target(), e);
+        }
+    }
+
+    private static void writeResponse(OutputStream out, int status, String reason, List<String[]> headers,
+                                      byte[] body, boolean head, FaultProfile profile) throws IOException {
+        writeHead(out, status, reason, headers, body.length);
+        if (!head) {
+            writePaced(out, body, body.length, profile.getBandwidthBytesPerSecond());
+        }
+        out.flush();
+    }
+
+    private static void writeHead(OutputStream out, int status, String reason, List<String[]> headers,
+                                  int contentLength) throws IOException {
+        StringBuilder head = new StringBuilder(256)
+                .append("HTTP/1.1 ").append(status).append(' ').append(reason).append("\r\n");
+        boolean contentType = false;
+        for (String[] header : headers) {
+            head.append(header[0]).append(": ").append(header[1]).append("\r\n");
+            contentType |= "content-type".equalsIgnoreCase(header[0]);
+        }
+        if (!contentType) {
+            head.append("Content-Type: application/json; charset=utf-8\r\n");
+        }
+        head.append("Content-Length: ").append(contentLength).append("\r\n\r\n");
+        out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Writes the first length bytes of a body, in slices paced to the bandwidth cap
+     * @param bytesPerSecond bandwidth cap, 0 for no cap
+     */
+    private static void writePaced(OutputStream out, byte[] body, int length, long bytesPerSecond) throws IOException {
+        if (bytesPerSecond <= 0) {
+            out.write(body, 0, length);
+            return;
+        }
+        int slice = (int) Math.max(1, bytesPerSecond * PACING_SLICE_MILLIS / 1000);
+        long start = System.nanoTime();
+        for (int sent = 0; sent < length; ) {
+            int size = Math.min(slice, length - sent);
+            out.write(body, sent, size);
+            out.flush();
+            sent += size;
+            long dueNanos = start + TimeUnit.SECONDS.toNanos(sent) / bytesPerSecond;
+            long waitNanos = dueNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                sleep(TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            }
+        }
+    }
+
+    private static String reasonPhrase(int status) {
+        switch (status) {
+            case 200: return "OK";
+            case 304: return "Not Modified";
+            case 400: return "Bad Request";
+            case 404: return "Not Found";
+            case 405: return "Method Not Allowed";
+            case 429: return "Too Many Requests";
+            case 500: return "Internal Server Error";
+            case 502: return "Bad Gateway";
+            case 503: return "Service Unavailable";
+            default: return status < 400 ? "OK" : "Error";
+        }
+    }
+
+    /**
+     * Closes a connection with a TCP RST instead of a FIN
+     */
+    private static void reset(Socket connection) throws IOException {
+        connection.setSoLinger(true, 0);
+        connection.close();
+    }
+
+    private static void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while injecting latency", e);
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Closing anyway
+        }
+    }
+
+    /**
+     * HTTP/1.1 request read off a client connection
+     */
+    private static final class ProxyRequest {
+        private final String method;
+        private final String target;
+        private final List<String[]> headers;
+        private final byte[] body;
+
+        private ProxyRequest(String method, String target, List<String[]> headers, byte[] body) {
+            this.method = method;
+            this.target = target;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        /**
+         * Reads the next request of a connection
+         * @return request, or null when the client closed the connection
+         */
+        static ProxyRequest read(InputStream in) throws IOException {
+            String requestLine = readLine(in);
+            while (requestLine != null && requestLine.isEmpty()) {
+                requestLine = readLine(in);
+            }
+            if (requestLine == null) {
+                return null;
+            }
+            String[] parts = requestLine.split(" ");
+            if (parts.length != 3) {
+                throw new IOException("Malformed request line: " + requestLine);
+            }
+            List<String[]> headers = new ArrayList<>();
+            int contentLength = 0;
+            for (String line = readLine(in); line != null && !line.isEmpty(); line = readLine(in)) {
+                int colon = line.indexOf(':');
+                if (colon <= 0) {
+                    throw new IOException("Malformed header: " + line);
+                }
+                String name = line.substring(0, colon).trim();
+                String value = line.substring(colon + 1).trim();
+                if ("content-length".equalsIgnoreCase(name)) {
+                    contentLength = Integer.parseInt(value);
+                }
+                headers.add(new String[] {name, value});
+            }
+            return new ProxyRequest(parts[0], parts[1], headers, in.readNBytes(contentLength));
+        }
+
+        private static String readLine(InputStream in) throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b == '\n') {
+                    int length = line.size();
+                    byte[] bytes = line.toByteArray();
+                    return new String(bytes, 0, length > 0 && bytes[length - 1] == '\r' ? length - 1 : length,
+                            StandardCharsets.ISO_8859_1);
+                }
+                if (line.size() >= MAX_HEADER_BYTES) {
+                    throw new IOException("Request header too large");
+                }
+                line.write(b);
+            }
+            return line.size() == 0 ? null : line.toString(StandardCharsets.ISO_8859_1);
+        }
+
+        String method() {
+            return method;
+        }
+
+        /**
+         * Gets the request target as sent, path and query string
+         */
+        String target() {
+            return target;
+        }
+
+        String path() {
+            int query = target.indexOf('?');
+            return query >= 0 ? target.substring(0, query) : target;
+        }
+
+        List<String[]> headers() {
+            return headers;
+        }
+
+        byte[] body() {
+            return body;
+        }
+
+        boolean isHead() {
+            return "HEAD".equals(method);
+        }
+
+        boolean closeRequested() {
+            for (String[] header : headers) {
+                if ("connection".equalsIgnoreCase(header[0]) && "close".equalsIgnoreCase(header[1])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
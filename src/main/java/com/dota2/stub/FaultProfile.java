@@ -0,0 +1,106 @@
+package com.dota2.stub;
+
+import com.dota2.api.config.ApiConfig;
+
+/**
+ * Faults the {@link FaultInjectionProxy} injects into the responses of one endpoint template,
+ * read from the api.proxy.* settings. Each setting can be overridden per template by
+ * appending it, e.g. api.proxy.latency./matches/{id}=lognormal:400,0.8.
+ * Rates are probabilities between 0 and 1, rolled independently for every request.
+ */
+public final class FaultProfile {
+    private final String endpointTemplate;
+    private final LatencyDistribution latency;
+    private final long bandwidthBytesPerSecond;
+    private final double resetRate;
+    private final double partialBodyRate;
+    private final double throttleRate;
+    private final int throttleRetryAfterSeconds;
+    private final double errorRate;
+    private final int errorStatus;
+
+    public FaultProfile(String endpointTemplate, LatencyDistribution latency, long bandwidthBytesPerSecond,
+                        double resetRate, double partialBodyRate, double throttleRate, int throttleRetryAfterSeconds,
+                        double errorRate, int errorStatus) {
+        this.endpointTemplate = endpointTemplate;
+        this.latency = latency;
+        this.bandwidthBytesPerSecond = bandwidthBytesPerSecond;
+        this.resetRate = rate("reset", resetRate);
+        this.partialBodyRate = rate("partial body", partialBodyRate);
+        this.throttleRate = rate("throttle", throttleRate);
+        this.throttleRetryAfterSeconds = throttleRetryAfterSeconds;
+        this.errorRate = rate("error", errorRate);
+        this.errorStatus = errorStatus;
+    }
+
+    /**
+     * Reads the profile of an endpoint template from the configuration
+     * @param apiConfig configuration holding the api.proxy.* settings
+     * @param endpointTemplate endpoint template such as /players/{id}
+     * @return faults to inject for the endpoint
+     */
+    public static FaultProfile of(ApiConfig apiConfig, String endpointTemplate) {
+        return new FaultProfile(endpointTemplate,
+                LatencyDistribution.parse(apiConfig.getProxyFault("latency", endpointTemplate, "0")),
+                Long.parseLong(apiConfig.getProxyFault("bandwidth.kbps", endpointTemplate, "0")) * 1024 / 8,
+                Double.parseDouble(apiConfig.getProxyFault("reset.rate", endpointTemplate, "0")),
+                Double.parseDouble(apiConfig.getProxyFault("partial.rate", endpointTemplate, "0")),
+                Double.parseDouble(apiConfig.getProxyFault("throttle.rate", endpointTemplate, "0")),
+                Integer.parseInt(apiConfig.getProxyFault("throttle.retry.after.seconds", endpointTemplate, "1")),
+                Double.parseDouble(apiConfig.getProxyFault("error.rate", endpointTemplate, "0")),
+                Integer.parseInt(apiConfig.getProxyFault("error.status", endpointTemplate, "503")));
+    }
+
+    private static double rate(String name, double value) {
+        if (value < 0 || value > 1) {
+            throw new IllegalArgumentException("The " + name + " rate must be between 0 and 1: " + value);
+        }
+        return value;
+    }
+
+    public String getEndpointTemplate() {
+        return endpointTemplate;
+    }
+
+    public LatencyDistribution getLatency() {
+        return latency;
+    }
+
+    /**
+     * Gets the bandwidth cap
+     * @return bytes per second, 0 for no cap
+     */
+    public long getBandwidthBytesPerSecond() {
+        return bandwidthBytesPerSecond;
+    }
+
+    public double getResetRate() {
+        return resetRate;
+    }
+
+    public double getPartialBodyRate() {
+        return partialBodyRate;
+    }
+
+    public double getThrottleRate() {
+        return throttleRate;
+    }
+
+    public int getThrottleRetryAfterSeconds() {
+        return throttleRetryAfterSeconds;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public int getErrorStatus() {
+        return errorStatus;
+    }
+
+    @Override
+    public String toString() {
+        return endpointTemplate + " {latency=" + latency + ", bandwidth=" + bandwidthBytesPerSecond + " B/s, reset="
+                + resetRate + ", partial=" + partialBodyRate + ", 429=" + throttleRate + ", " + errorStatus + "=" + errorRate + "}";
+    }
+}
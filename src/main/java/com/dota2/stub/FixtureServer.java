@@ -0,0 +1,206 @@
+package com.dota2.stub;
+
+import com.dota2.api.config.ApiConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Local stand-in for the OpenDota API, serving the synthetic payloads under /fixtures,
+ * hand-written in the shape of OpenDota's responses.
+ * GET /api/{path} is answered with fixtures/{path}.json, ignoring the query string. A path without
+ * a fixture of its own gets the _default.json of its directory when there is one, e.g. teams/_default.json,
+ * and a 404 otherwise, as OpenDota answers for unknown ids.
+ * Every fixture is read into memory at startup and served by the JDK's NIO-based HTTP server,
+ * so the stub is not the bottleneck when benchmarking the client stack.
+ */
+public class FixtureServer implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(FixtureServer.class);
+    public static final String BASE_PATH = "/api";
+    private static final String FIXTURES_PATH = "/fixtures";
+    private static final String FIXTURE_EXTENSION = ".json";
+    private static final String DEFAULT_FIXTURE = "_default";
+    private static final String CONTENT_TYPE = "application/json; charset=utf-8";
+    private static final byte[] NOT_FOUND = "{\"error\":\"Not Found\"}".getBytes(StandardCharsets.UTF_8);
+
+    static {
+        // Without TCP_NODELAY small responses wait on delayed ACKs, adding ~40 ms to every request
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final Map<String, byte[]> fixtures;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder notFound = new LongAdder();
+
+    /**
+     * Starts a server
+     * @param port port to listen on, 0 for any free port
+     * @param threads worker threads answering requests
+     * @throws IOException when the port cannot be bound
+     */
+    public FixtureServer(int port, int threads) throws IOException {
+        this.fixtures = loadFixtures();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "fixture-server-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+        server.setExecutor(executor);
+        server.createContext(BASE_PATH, this::handle);
+        server.start();
+        logger.info("Fixture server serving {} fixtures at {}", fixtures.size(), getBaseUrl());
+    }
+
+    /**
+     * Starts a server with the api.stub.* settings
+     * @return running server
+     * @throws IOException when the port cannot be bound
+     */
+    public static FixtureServer start() throws IOException {
+        ApiConfig apiConfig = ApiConfig.getInstance();
+        return new FixtureServer(apiConfig.getStubPort(), apiConfig.getStubThreads());
+    }
+
+    /**
+     * Runs a server until the JVM is stopped, for pointing api.base.url at it from another process
+     * @param args optional port, defaults to api.stub.port
+     */
+    public static void main(String[] args) throws IOException {
+        ApiConfig apiConfig = ApiConfig.getInstance();
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : apiConfig.getStubPort();
+        FixtureServer server = new FixtureServer(port, apiConfig.getStubThreads());
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        logger.info("Press Ctrl+C to stop the fixture server");
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + getPort() + BASE_PATH;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getNotFoundCount() {
+        return notFound.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        logger.info("Fixture server stopped after {} requests, {} not found", requests.sum(), notFound.sum());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            String path = exchange.getRequestURI().getPath().substring(BASE_PATH.length());
+            byte[] body = resolve(path);
+            int status = 200;
+            if (body == null) {
+                notFound.increment();
+                body = NOT_FOUND;
+                status = 404;
+            }
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private byte[] resolve(String path) {
+        String key = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        byte[] body = fixtures.get(key);
+        if (body != null) {
+            return body;
+        }
+        int slash = key.lastIndexOf('/');
+        return slash < 0 ? null : fixtures.get(key.substring(0, slash + 1) + DEFAULT_FIXTURE);
+    }
+
+    /**
+     * Reads every fixture on the classpath, from a directory or a jar
+     * @return fixture bytes by request path, e.g. /matches/7487603797
+     */
+    private static Map<String, byte[]> loadFixtures() throws IOException {
+        URL root = FixtureServer.class.getResource(FIXTURES_PATH);
+        if (root == null) {
+            throw new IllegalStateException("Fixture directory not found on the classpath: " + FIXTURES_PATH);
+        }
+        URI uri;
+        try {
+            uri = root.toURI();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Invalid fixture directory: " + root, e);
+        }
+        if ("jar".equals(uri.getScheme())) {
+            try (FileSystem jar = FileSystems.newFileSystem(uri, Collections.emptyMap())) {
+                return loadFixtures(jar.getPath(FIXTURES_PATH));
+            }
+        }
+        return loadFixtures(Path.of(uri));
+    }
+
+    private static Map<String, byte[]> loadFixtures(Path directory) throws IOException {
+        Map<String, byte[]> loaded = new HashMap<>();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(file -> file.toString().endsWith(FIXTURE_EXTENSION)).forEach(file -> {
+                String relative = directory.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+                String path = "/" + relative.substring(0, relative.length() - FIXTURE_EXTENSION.length());
+                try {
+                    loaded.put(path, Files.readAllBytes(file));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Error reading fixture " + file, e);
+                }
+            });
+        }
+        return Collections.unmodifiableMap(loaded);
+    }
+}
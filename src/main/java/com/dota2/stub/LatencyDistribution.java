@@ -0,0 +1,113 @@
+package com.dota2.stub;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Random delay added by the {@link FaultInjectionProxy}, parsed from a spec such as lognormal:80,0.6.
+ * Supported specs, all values in milliseconds:
+ * <ul>
+ *   <li>0, or an empty spec: no delay</li>
+ *   <li>fixed:100, or just 100</li>
+ *   <li>uniform:50,200 (min, max)</li>
+ *   <li>normal:100,30 (mean, standard deviation), clamped at 0</li>
+ *   <li>exponential:100 (mean)</li>
+ *   <li>lognormal:80,0.6 (median, sigma of the underlying normal), the usual shape of service latency</li>
+ *   <li>pareto:50,1.5 (minimum, shape), heavy tail: the lower the shape, the longer the tail</li>
+ * </ul>
+ * Any spec may end with ;max=5000 to cap the sampled delay.
+ */
+public final class LatencyDistribution {
+    public static final LatencyDistribution NONE = new LatencyDistribution("0", Kind.FIXED, 0, 0, Double.MAX_VALUE);
+
+    private enum Kind { FIXED, UNIFORM, NORMAL, EXPONENTIAL, LOGNORMAL, PARETO }
+
+    private final String spec;
+    private final Kind kind;
+    private final double first;
+    private final double second;
+    private final double maxMillis;
+
+    private LatencyDistribution(String spec, Kind kind, double first, double second, double maxMillis) {
+        this.spec = spec;
+        this.kind = kind;
+        this.first = first;
+        this.second = second;
+        this.maxMillis = maxMillis;
+    }
+
+    /**
+     * Parses a distribution spec
+     * @param spec e.g. uniform:50,200 or lognormal:80,0.6;max=5000
+     * @return distribution
+     * @throws IllegalArgumentException when the spec is malformed
+     */
+    public static LatencyDistribution parse(String spec) {
+        String trimmed = spec == null ? "" : spec.trim();
+        if (trimmed.isEmpty() || "0".equals(trimmed)) {
+            return NONE;
+        }
+        double maxMillis = Double.MAX_VALUE;
+        String body = trimmed;
+        int options = trimmed.indexOf(';');
+        if (options >= 0) {
+            String option = trimmed.substring(options + 1).trim();
+            if (!option.startsWith("max=")) {
+                throw new IllegalArgumentException("Unknown latency option '" + option + "' in " + spec);
+            }
+            maxMillis = Double.parseDouble(option.substring(4));
+            body = trimmed.substring(0, options).trim();
+        }
+        int colon = body.indexOf(':');
+        Kind kind = colon < 0 ? Kind.FIXED : Kind.valueOf(body.substring(0, colon).trim().toUpperCase(Locale.ROOT));
+        String[] values = (colon < 0 ? body : body.substring(colon + 1)).split(",");
+        int expected = kind == Kind.FIXED || kind == Kind.EXPONENTIAL ? 1 : 2;
+        if (values.length != expected) {
+            throw new IllegalArgumentException("Latency spec " + spec + " needs " + expected + " value(s)");
+        }
+        double first = Double.parseDouble(values[0].trim());
+        double second = expected == 2 ? Double.parseDouble(values[1].trim()) : 0;
+        if (first < 0 || second < 0 || (kind == Kind.PARETO && (first == 0 || second == 0))) {
+            throw new IllegalArgumentException("Invalid latency spec " + spec);
+        }
+        return new LatencyDistribution(trimmed, kind, first, second, maxMillis);
+    }
+
+    /**
+     * Draws a delay
+     * @param random source of randomness
+     * @return delay in milliseconds, 0 or more
+     */
+    public long sampleMillis(Random random) {
+        double millis;
+        switch (kind) {
+            case UNIFORM:
+                millis = first + random.nextDouble() * Math.max(0, second - first);
+                break;
+            case NORMAL:
+                millis = first + random.nextGaussian() * second;
+                break;
+            case EXPONENTIAL:
+                millis = -first * Math.log(1 - random.nextDouble());
+                break;
+            case LOGNORMAL:
+                millis = first * Math.exp(random.nextGaussian() * second);
+                break;
+            case PARETO:
+                millis = first / Math.pow(1 - random.nextDouble(), 1 / second);
+                break;
+            default:
+                millis = first;
+        }
+        return Math.round(Math.max(0, Math.min(millis, maxMillis)));
+    }
+
+    public boolean isNone() {
+        return this == NONE;
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+}
@@ -0,0 +1,210 @@
+package com.dota2.utils;
+
+import com.dota2.api.client.ModelMapper;
+import com.dota2.api.config.ApiConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Structural fingerprints of the responses last found valid against a schema, per endpoint template.
+ * A fingerprint covers key sets and value types, not values, so a response with the same shape as the
+ * last validated one can skip the full schema validation; any drift, or a change to the schema file
+ * itself, goes back to validating in full. Value constraints such as enum or minimum are therefore
+ * only checked when the shape changes. The snapshots are kept in api.schema.snapshot.file across runs.
+ */
+public final class ContractSnapshots {
+    private static final Logger logger = LogManager.getLogger(ContractSnapshots.class);
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long OBJECT = 0x4f424a454354L;
+    private static final long ARRAY = 0x4152524159L;
+    private static ContractSnapshots instance;
+
+    private final Path file;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicBoolean changed = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder drifts = new LongAdder();
+
+    ContractSnapshots(Path file) {
+        this.file = file;
+        load();
+    }
+
+    public static synchronized ContractSnapshots getInstance() {
+        if (instance == null) {
+            instance = new ContractSnapshots(Path.of(ApiConfig.getInstance().getSchemaSnapshotFile()));
+        }
+        return instance;
+    }
+
+    /**
+     * Computes the structural fingerprint of a document: object key sets and value types, ignoring
+     * values, key order and how often each element shape repeats within an array
+     * @param document parsed document
+     * @return 64-bit fingerprint, equal for documents of the same shape
+     */
+    public static long fingerprint(JsonNode document) {
+        if (document.isObject()) {
+            long members = 0;
+            Iterator<Map.Entry<String, JsonNode>> fields = document.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                // Summing keeps the fingerprint independent of key order
+                members += mix(hash(field.getKey()) * FNV_PRIME + fingerprint(field.getValue()));
+            }
+            return mix(OBJECT * FNV_PRIME + members);
+        }
+        if (document.isArray()) {
+            Set<Long> shapes = new HashSet<>();
+            long elements = 0;
+            for (JsonNode element : document) {
+                long shape = fingerprint(element);
+                if (shapes.add(shape)) {
+                    elements += mix(shape);
+                }
+            }
+            return mix(ARRAY * FNV_PRIME + elements);
+        }
+        return hash(typeOf(document));
+    }
+
+    /**
+     * Tells whether a document has the shape last validated for a key, against the same schema
+     * @param key endpoint template and schema file name
+     * @param schemaDigest digest of the schema file, see {@link SchemaRegistry#digest}
+     * @param fingerprint fingerprint of the document
+     * @return true when the full validation can be skipped
+     */
+    public boolean matches(String key, String schemaDigest, long fingerprint) {
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot != null && snapshot.fingerprint == fingerprint && snapshot.schemaDigest.equals(schemaDigest)) {
+            hits.increment();
+            return true;
+        }
+        if (snapshot == null) {
+            misses.increment();
+        } else {
+            drifts.increment();
+            logger.info("Response shape of {} drifted from the last validated one, validating in full", key);
+        }
+        return false;
+    }
+
+    /**
+     * Keeps the fingerprint of a document that passed the full validation
+     */
+    public void record(String key, String schemaDigest, long fingerprint) {
+        Snapshot previous = snapshots.put(key, new Snapshot(fingerprint, schemaDigest));
+        if (previous == null || previous.fingerprint != fingerprint || !previous.schemaDigest.equals(schemaDigest)) {
+            changed.set(true);
+        }
+    }
+
+    /**
+     * Writes the snapshots to api.schema.snapshot.file when they changed, logging instead of failing
+     */
+    public void flush() {
+        if (!changed.getAndSet(false)) {
+            return;
+        }
+        ObjectMapper mapper = ModelMapper.getInstance().getObjectMapper();
+        ObjectNode root = mapper.createObjectNode();
+        new TreeMap<>(snapshots).forEach((key, snapshot) -> root.putObject(key)
+                .put("shape", Long.toHexString(snapshot.fingerprint))
+                .put("schema", snapshot.schemaDigest));
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "contract-snapshots", ".tmp");
+            mapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), root);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Contract snapshots for {} endpoints written to {}", snapshots.size(), file.toAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("Could not write contract snapshots to {}: {}", file, e.getMessage());
+        }
+    }
+
+    public void logStats() {
+        logger.info("Contract snapshots: {} validations skipped, {} new shapes, {} drifts",
+                hits.sum(), misses.sum(), drifts.sum());
+    }
+
+    static long hash(CharSequence text) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try {
+            JsonNode root = ModelMapper.getInstance().getObjectMapper().readTree(file.toFile());
+            root.fields().forEachRemaining(entry -> snapshots.put(entry.getKey(), new Snapshot(
+                    Long.parseUnsignedLong(entry.getValue().path("shape").asText(), 16),
+                    entry.getValue().path("schema").asText())));
+            logger.info("Loaded contract snapshots for {} endpoints from {}", snapshots.size(), file);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable contract snapshots {}: {}", file, e.getMessage());
+            snapshots.clear();
+        }
+    }
+
+    private static String typeOf(JsonNode value) {
+        if (value.isTextual()) {
+            return "string";
+        }
+        if (value.isIntegralNumber()) {
+            return "integer";
+        }
+        if (value.isNumber()) {
+            return "number";
+        }
+        if (value.isBoolean()) {
+            return "boolean";
+        }
+        return value.isNull() ? "null" : value.getNodeType().name();
+    }
+
+    /**
+     * Finalizer of MurmurHash3, spreading the bits of the sums above
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb93fe53a87fbL;
+        return value ^ (value >>> 33);
+    }
+
+    private static final class Snapshot {
+        private final long fingerprint;
+        private final String schemaDigest;
+
+        private Snapshot(long fingerprint, String schemaDigest) {
+            this.fingerprint = fingerprint;
+            this.schemaDigest = schemaDigest;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.dota2.utils;
+
+import com.dota2.model.Page;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterator that fetches pages lazily, one page per call to {@link #next()}.
+ */
+public class PageIterator<T> implements Iterator<Page<T>> {
+    private final int pageSize;
+    private final BiFunction<Integer, Integer, Page<T>> pageFetcher;
+    private Page<T> lastPage;
+
+    /**
+     * @param pageSize number of items per page
+     * @param pageFetcher function receiving (limit, offset) and returning that page
+     */
+    public PageIterator(int pageSize, BiFunction<Integer, Integer, Page<T>> pageFetcher) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        this.pageSize = pageSize;
+        this.pageFetcher = pageFetcher;
+    }
+
+    /**
+     * Streams pages lazily; only the pages actually consumed are fetched
+     * @param pageSize number of items per page
+     * @param pageFetcher function receiving (limit, offset) and returning that page
+     * @return sequential stream of pages
+     */
+    public static <T> Stream<Page<T>> stream(int pageSize, BiFunction<Integer, Integer, Page<T>> pageFetcher) {
+        Iterator<Page<T>> iterator = new PageIterator<>(pageSize, pageFetcher);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return lastPage == null || (lastPage.hasNext() && !lastPage.getItems().isEmpty());
+    }
+
+    @Override
+    public Page<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more pages");
+        }
+        int offset = lastPage == null ? 0 : lastPage.getOffset() + lastPage.getItems().size();
+        lastPage = pageFetcher.apply(pageSize, offset);
+        return lastPage;
+    }
+}
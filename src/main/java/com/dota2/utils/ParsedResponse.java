@@ -0,0 +1,370 @@
+package com.dota2.utils;
+
+import com.dota2.api.client.ModelMapper;
+import com.dota2.api.client.RequestTimings;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.restassured.internal.path.json.JSONAssertion;
+import io.restassured.response.Response;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON body of a response, parsed once and shared by every assertion, path lookup and typed
+ * extraction made through it. response.then().body(...) and response.jsonPath() parse the whole
+ * body again on every call, which adds up for the list endpoints.
+ * Simple paths such as "size()", "[0]", "profile.account_id" or "team_id" (collected from every
+ * element of a list, as in GPath) are walked on the parsed tree; any other GPath expression,
+ * e.g. "every { it.containsKey('id') }", is handed to Rest-Assured on a copy of the tree built once.
+ * Values come back with the same types as response.jsonPath() returns them.
+ */
+public final class ParsedResponse {
+    private static final ObjectMapper MAPPER = ModelMapper.getInstance().getObjectMapper();
+    private static final Map<Response, ParsedResponse> PARSED = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<String, Object[]> COMPILED_PATHS = new ConcurrentHashMap<>();
+    private static final Object[] NOT_SIMPLE = new Object[0];
+    private static final Object SIZE = new Object();
+    private static final JsonNode UNSUPPORTED = new TextNode("unsupported path");
+
+    // Weak, since the PARSED entry of a response would otherwise keep its own key reachable forever
+    private final WeakReference<Response> response;
+    private final JsonNode root;
+    private volatile Object groovyRoot;
+
+    /**
+     * Parses the body of a response; prefer {@link #of(Response)}, which parses each response only once
+     * @param response response with a JSON body
+     */
+    public ParsedResponse(Response response) {
+        this.response = new WeakReference<>(response);
+        this.root = RequestTimings.time(response, RequestTimings.Phase.DESERIALIZE, () -> {
+            try {
+                return MAPPER.readTree(response.asByteArray());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Response body is not valid JSON", e);
+            }
+        });
+    }
+
+    /**
+     * Gets the parsed body of a response, parsing it on the first call only
+     * @param response response with a JSON body
+     * @return parsed body, shared by every caller asking for the same response
+     */
+    public static ParsedResponse of(Response response) {
+        ParsedResponse parsed = PARSED.get(response);
+        if (parsed == null) {
+            parsed = new ParsedResponse(response);
+            PARSED.put(response, parsed);
+        }
+        return parsed;
+    }
+
+    /**
+     * Returns this view, so that response.then().body(...) chains only change their receiver
+     */
+    public ParsedResponse then() {
+        return this;
+    }
+
+    /**
+     * Asserts the value at a path, like response.then().body(path, matcher)
+     * @param path GPath expression, "" for the whole body
+     * @param matcher expectation for the value
+     * @param additionalKeyMatcherPairs further path and matcher pairs to assert
+     * @return this, for chaining
+     */
+    public ParsedResponse body(String path, Matcher<?> matcher, Object... additionalKeyMatcherPairs) {
+        assertPath(path, matcher);
+        if (additionalKeyMatcherPairs.length % 2 != 0) {
+            throw new IllegalArgumentException("Additional paths and matchers must come in pairs");
+        }
+        for (int i = 0; i < additionalKeyMatcherPairs.length; i += 2) {
+            assertPath((String) additionalKeyMatcherPairs[i], (Matcher<?>) additionalKeyMatcherPairs[i + 1]);
+        }
+        return this;
+    }
+
+    /**
+     * Gets the value at a path, like response.jsonPath().get(path)
+     * @param path GPath expression, "" for the whole body
+     * @return maps for objects, lists for arrays, boxed primitives or null otherwise
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String path) {
+        JsonNode node = walk(path);
+        return (T) (node == UNSUPPORTED ? evaluateGroovy(path) : toJava(node));
+    }
+
+    public int getInt(String path) {
+        return ((Number) get(path)).intValue();
+    }
+
+    public long getLong(String path) {
+        return ((Number) get(path)).longValue();
+    }
+
+    public boolean getBoolean(String path) {
+        return (Boolean) get(path);
+    }
+
+    public String getString(String path) {
+        Object value = get(path);
+        return value == null ? null : value.toString();
+    }
+
+    public <T> List<T> getList(String path) {
+        return get(path);
+    }
+
+    public <K, V> Map<K, V> getMap(String path) {
+        return get(path);
+    }
+
+    /**
+     * Binds the value at a path to a model class
+     * @param path GPath expression, "" for the whole body
+     * @param type model class
+     * @return bound object, or null when there is no value at the path
+     */
+    public <T> T getObject(String path, Class<T> type) {
+        JsonNode node = node(path);
+        return RequestTimings.time(response.get(), RequestTimings.Phase.DESERIALIZE, () -> MAPPER.convertValue(node, type));
+    }
+
+    /**
+     * Binds the array at a path to a list of a model class, like response.jsonPath().getList(path, type)
+     * @param path GPath expression, "" for the whole body
+     * @param type model class of the elements
+     * @return bound list, or null when there is no value at the path
+     */
+    public <T> List<T> getList(String path, Class<T> type) {
+        JsonNode node = node(path);
+        return RequestTimings.time(response.get(), RequestTimings.Phase.DESERIALIZE, () -> MAPPER.convertValue(node,
+                MAPPER.getTypeFactory().constructCollectionType(List.class, type)));
+    }
+
+    /**
+     * Gets the parsed tree of the whole body
+     */
+    public JsonNode getTree() {
+        return root;
+    }
+
+    /**
+     * Gets the response this body was parsed from
+     * @return response, or null once nothing else references it
+     */
+    public Response getResponse() {
+        return response.get();
+    }
+
+    private void assertPath(String path, Matcher<?> matcher) {
+        Object actual = get(path);
+        if (!matcher.matches(actual)) {
+            Description description = new StringDescription()
+                    .appendText("JSON path ").appendText(path).appendText(" doesn't match.")
+                    .appendText(System.lineSeparator()).appendText("Expected: ").appendDescriptionOf(matcher)
+                    .appendText(System.lineSeparator()).appendText("  Actual: ");
+            matcher.describeMismatch(actual, description);
+            throw new AssertionError(description.toString());
+        }
+    }
+
+    private JsonNode node(String path) {
+        JsonNode node = walk(path);
+        return node == UNSUPPORTED ? MAPPER.valueToTree(evaluateGroovy(path)) : node;
+    }
+
+    /**
+     * Walks a simple path on the tree
+     * @return node at the path, null when there is none, or UNSUPPORTED for Rest-Assured to evaluate it
+     */
+    private JsonNode walk(String path) {
+        Object[] steps = COMPILED_PATHS.computeIfAbsent(path, ParsedResponse::compile);
+        if (steps == NOT_SIMPLE) {
+            return UNSUPPORTED;
+        }
+        JsonNode node = root;
+        for (Object step : steps) {
+            if (node == null || node.isNull()) {
+                return null;
+            }
+            if (step == SIZE) {
+                if (node.isContainerNode()) {
+                    node = IntNode.valueOf(node.size());
+                } else if (node.isTextual()) {
+                    node = IntNode.valueOf(node.textValue().length());
+                } else {
+                    return UNSUPPORTED;
+                }
+            } else if (step instanceof Integer) {
+                if (!node.isArray()) {
+                    return UNSUPPORTED;
+                }
+                node = node.get((Integer) step);
+            } else if (node.isObject()) {
+                node = node.get((String) step);
+            } else if (node.isArray()) {
+                node = collect((ArrayNode) node, (String) step);
+                if (node == UNSUPPORTED) {
+                    return UNSUPPORTED;
+                }
+            } else {
+                return UNSUPPORTED;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Reads a field from every element of an array as GPath does: null elements are skipped, an element
+     * without the field gives null and a nested array gives a nested list rather than being flattened
+     * @return collected values, or UNSUPPORTED when an element is neither an object, an array nor null
+     */
+    private static JsonNode collect(ArrayNode array, String field) {
+        ArrayNode collected = JsonNodeFactory.instance.arrayNode(array.size());
+        for (JsonNode element : array) {
+            if (element.isNull()) {
+                continue;
+            }
+            if (element.isArray()) {
+                JsonNode nested = collect((ArrayNode) element, field);
+                if (nested == UNSUPPORTED) {
+                    return UNSUPPORTED;
+                }
+                collected.add(nested);
+            } else if (element.isObject()) {
+                JsonNode value = element.get(field);
+                collected.add(value == null ? JsonNodeFactory.instance.nullNode() : value);
+            } else {
+                return UNSUPPORTED;
+            }
+        }
+        return collected;
+    }
+
+    /**
+     * Splits a path made of field names, [index] suffixes and a final size() into steps.
+     * Negative indices are left to Rest-Assured, which does not count them from the end at the root.
+     * @return steps, or NOT_SIMPLE for any other GPath expression
+     */
+    private static Object[] compile(String path) {
+        String trimmed = path.trim();
+        if (trimmed.isEmpty() || trimmed.equals("$")) {
+            return new Object[0];
+        }
+        List<Object> steps = new ArrayList<>();
+        int i = 0;
+        int length = trimmed.length();
+        while (i < length) {
+            if (trimmed.startsWith("size()", i) && i + 6 == length) {
+                steps.add(SIZE);
+                break;
+            }
+            int start = i;
+            while (i < length && (Character.isLetterOrDigit(trimmed.charAt(i)) || trimmed.charAt(i) == '_')) {
+                i++;
+            }
+            if (i > start) {
+                if (Character.isDigit(trimmed.charAt(start))) {
+                    return NOT_SIMPLE;
+                }
+                steps.add(trimmed.substring(start, i));
+            }
+            while (i < length && trimmed.charAt(i) == '[') {
+                int close = trimmed.indexOf(']', i);
+                if (close < 0) {
+                    return NOT_SIMPLE;
+                }
+                String index = trimmed.substring(i + 1, close);
+                if (index.isEmpty() || index.length() > 9 || !index.chars().allMatch(Character::isDigit)) {
+                    return NOT_SIMPLE;
+                }
+                steps.add(Integer.parseInt(index));
+                i = close + 1;
+            }
+            if (i == start) {
+                return NOT_SIMPLE;
+            }
+            if (i < length) {
+                if (trimmed.charAt(i) != '.' || i + 1 == length) {
+                    return NOT_SIMPLE;
+                }
+                i++;
+            }
+        }
+        return steps.toArray();
+    }
+
+    private Object evaluateGroovy(String path) {
+        Object tree = groovyRoot;
+        if (tree == null) {
+            tree = toJava(root);
+            groovyRoot = tree;
+        }
+        JSONAssertion assertion = new JSONAssertion();
+        assertion.setKey(path);
+        assertion.setParams(Collections.emptyMap());
+        return assertion.getResult(tree, null);
+    }
+
+    /**
+     * Converts a node to the types Rest-Assured's JsonPath returns with its default configuration:
+     * integers as Integer, Long or BigInteger by size and decimals as Float, or Double when out of range
+     */
+    private static Object toJava(JsonNode node) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            return null;
+        }
+        if (node.isObject()) {
+            Map<String, Object> map = new LinkedHashMap<>(Math.max(16, node.size() * 4 / 3 + 1));
+            for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                map.put(field.getKey(), toJava(field.getValue()));
+            }
+            return map;
+        }
+        if (node.isArray()) {
+            List<Object> list = new ArrayList<>(node.size());
+            for (JsonNode element : node) {
+                list.add(toJava(element));
+            }
+            return list;
+        }
+        if (node.isTextual()) {
+            return node.textValue();
+        }
+        if (node.isBoolean()) {
+            return node.booleanValue();
+        }
+        if (node.isIntegralNumber()) {
+            if (node.canConvertToInt()) {
+                return node.intValue();
+            }
+            return node.canConvertToLong() ? (Object) node.longValue() : node.bigIntegerValue();
+        }
+        if (node.isNumber()) {
+            double value = node.doubleValue();
+            return Math.abs(value) <= Float.MAX_VALUE ? (Object) (float) value : value;
+        }
+        return node.asText();
+    }
+}
@@ -0,0 +1,237 @@
+package com.dota2.utils;
+
+import com.dota2.api.client.ModelMapper;
+import com.dota2.api.config.ApiConfig;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.LogLevel;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * JSON schemas under /schemas/, read and compiled once and shared by every validation.
+ * The compiled schemas are immutable and thread-safe. Arrays with at least
+ * api.schema.parallel.threshold elements are validated element by element on a shared pool of
+ * api.schema.parallelism threads, and the errors of every element end up in one report. With a
+ * single thread the split only adds the task hand-off, so arrays are then validated in one pass.
+ */
+public final class SchemaRegistry {
+    private static final Logger logger = LogManager.getLogger(SchemaRegistry.class);
+    private static final String SCHEMA_BASE_PATH = "/schemas/";
+    private static final String[] PRELOADED = {"hero-schema.json", "match-schema.json", "player-schema.json", "team-schema.json"};
+    private static SchemaRegistry instance;
+
+    private final JsonSchemaFactory factory = JsonSchemaFactory.byDefault();
+    private final Map<String, CompiledSchema> schemas = new ConcurrentHashMap<>();
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+
+    SchemaRegistry(int parallelism, int parallelThreshold) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.parallelThreshold = parallelThreshold;
+        long start = System.nanoTime();
+        for (String schemaFileName : PRELOADED) {
+            get(schemaFileName);
+        }
+        logger.info("Compiled {} schemas in {} ms", PRELOADED.length, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    public static synchronized SchemaRegistry getInstance() {
+        if (instance == null) {
+            ApiConfig apiConfig = ApiConfig.getInstance();
+            instance = new SchemaRegistry(apiConfig.getSchemaParallelism(), apiConfig.getSchemaParallelThreshold());
+        }
+        return instance;
+    }
+
+    /**
+     * Validates a JSON document against a schema
+     * @param schemaFileName name of the schema file under /schemas/
+     * @param document parsed document
+     * @return errors found, empty when the document is valid
+     */
+    public SchemaReport validate(String schemaFileName, JsonNode document) {
+        if (document.isMissingNode()) {
+            return new SchemaReport(schemaFileName, 0, List.of("/: body is empty"));
+        }
+        return get(schemaFileName).validate(document);
+    }
+
+    /**
+     * Validates every element of a JSON array against a schema describing one element,
+     * e.g. each team of /teams against team-schema.json
+     * @param schemaFileName name of the element schema file under /schemas/
+     * @param array parsed array
+     * @return errors of every element, empty when all of them are valid
+     */
+    public SchemaReport validateEach(String schemaFileName, JsonNode array) {
+        if (!array.isArray()) {
+            return new SchemaReport(schemaFileName, 0, List.of("/: expected an array but found " + array.getNodeType()));
+        }
+        return get(schemaFileName).validateElements(array);
+    }
+
+    /**
+     * Validates a document while reading it, stopping at the first violation. Arrays are checked one element
+     * and objects one member at a time, so memory stays flat however large the document is. Schemas whose
+     * root uses other keywords than the ones {@link StreamingSchema} covers read the document whole instead.
+     * @param schemaFileName name of the schema file under /schemas/
+     * @param body document stream, closed once the validation stops
+     * @return the first error found, empty when the document is valid
+     */
+    public SchemaReport validateStream(String schemaFileName, InputStream body) {
+        CompiledSchema schema = get(schemaFileName);
+        int[] checked = new int[1];
+        String error;
+        try (JsonParser parser = ModelMapper.getInstance().getObjectMapper().createParser(body)) {
+            error = schema.firstError(parser, checked);
+        } catch (JsonProcessingException e) {
+            error = "/: body is not valid JSON: " + e.getOriginalMessage();
+        } catch (IOException e) {
+            error = "/: body cannot be read: " + e.getMessage();
+        }
+        return new SchemaReport(schemaFileName, checked[0], error == null ? List.of() : List.of(error));
+    }
+
+    /**
+     * Gets a digest of a schema's content, which changes whenever the schema file is edited
+     * @param schemaFileName name of the schema file under /schemas/
+     * @return hex digest
+     */
+    public String digest(String schemaFileName) {
+        return get(schemaFileName).digest;
+    }
+
+    private CompiledSchema get(String schemaFileName) {
+        return schemas.computeIfAbsent(schemaFileName, this::compile);
+    }
+
+    private CompiledSchema compile(String schemaFileName) {
+        String schemaPath = SCHEMA_BASE_PATH + schemaFileName;
+        try (InputStream schemaStream = SchemaRegistry.class.getResourceAsStream(schemaPath)) {
+            if (schemaStream == null) {
+                throw new IllegalArgumentException("Schema file not found: " + schemaPath);
+            }
+            JsonNode schemaNode = ModelMapper.getInstance().getObjectMapper().readTree(schemaStream);
+            return new CompiledSchema(schemaFileName, schemaNode);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Schema file cannot be read: " + schemaPath, e);
+        } catch (ProcessingException e) {
+            throw new IllegalArgumentException("Schema file is not a valid schema: " + schemaPath + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * One schema compiled whole and, when it describes an array of one kind of element,
+     * split into the array's own constraints and the element schema
+     */
+    private final class CompiledSchema {
+        private final String name;
+        private final JsonSchema whole;
+        private final JsonSchema container;
+        private final JsonSchema items;
+        private final StreamingSchema streaming;
+        private final String digest;
+
+        private CompiledSchema(String name, JsonNode schemaNode) throws ProcessingException {
+            this.name = name;
+            this.digest = Long.toHexString(ContractSnapshots.hash(schemaNode.toString()));
+            this.whole = factory.getJsonSchema(schemaNode);
+            this.streaming = StreamingSchema.of(factory, schemaNode);
+            JsonNode itemsNode = schemaNode.get("items");
+            if (itemsNode != null && itemsNode.isObject()) {
+                ObjectNode withoutItems = ((ObjectNode) schemaNode).deepCopy();
+                withoutItems.remove("items");
+                this.container = factory.getJsonSchema(withoutItems);
+                this.items = factory.getJsonSchema(schemaNode, "/items");
+            } else {
+                this.container = null;
+                this.items = null;
+            }
+        }
+
+        private SchemaReport validate(JsonNode document) {
+            if (items == null || !document.isArray() || document.size() < parallelThreshold || pool.getParallelism() == 1) {
+                return new SchemaReport(name, document.isArray() ? document.size() : 1, errors(whole, document, ""));
+            }
+            List<String> errors = errors(container, document, "");
+            errors.addAll(elementErrors(items, document));
+            return new SchemaReport(name, document.size(), errors);
+        }
+
+        private String firstError(JsonParser parser, int[] checked) throws IOException {
+            if (streaming != null) {
+                return streaming.firstError(parser, checked);
+            }
+            JsonNode document = parser.readValueAsTree();
+            if (document == null) {
+                return "/: body is empty";
+            }
+            checked[0] = document.isArray() ? document.size() : 1;
+            List<String> errors = errors(whole, document, "");
+            return errors.isEmpty() ? null : errors.get(0);
+        }
+
+        private SchemaReport validateElements(JsonNode array) {
+            return new SchemaReport(name, array.size(), elementErrors(whole, array));
+        }
+
+        private List<String> elementErrors(JsonSchema schema, JsonNode array) {
+            IntStream indexes = IntStream.range(0, array.size());
+            if (array.size() < parallelThreshold || pool.getParallelism() == 1) {
+                return indexes.mapToObj(i -> errors(schema, array.get(i), "/" + i))
+                        .flatMap(List::stream)
+                        .collect(Collectors.toList());
+            }
+            // A parallel stream runs in the pool it is started from, which keeps the common pool free
+            return pool.submit(() -> indexes.parallel()
+                    .mapToObj(i -> errors(schema, array.get(i), "/" + i))
+                    .flatMap(List::stream)
+                    .collect(Collectors.toList())).join();
+        }
+    }
+
+    /**
+     * Runs one validation and renders its errors as "pointer: message"
+     * @param prefix pointer of the validated node inside the whole document
+     */
+    static List<String> errors(JsonSchema schema, JsonNode node, String prefix) {
+        ProcessingReport report;
+        try {
+            report = schema.validate(node);
+        } catch (ProcessingException e) {
+            List<String> failed = new ArrayList<>(1);
+            failed.add((prefix.isEmpty() ? "/" : prefix) + ": " + e.getProcessingMessage().getMessage());
+            return failed;
+        }
+        List<String> errors = new ArrayList<>();
+        if (report.isSuccess()) {
+            return errors;
+        }
+        for (ProcessingMessage message : report) {
+            if (message.getLogLevel().compareTo(LogLevel.ERROR) >= 0) {
+                String pointer = prefix + message.asJson().path("instance").path("pointer").asText("");
+                errors.add((pointer.isEmpty() ? "/" : pointer) + ": " + message.getMessage());
+            }
+        }
+        return errors;
+    }
+}
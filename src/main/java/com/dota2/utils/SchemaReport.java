@@ -0,0 +1,65 @@
+package com.dota2.utils;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of validating one document against a schema in the {@link SchemaRegistry},
+ * with the errors of every element of an array gathered in document order
+ */
+public final class SchemaReport {
+    private static final int MAX_LISTED_ERRORS = 20;
+
+    private final String schemaFileName;
+    private final int checkedElements;
+    private final List<String> errors;
+
+    SchemaReport(String schemaFileName, int checkedElements, List<String> errors) {
+        this.schemaFileName = schemaFileName;
+        this.checkedElements = checkedElements;
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+
+    public String getSchemaFileName() {
+        return schemaFileName;
+    }
+
+    /**
+     * Gets how many elements were validated
+     * @return array size for an array document, 1 otherwise
+     */
+    public int getCheckedElements() {
+        return checkedElements;
+    }
+
+    /**
+     * Gets the errors found
+     * @return one "pointer: message" entry per error, e.g. "/3/roles: array is too short"
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Describes the errors, listing the first ones only
+     */
+    @Override
+    public String toString() {
+        if (errors.isEmpty()) {
+            return schemaFileName + ": valid (" + checkedElements + " checked)";
+        }
+        StringBuilder text = new StringBuilder(schemaFileName).append(": ").append(errors.size())
+                .append(errors.size() == 1 ? " error" : " errors").append(" in ").append(checkedElements).append(" checked");
+        for (String error : errors.subList(0, Math.min(MAX_LISTED_ERRORS, errors.size()))) {
+            text.append(System.lineSeparator()).append("  ").append(error);
+        }
+        if (errors.size() > MAX_LISTED_ERRORS) {
+            text.append(System.lineSeparator()).append("  ... and ").append(errors.size() - MAX_LISTED_ERRORS).append(" more");
+        }
+        return text.toString();
+    }
+}
@@ -1,18 +1,29 @@
 package com.dota2.utils;
 
-import io.restassured.module.jsv.JsonSchemaValidator;
+import com.dota2.api.client.ClientRegistry;
+import com.dota2.api.client.EndpointTemplates;
+import com.dota2.api.client.RequestTimings;
+import com.dota2.api.config.ApiConfig;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.restassured.response.Response;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 /**
  * Utility class for JSON Schema validation.
+ * Schemas come precompiled from the {@link SchemaRegistry} and the body from the response's
+ * {@link ParsedResponse}, so neither is read again by each validation. A response with the same
+ * structure as the last one validated for its endpoint skips the validation, see {@link ContractSnapshots}.
+ * The streaming variants check the body token by token instead and stop at the first violation.
  */
 public class SchemaValidator {
     private static final Logger logger = LogManager.getLogger(SchemaValidator.class);
-    private static final String SCHEMA_BASE_PATH = "/schemas/";
 
     private SchemaValidator() {
     }
@@ -24,19 +35,141 @@ public class SchemaValidator {
      */
     public static void validateSchema(Response response, String schemaFileName) {
         logger.info("Validating response against schema: {}", schemaFileName);
-        String schemaPath = SCHEMA_BASE_PATH + schemaFileName;
+        check(response, schemaFileName, false);
+    }
 
-        try {
-            InputStream schemaStream = SchemaValidator.class.getResourceAsStream(schemaPath);
-            if (schemaStream == null) {
-                throw new IllegalArgumentException("Schema file not found: " + schemaPath);
+    /**
+     * Validates each element of an array response against a JSON schema describing one element,
+     * e.g. the /teams list against team-schema.json
+     * @param response API response with a JSON array body
+     * @param schemaFileName name of the element schema file (without path)
+     */
+    public static void validateEachElement(Response response, String schemaFileName) {
+        logger.info("Validating each response element against schema: {}", schemaFileName);
+        check(response, schemaFileName, true);
+    }
+
+    /**
+     * Validates a response body while reading it, stopping at the first violation. Unlike
+     * {@link #validateSchema} no tree of the whole body is built, so memory stays flat however large it is
+     * @param response API response to validate
+     * @param schemaFileName name of the schema file (without path)
+     */
+    public static void validateStreaming(Response response, String schemaFileName) {
+        logger.info("Stream-validating response against schema: {}", schemaFileName);
+        SchemaReport report = RequestTimings.time(response, RequestTimings.Phase.SCHEMA_VALIDATION,
+                () -> streamed(schemaFileName, response.asInputStream()));
+        assertValid(report);
+    }
+
+    /**
+     * Requests an endpoint and validates its body while it is still downloading, stopping the download at
+     * the first violation. The body is never held whole in memory
+     * @param endpoint endpoint path
+     * @param queryParams query parameters, may be empty
+     * @param schemaFileName name of the schema file (without path)
+     */
+    public static void validateStreaming(String endpoint, Map<String, ?> queryParams, String schemaFileName) {
+        logger.info("Stream-validating {} against schema: {}", endpoint, schemaFileName);
+        SchemaReport report = ClientRegistry.getInstance().getRestClient()
+                .getStreaming(endpoint, queryParams, body -> streamed(schemaFileName, body));
+        assertValid(report);
+    }
+
+    /**
+     * Builds a check for load scenarios that stream-validates one response in every api.schema.sample.every,
+     * so validation adds little to the load generator. Responses left out of the sample pass
+     * @param schemaFileName name of the schema file (without path)
+     * @return check failing the sampled responses that do not match the schema
+     */
+    public static Predicate<Response> sampled(String schemaFileName) {
+        return sampled(schemaFileName, ApiConfig.getInstance().getSchemaSampleEvery());
+    }
+
+    /**
+     * Builds a check for load scenarios that stream-validates one response in every {@code every}
+     * @param schemaFileName name of the schema file (without path)
+     * @param every sampling interval, 1 to validate every response
+     * @return check failing the sampled responses that do not match the schema
+     */
+    public static Predicate<Response> sampled(String schemaFileName, int every) {
+        if (every < 1) {
+            throw new IllegalArgumentException("Sampling interval must be at least 1: " + every);
+        }
+        AtomicLong seen = new AtomicLong();
+        return response -> {
+            if (seen.getAndIncrement() % every != 0) {
+                return true;
             }
+            SchemaReport report = streamed(schemaFileName, response.asInputStream());
+            if (!report.isValid()) {
+                logger.warn("Sampled schema validation failed: {}", report);
+            }
+            return report.isValid();
+        };
+    }
 
-            response.then().assertThat().body(JsonSchemaValidator.matchesJsonSchema(schemaStream));
-            logger.info("Schema validation successful");
-        } catch (Exception e) {
+    private static SchemaReport streamed(String schemaFileName, InputStream body) {
+        try {
+            return SchemaRegistry.getInstance().validateStream(schemaFileName, body);
+        } catch (IllegalArgumentException | UncheckedIOException e) {
             logger.error("Schema validation failed: {}", e.getMessage(), e);
             throw new AssertionError("Schema validation failed: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    private static void assertValid(SchemaReport report) {
+        if (!report.isValid()) {
+            logger.error("Schema validation failed: {}", report);
+            throw new AssertionError("Schema validation failed: " + report);
+        }
+        logger.info("Schema validation successful: {} checked", report.getCheckedElements());
+    }
+
+    private static void check(Response response, String schemaFileName, boolean eachElement) {
+        SchemaReport report;
+        try {
+            SchemaRegistry registry = SchemaRegistry.getInstance();
+            JsonNode document = ParsedResponse.of(response).getTree();
+            String snapshotKey = snapshotKey(response, schemaFileName, eachElement);
+            if (snapshotKey == null) {
+                report = RequestTimings.time(response, RequestTimings.Phase.SCHEMA_VALIDATION,
+                        () -> validate(registry, schemaFileName, document, eachElement));
+            } else {
+                ContractSnapshots snapshots = ContractSnapshots.getInstance();
+                String digest = registry.digest(schemaFileName);
+                long fingerprint = RequestTimings.time(response, RequestTimings.Phase.SCHEMA_VALIDATION,
+                        () -> ContractSnapshots.fingerprint(document));
+                if (snapshots.matches(snapshotKey, digest, fingerprint)) {
+                    logger.info("Schema validation skipped: {} has the shape last validated", snapshotKey);
+                    return;
+                }
+                report = RequestTimings.time(response, RequestTimings.Phase.SCHEMA_VALIDATION,
+                        () -> validate(registry, schemaFileName, document, eachElement));
+                if (report.isValid()) {
+                    snapshots.record(snapshotKey, digest, fingerprint);
+                }
+            }
+        } catch (IllegalArgumentException | UncheckedIOException e) {
+            logger.error("Schema validation failed: {}", e.getMessage(), e);
+            throw new AssertionError("Schema validation failed: " + e.getMessage(), e);
+        }
+        assertValid(report);
+    }
+
+    private static SchemaReport validate(SchemaRegistry registry, String schemaFileName, JsonNode document, boolean eachElement) {
+        return eachElement ? registry.validateEach(schemaFileName, document) : registry.validate(schemaFileName, document);
+    }
+
+    /**
+     * Names the contract snapshot of a response, e.g. "/teams/{id} team-schema.json"
+     * @return key, or null when snapshots are off or the response did not go through the RestClient
+     */
+    private static String snapshotKey(Response response, String schemaFileName, boolean eachElement) {
+        RequestTimings timings = RequestTimings.of(response);
+        if (timings == null || !ApiConfig.getInstance().isSchemaSnapshotEnabled()) {
+            return null;
+        }
+        return EndpointTemplates.of(timings.getPath()) + " " + schemaFileName + (eachElement ? " each" : "");
+    }
+}
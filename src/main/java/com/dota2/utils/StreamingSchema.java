@@ -0,0 +1,173 @@
+package com.dota2.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Top level of a schema checked against the token stream of a document, one array element or
+ * object member at a time, so only the member being checked is ever held in memory.
+ * Covers schemas whose root is an array with one item schema and minItems/maxItems, or an object
+ * with properties, required and additionalProperties, which is what the schemas under /schemas/
+ * use; {@link #of} returns null for any other root keyword.
+ */
+final class StreamingSchema {
+    private static final Set<String> ANNOTATIONS = Set.of("$schema", "$id", "id", "$comment", "title", "description", "definitions");
+    private static final Set<String> ARRAY_KEYWORDS = Set.of("type", "items", "minItems", "maxItems");
+    private static final Set<String> OBJECT_KEYWORDS = Set.of("type", "properties", "required", "additionalProperties");
+
+    private final JsonSchema items;
+    private final int minItems;
+    private final int maxItems;
+    private final Map<String, JsonSchema> properties;
+    private final Set<String> required;
+    private final boolean additionalAllowed;
+    private final JsonSchema additional;
+
+    private StreamingSchema(JsonSchema items, int minItems, int maxItems, Map<String, JsonSchema> properties,
+                            Set<String> required, boolean additionalAllowed, JsonSchema additional) {
+        this.items = items;
+        this.minItems = minItems;
+        this.maxItems = maxItems;
+        this.properties = properties;
+        this.required = required;
+        this.additionalAllowed = additionalAllowed;
+        this.additional = additional;
+    }
+
+    /**
+     * Splits a schema into the sub-schemas of its array elements or object members
+     * @return streaming form of the schema, or null when its root uses keywords it does not cover
+     */
+    static StreamingSchema of(JsonSchemaFactory factory, JsonNode schemaNode) throws ProcessingException {
+        String type = schemaNode.path("type").asText("");
+        if (type.equals("array") && onlyKeywords(schemaNode, ARRAY_KEYWORDS) && schemaNode.path("items").isObject()) {
+            return new StreamingSchema(factory.getJsonSchema(schemaNode, "/items"),
+                    schemaNode.path("minItems").asInt(0), schemaNode.path("maxItems").asInt(Integer.MAX_VALUE),
+                    null, null, true, null);
+        }
+        if (!type.equals("object") || !onlyKeywords(schemaNode, OBJECT_KEYWORDS)) {
+            return null;
+        }
+        Map<String, JsonSchema> properties = new HashMap<>();
+        Iterator<String> names = schemaNode.path("properties").fieldNames();
+        while (names.hasNext()) {
+            String name = names.next();
+            properties.put(name, factory.getJsonSchema(schemaNode, "/properties/" + escape(name)));
+        }
+        Set<String> required = new LinkedHashSet<>();
+        schemaNode.path("required").forEach(name -> required.add(name.asText()));
+        JsonNode additionalNode = schemaNode.path("additionalProperties");
+        JsonSchema additional = additionalNode.isObject() ? factory.getJsonSchema(schemaNode, "/additionalProperties") : null;
+        return new StreamingSchema(null, 0, 0, properties, required, !additionalNode.isBoolean() || additionalNode.asBoolean(), additional);
+    }
+
+    /**
+     * Reads the document and stops at the first violation, leaving the rest of it unread
+     * @param parser parser positioned before the document
+     * @param checked set to the number of array elements checked, or to 1 for an object
+     * @return first error as "pointer: message", or null when the document is valid
+     */
+    String firstError(JsonParser parser, int[] checked) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            return "/: body is empty";
+        }
+        return items != null ? firstElementError(parser, token, checked) : firstMemberError(parser, token, checked);
+    }
+
+    private String firstElementError(JsonParser parser, JsonToken token, int[] checked) throws IOException {
+        if (token != JsonToken.START_ARRAY) {
+            return typeMismatch(token, "array");
+        }
+        int index = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (index == maxItems) {
+                return "/: array is too long: must have at most " + maxItems + " elements";
+            }
+            List<String> errors = SchemaRegistry.errors(items, parser.readValueAsTree(), "/" + index);
+            checked[0] = ++index;
+            if (!errors.isEmpty()) {
+                return errors.get(0);
+            }
+        }
+        if (index < minItems) {
+            return "/: array is too short: must have at least " + minItems + " elements but instance has " + index + " elements";
+        }
+        return null;
+    }
+
+    private String firstMemberError(JsonParser parser, JsonToken token, int[] checked) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            return typeMismatch(token, "object");
+        }
+        checked[0] = 1;
+        Set<String> missing = new LinkedHashSet<>(required);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            missing.remove(name);
+            JsonSchema schema = properties.getOrDefault(name, additional);
+            if (schema == null) {
+                if (!additionalAllowed) {
+                    return "/: object instance has an additional property not allowed by the schema: " + name;
+                }
+                parser.skipChildren();
+                continue;
+            }
+            List<String> errors = SchemaRegistry.errors(schema, parser.readValueAsTree(), "/" + escape(name));
+            if (!errors.isEmpty()) {
+                return errors.get(0);
+            }
+        }
+        if (!missing.isEmpty()) {
+            return missing.stream().map(name -> "\"" + name + "\"")
+                    .collect(Collectors.joining(",", "/: object has missing required properties ([", "])"));
+        }
+        return null;
+    }
+
+    private static String typeMismatch(JsonToken token, String allowed) {
+        return "/: instance type (" + typeName(token) + ") does not match any allowed primitive type (allowed: [\"" + allowed + "\"])";
+    }
+
+    private static String typeName(JsonToken token) {
+        switch (token) {
+            case START_ARRAY: return "array";
+            case START_OBJECT: return "object";
+            case VALUE_STRING: return "string";
+            case VALUE_NUMBER_INT: return "integer";
+            case VALUE_NUMBER_FLOAT: return "number";
+            case VALUE_TRUE:
+            case VALUE_FALSE: return "boolean";
+            default: return "null";
+        }
+    }
+
+    private static boolean onlyKeywords(JsonNode schemaNode, Set<String> keywords) {
+        Iterator<String> names = schemaNode.fieldNames();
+        while (names.hasNext()) {
+            String name = names.next();
+            if (!keywords.contains(name) && !ANNOTATIONS.contains(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String escape(String name) {
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+}
@@ -0,0 +1,111 @@
+package com.dota2.api.client;
+
+import com.dota2.config.TestConfig;
+import com.dota2.constants.EndpointConstants;
+import io.qameta.allure.*;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests for the cassette's memory-mapped index: growing past its initial 1024 slots,
+ * surviving a close and reopen, and failing strict replay for requests never recorded
+ */
+@Epic("Dota 2 API Testing")
+@Feature("Client - Cassette")
+@Listeners(TestConfig.class)
+public class CassetteTest {
+    private static final int INITIAL_INDEX_SLOTS = 1024;
+    private static final int INDEX_SLOT_BYTES = 20;
+    private static final int RECORDED_KEYS = 3000;
+
+    private Path directory;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("cassette-test");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test(description = "Verify that every recorded key is replayed after the index grew and the cassette was reopened")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Index growth")
+    @Description("This test records more keys than the initial index holds, reopens the cassette in replay mode "
+            + "and checks that every key comes back with its own response")
+    public void testIndexGrowsAndSurvivesReopen() throws IOException {
+        try (Cassette cassette = new Cassette(Cassette.Mode.RECORD, directory, "grow")) {
+            for (int i = 0; i < RECORDED_KEYS; i++) {
+                cassette.record(key(i), response(i));
+            }
+            assertEquals(cassette.size(), RECORDED_KEYS);
+        }
+        assertTrue(Files.size(directory.resolve("grow.idx")) > (long) INITIAL_INDEX_SLOTS * INDEX_SLOT_BYTES,
+                "The index should have grown past its initial " + INITIAL_INDEX_SLOTS + " slots");
+
+        try (Cassette cassette = new Cassette(Cassette.Mode.REPLAY, directory, "grow")) {
+            assertEquals(cassette.size(), RECORDED_KEYS, "The reopened index should hold every recorded key");
+            for (int i = 0; i < RECORDED_KEYS; i++) {
+                ResponseSnapshot snapshot = cassette.replay(key(i));
+                assertNotNull(snapshot, "Key " + key(i) + " should be replayed");
+                assertEquals(snapshot.getStatusCode(), EndpointConstants.STATUS_OK);
+                assertEquals(snapshot.toResponse().asString(), body(i), "Key " + key(i) + " should get its own response");
+            }
+            assertEquals(cassette.getReplayedCount(), RECORDED_KEYS);
+            assertEquals(cassette.getMissedCount(), 0);
+        }
+    }
+
+    @Test(description = "Verify that strict replay fails for a request never recorded")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Strict replay")
+    @Description("This test verifies that a reopened cassette in replay mode throws CassetteMissException "
+            + "for an unknown key instead of letting the request through")
+    public void testStrictReplayMissThrows() {
+        try (Cassette cassette = new Cassette(Cassette.Mode.RECORD, directory, "miss")) {
+            for (int i = 0; i < INITIAL_INDEX_SLOTS + 1; i++) {
+                cassette.record(key(i), response(i));
+            }
+        }
+        String unknownKey = key(RECORDED_KEYS * 2);
+        try (Cassette cassette = new Cassette(Cassette.Mode.REPLAY, directory, "miss")) {
+            CassetteMissException miss = expectThrows(CassetteMissException.class, () -> cassette.replay(unknownKey));
+            assertEquals(miss.getRequestKey(), unknownKey);
+            assertEquals(cassette.getMissedCount(), 1);
+        }
+    }
+
+    private static String key(int i) {
+        return RequestKeys.of("GET", EndpointConstants.MATCH_BY_ID_ENDPOINT.replace("{id}", String.valueOf(i)), Collections.emptyMap());
+    }
+
+    private static String body(int i) {
+        return "{\"match_id\":" + i + "}";
+    }
+
+    private static Response response(int i) {
+        return new ResponseBuilder()
+                .setStatusCode(EndpointConstants.STATUS_OK)
+                .setStatusLine("HTTP/1.1 200 OK")
+                .setContentType("application/json")
+                .setBody(body(i))
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.dota2.api.client;
+
+import com.dota2.config.TestConfig;
+import com.dota2.constants.EndpointConstants;
+import com.dota2.stub.FaultInjectionProxy;
+import com.dota2.stub.FaultProfile;
+import com.dota2.stub.FixtureServer;
+import com.dota2.stub.LatencyDistribution;
+import io.qameta.allure.*;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests for the circuit breaker, against the fixture server behind two fault injection proxies:
+ * one answering every request with 503 (error rate 1), standing for the endpoint failing, and one
+ * passing every request through (error rate 0), standing for the endpoint once it has recovered
+ */
+@Epic("Dota 2 API Testing")
+@Feature("Client - Circuit Breaker")
+@Listeners(TestConfig.class)
+public class CircuitBreakerTest {
+    private static final int WINDOW_SIZE = 4;
+    private static final int HALF_OPEN_CALLS = 2;
+    private static final long OPEN_MILLIS = 1000;
+    private static final int ERROR_STATUS = 503;
+
+    private FixtureServer fixtureServer;
+    private FaultInjectionProxy failingProxy;
+    private FaultInjectionProxy healthyProxy;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        fixtureServer = new FixtureServer(0, 2);
+        failingProxy = new FaultInjectionProxy(0, fixtureServer.getBaseUrl(), template -> new FaultProfile(template,
+                LatencyDistribution.parse("0"), 0, 0, 0, 0, 1, 1, ERROR_STATUS));
+        healthyProxy = new FaultInjectionProxy(0, fixtureServer.getBaseUrl(), template -> new FaultProfile(template,
+                LatencyDistribution.parse("0"), 0, 0, 0, 0, 1, 0, ERROR_STATUS));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        if (failingProxy != null) {
+            failingProxy.close();
+        }
+        if (healthyProxy != null) {
+            healthyProxy.close();
+        }
+        if (fixtureServer != null) {
+            fixtureServer.close();
+        }
+    }
+
+    @Test(description = "Verify that the circuit goes closed, open, half-open and closed again")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Circuit state")
+    @Description("This test verifies that failures open the circuit, an open circuit fails fast without reaching the server, "
+            + "and successful trial calls close it once the open duration has elapsed")
+    public void testCircuitClosesAfterSuccessfulTrials() throws InterruptedException {
+        CircuitBreaker circuitBreaker = newCircuitBreaker();
+        List<String> transitions = new CopyOnWriteArrayList<>();
+        circuitBreaker.addListener((template, from, to) -> transitions.add(from + " -> " + to));
+
+        openCircuit(circuitBreaker);
+        long healthyRequests = healthyProxy.getRequestCount();
+        assertThrows(CircuitBreakerOpenException.class, () -> sendThrough(healthyProxy, circuitBreaker));
+        assertEquals(healthyProxy.getRequestCount(), healthyRequests, "An open circuit should not reach the server");
+
+        Thread.sleep(OPEN_MILLIS + 100);
+        assertEquals(sendThrough(healthyProxy, circuitBreaker).getStatusCode(), EndpointConstants.STATUS_OK);
+        assertEquals(circuitBreaker.getState(EndpointConstants.HEROES_ENDPOINT), CircuitBreaker.State.HALF_OPEN,
+                "One successful trial out of " + HALF_OPEN_CALLS + " should keep the circuit half-open");
+        assertEquals(sendThrough(healthyProxy, circuitBreaker).getStatusCode(), EndpointConstants.STATUS_OK);
+        assertEquals(circuitBreaker.getState(EndpointConstants.HEROES_ENDPOINT), CircuitBreaker.State.CLOSED);
+
+        assertEquals(transitions, List.of("CLOSED -> OPEN", "OPEN -> HALF_OPEN", "HALF_OPEN -> CLOSED"));
+        assertEquals(circuitBreaker.getRejectedCounts().get(EndpointConstants.HEROES_ENDPOINT).longValue(), 1);
+    }
+
+    @Test(description = "Verify that a half-open circuit lets only its trial calls through")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Trial permits")
+    @Description("This test verifies that a half-open circuit rejects calls once its trial permits are taken, "
+            + "and that a failed trial opens it again")
+    public void testHalfOpenCircuitLimitsTrialCalls() throws InterruptedException {
+        CircuitBreaker circuitBreaker = newCircuitBreaker();
+        openCircuit(circuitBreaker);
+        Thread.sleep(OPEN_MILLIS + 100);
+
+        for (int i = 0; i < HALF_OPEN_CALLS; i++) {
+            circuitBreaker.acquire(EndpointConstants.HEROES_ENDPOINT);
+        }
+        assertEquals(circuitBreaker.getState(EndpointConstants.HEROES_ENDPOINT), CircuitBreaker.State.HALF_OPEN);
+        assertThrows(CircuitBreakerOpenException.class, () -> circuitBreaker.acquire(EndpointConstants.HEROES_ENDPOINT));
+
+        circuitBreaker.onResult(EndpointConstants.HEROES_ENDPOINT, 0, ERROR_STATUS, null);
+        assertEquals(circuitBreaker.getState(EndpointConstants.HEROES_ENDPOINT), CircuitBreaker.State.OPEN,
+                "A failed trial should open the circuit again");
+        assertThrows(CircuitBreakerOpenException.class, () -> sendThrough(healthyProxy, circuitBreaker));
+    }
+
+    @Test(description = "Verify that a failing trial call reopens the circuit")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Trial permits")
+    @Description("This test verifies that a trial call answered with 503 opens the circuit again until the next open duration")
+    public void testFailedTrialReopensCircuit() throws InterruptedException {
+        CircuitBreaker circuitBreaker = newCircuitBreaker();
+        openCircuit(circuitBreaker);
+        Thread.sleep(OPEN_MILLIS + 100);
+
+        assertEquals(sendThrough(failingProxy, circuitBreaker).getStatusCode(), ERROR_STATUS);
+        assertEquals(circuitBreaker.getState(EndpointConstants.HEROES_ENDPOINT), CircuitBreaker.State.OPEN);
+
+        Thread.sleep(OPEN_MILLIS + 100);
+        for (int i = 0; i < HALF_OPEN_CALLS; i++) {
+            assertEquals(sendThrough(healthyProxy, circuitBreaker).getStatusCode(), EndpointConstants.STATUS_OK);
+        }
+        assertEquals(circuitBreaker.getState(EndpointConstants.HEROES_ENDPOINT), CircuitBreaker.State.CLOSED);
+    }
+
+    private static CircuitBreaker newCircuitBreaker() {
+        return new CircuitBreaker(WINDOW_SIZE, WINDOW_SIZE, 50, 10_000, 80, OPEN_MILLIS, HALF_OPEN_CALLS);
+    }
+
+    private void openCircuit(CircuitBreaker circuitBreaker) {
+        for (int i = 0; i < WINDOW_SIZE; i++) {
+            assertEquals(circuitBreaker.getState(EndpointConstants.HEROES_ENDPOINT), CircuitBreaker.State.CLOSED);
+            assertEquals(sendThrough(failingProxy, circuitBreaker).getStatusCode(), ERROR_STATUS);
+        }
+        assertEquals(circuitBreaker.getState(EndpointConstants.HEROES_ENDPOINT), CircuitBreaker.State.OPEN,
+                WINDOW_SIZE + " failures out of " + WINDOW_SIZE + " calls should open the circuit");
+    }
+
+    private static Response sendThrough(FaultInjectionProxy proxy, CircuitBreaker circuitBreaker) {
+        return RestAssured.given()
+                .baseUri(proxy.getBaseUrl())
+                .filter(circuitBreaker)
+                .get(EndpointConstants.HEROES_ENDPOINT);
+    }
+}
@@ -0,0 +1,51 @@
+package com.dota2.api.client;
+
+import com.dota2.config.TestConfig;
+import com.dota2.constants.EndpointConstants;
+import io.qameta.allure.*;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.net.SocketTimeoutException;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests for the client metrics filter on requests that fail without a response
+ */
+@Epic("Dota 2 API Testing")
+@Feature("Client - Metrics")
+@Listeners(TestConfig.class)
+public class ClientMetricsTest {
+
+    @Test(description = "Verify that an IOException thrown by the request is counted as an error")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Errors")
+    @Description("This test verifies that a checked IOException rethrown undeclared by Rest-Assured, such as "
+            + "a socket timeout, reaches the caller unchanged and is counted in the error metrics and the Prometheus export")
+    public void testIOExceptionIsCountedAsError() {
+        ClientMetrics metrics = new ClientMetrics();
+        SocketTimeoutException timeout = new SocketTimeoutException("Read timed out");
+        Filter timingOut = (requestSpec, responseSpec, ctx) -> sneakyThrow(timeout);
+
+        Exception thrown = expectThrows(Exception.class, () -> RestAssured.given()
+                .baseUri("http://localhost")
+                .filter(metrics)
+                .filter(timingOut)
+                .get(EndpointConstants.HEROES_ENDPOINT));
+
+        assertSame(thrown, timeout, "The IOException should be rethrown unchanged");
+        assertEquals(metrics.getErrorCount(), 1);
+        assertEquals(metrics.getRequestCount(), 1, "A failed request should still count as a request");
+        assertTrue(metrics.toPrometheus().contains("request_errors_total{method=\"GET\",endpoint=\""
+                        + EndpointConstants.HEROES_ENDPOINT + "\"} 1"),
+                "The error should be exported:\n" + metrics.toPrometheus());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable, R> R sneakyThrow(Throwable throwable) throws T {
+        throw (T) throwable;
+    }
+}
@@ -0,0 +1,118 @@
+package com.dota2.api.client;
+
+import com.dota2.api.config.ApiConfig;
+import com.dota2.config.TestConfig;
+import com.dota2.constants.EndpointConstants;
+import com.dota2.stub.FaultInjectionProxy;
+import com.dota2.stub.FaultProfile;
+import com.dota2.stub.FixtureServer;
+import com.dota2.stub.LatencyDistribution;
+import io.qameta.allure.*;
+import io.restassured.RestAssured;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests for the adaptive rate limiter, against the fixture server behind a fault injection
+ * proxy that answers every request with 429 (throttle rate 1)
+ */
+@Epic("Dota 2 API Testing")
+@Feature("Client - Rate Limiter")
+@Listeners(TestConfig.class)
+public class RateLimiterTest {
+    private static final int RETRY_AFTER_SECONDS = 5;
+    private static final int STATUS_TOO_MANY_REQUESTS = 429;
+
+    private FixtureServer fixtureServer;
+    private FaultInjectionProxy throttlingProxy;
+    private String host;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        fixtureServer = new FixtureServer(0, 2);
+        throttlingProxy = new FaultInjectionProxy(0, fixtureServer.getBaseUrl(), template -> new FaultProfile(template,
+                LatencyDistribution.parse("0"), 0, 0, 0, 1, RETRY_AFTER_SECONDS, 0, 503));
+        host = URI.create(throttlingProxy.getBaseUrl()).getHost();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        if (throttlingProxy != null) {
+            throttlingProxy.close();
+        }
+        if (fixtureServer != null) {
+            fixtureServer.close();
+        }
+    }
+
+    @Test(description = "Verify that a 429 response halves the rate of the bucket")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Throttling")
+    @Description("This test verifies that every 429 answer halves the current rate of the host bucket")
+    public void testTooManyRequestsHalvesRate() {
+        RateLimiter rateLimiter = new RateLimiter(ApiConfig.getInstance());
+        double configuredRate = ApiConfig.getInstance().getRateLimitRequestsPerSecond();
+
+        assertEquals(sendThrough(rateLimiter).getStatusCode(), STATUS_TOO_MANY_REQUESTS);
+        RateLimiter.WaitStats stats = rateLimiter.getWaitStats().get(host);
+        assertEquals(stats.getThrottles(), 1);
+        assertEquals(stats.getCurrentRate(), configuredRate / 2, 1e-9, "Rate should be halved after one 429");
+
+        sendThrough(rateLimiter);
+        assertEquals(rateLimiter.getWaitStats().get(host).getCurrentRate(), configuredRate / 4, 1e-9,
+                "Rate should be halved again after a second 429");
+    }
+
+    @Test(description = "Verify that Retry-After pauses the bucket")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Throttling")
+    @Description("This test verifies that requests wait out the Retry-After of a 429, longer than the refill of one token")
+    public void testRetryAfterPausesBucket() {
+        RateLimiter rateLimiter = new RateLimiter(ApiConfig.getInstance());
+        assertEquals(rateLimiter.reserve(host, EndpointConstants.HEROES_ENDPOINT), 0, "A new bucket should not be paused");
+
+        sendThrough(rateLimiter);
+        double rate = rateLimiter.getWaitStats().get(host).getCurrentRate();
+        long waitNanos = rateLimiter.reserve(host, EndpointConstants.HEROES_ENDPOINT);
+
+        assertTrue(waitNanos > TimeUnit.SECONDS.toNanos(1) / rate,
+                "Wait of " + waitNanos + " ns should exceed the refill of one token at " + rate + " req/s");
+        assertTrue(waitNanos <= TimeUnit.SECONDS.toNanos(RETRY_AFTER_SECONDS),
+                "Wait of " + waitNanos + " ns should end with the Retry-After");
+    }
+
+    @Test(description = "Verify that the remaining quota reported by the server caps the tokens")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Server quota")
+    @Description("This test verifies that a remaining quota header lower than the tokens left makes the next request wait")
+    public void testRemainingQuotaClampsTokens() {
+        RateLimiter rateLimiter = new RateLimiter(ApiConfig.getInstance());
+        assertEquals(rateLimiter.reserve(host, EndpointConstants.HEROES_ENDPOINT), 0, "The burst should cover the first request");
+        assertEquals(rateLimiter.reserve(host, EndpointConstants.HEROES_ENDPOINT), 0, "The burst should cover the second request");
+
+        rateLimiter.onResponse(host, EndpointConstants.HEROES_ENDPOINT, EndpointConstants.STATUS_OK,
+                new Headers(new Header("X-Rate-Limit-Remaining-Minute", "0")));
+
+        assertTrue(rateLimiter.reserve(host, EndpointConstants.HEROES_ENDPOINT) > 0,
+                "A request should wait once the server reports no quota left");
+        assertEquals(rateLimiter.getWaitStats().get(host).getThrottles(), 0);
+    }
+
+    private Response sendThrough(RateLimiter rateLimiter) {
+        return RestAssured.given()
+                .baseUri(throttlingProxy.getBaseUrl())
+                .filter(rateLimiter)
+                .get(EndpointConstants.HEROES_ENDPOINT);
+    }
+}
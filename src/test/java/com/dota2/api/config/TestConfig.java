@@ -1,20 +1,45 @@
 package com.dota2.config;
 
+import com.dota2.api.client.AllureAttachments;
+import com.dota2.api.client.ClientRegistry;
+import com.dota2.api.client.RequestTimings;
+import com.dota2.api.config.ApiConfig;
+import com.dota2.stub.FaultInjectionProxy;
+import com.dota2.stub.FixtureServer;
+import com.dota2.utils.ContractSnapshots;
+import io.qameta.allure.Allure;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
 /**
  * TestNG listener for test lifecycle events
  */
-public class TestConfig implements ITestListener {
+public class TestConfig implements ITestListener, IInvokedMethodListener {
     private static final Logger logger = LogManager.getLogger(TestConfig.class);
+    private static FixtureServer fixtureServer;
+    private static FaultInjectionProxy faultInjectionProxy;
 
     @Override
     public void onStart(ITestContext context) {
         logger.info("Starting test suite: {}", context.getName());
+        if (ApiConfig.getInstance().isStubEnabled()) {
+            startFixtureServer();
+        }
+        if (ApiConfig.getInstance().isProxyEnabled()) {
+            startFaultInjectionProxy();
+        }
+        if (ApiConfig.getInstance().isPoolPrewarmEnabled()) {
+            ClientRegistry.getInstance().prewarm();
+        }
     }
 
     @Override
@@ -23,6 +48,119 @@ public class TestConfig implements ITestListener {
         logger.info("Passed tests: {}", context.getPassedTests().size());
         logger.info("Failed tests: {}", context.getFailedTests().size());
         logger.info("Skipped tests: {}", context.getSkippedTests().size());
+        if (ApiConfig.getInstance().isCacheEnabled()) {
+            ClientRegistry.getInstance().getResponseCache().logStats();
+        }
+        if (ApiConfig.getInstance().isCoalescingEnabled()) {
+            ClientRegistry.getInstance().getRequestCoalescer().logStats();
+        }
+        if (ApiConfig.getInstance().isRateLimitEnabled()) {
+            ClientRegistry.getInstance().getRateLimiter().logStats();
+        }
+        if (ApiConfig.getInstance().isCircuitBreakerEnabled()) {
+            ClientRegistry.getInstance().getCircuitBreaker().logStats();
+        }
+        ClientRegistry.getInstance().getRetryPolicy().logStats();
+        ClientRegistry.getInstance().getTimeoutPolicy().logStats();
+        if (ApiConfig.getInstance().isMetricsEnabled()) {
+            ClientRegistry.getInstance().getClientMetrics().logStats();
+            ClientRegistry.getInstance().getClientMetrics().export(ApiConfig.getInstance());
+        }
+        if (ApiConfig.getInstance().isSchemaSnapshotEnabled()) {
+            ContractSnapshots.getInstance().logStats();
+            ContractSnapshots.getInstance().flush();
+        }
+        AllureAttachments attachments = ClientRegistry.getInstance().getAllureAttachments();
+        if (attachments != null) {
+            attachments.flush();
+            attachments.logStats();
+        }
+        if (ClientRegistry.getInstance().getCassette() != null) {
+            ClientRegistry.getInstance().getCassette().logStats();
+            ClientRegistry.getInstance().getCassette().flush();
+        }
+        stopFaultInjectionProxy();
+        stopFixtureServer();
+    }
+
+    private static synchronized void startFixtureServer() {
+        if (fixtureServer != null) {
+            return;
+        }
+        try {
+            fixtureServer = FixtureServer.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error starting the fixture server", e);
+        }
+        logger.info("Running against the fixture server at {}, api.base.url is {}",
+                fixtureServer.getBaseUrl(), ApiConfig.getInstance().getBaseUrl());
+    }
+
+    private static synchronized void startFaultInjectionProxy() {
+        if (faultInjectionProxy != null) {
+            return;
+        }
+        try {
+            faultInjectionProxy = FaultInjectionProxy.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error starting the fault injection proxy", e);
+        }
+        logger.info("Running through the fault injection proxy at {}, api.base.url is {}",
+                faultInjectionProxy.getBaseUrl(), ApiConfig.getInstance().getBaseUrl());
+    }
+
+    private static synchronized void stopFaultInjectionProxy() {
+        if (faultInjectionProxy != null) {
+            faultInjectionProxy.close();
+            faultInjectionProxy = null;
+        }
+    }
+
+    private static synchronized void stopFixtureServer() {
+        if (fixtureServer != null) {
+            fixtureServer.close();
+            fixtureServer = null;
+        }
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        if (isTimingAttachmentEnabled()) {
+            RequestTimings.startCapture();
+        }
+        AllureAttachments attachments = ClientRegistry.getInstance().getAllureAttachments();
+        if (attachments != null) {
+            attachments.startCapture();
+        }
+    }
+
+    /**
+     * Attaches the phase timings and, for a failed test, the requests and responses of the test
+     * while Allure still has the test open
+     */
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        AllureAttachments attachments = ClientRegistry.getInstance().getAllureAttachments();
+        if (attachments != null) {
+            attachments.stopCapture(testResult.getStatus() == ITestResult.FAILURE);
+        }
+        if (!isTimingAttachmentEnabled()) {
+            return;
+        }
+        List<RequestTimings> timings = RequestTimings.stopCapture();
+        if (!timings.isEmpty()) {
+            Allure.addAttachment("Request timings (ms)", "text/plain", RequestTimings.table(timings), ".txt");
+        }
+    }
+
+    private static boolean isTimingAttachmentEnabled() {
+        return ApiConfig.getInstance().isMetricsEnabled() && ApiConfig.getInstance().isTimingAttachmentEnabled();
     }
 
     @Override
@@ -57,12 +57,7 @@ public class GetHeroByIdTest {
     @Description("This test verifies that finding a hero by a valid ID works correctly")
     public void testGetHeroByValidIdReturns200(int heroId) {
         // Get all heroes
-        Response response = heroesEndpoint.getAllHeroes();
-
-        assertEquals(response.getStatusCode(), EndpointConstants.STATUS_OK,
-                "Expected 200 OK status code");
-
-        List<Hero> heroes = response.jsonPath().getList("", Hero.class);
+        List<Hero> heroes = heroesEndpoint.heroes();
         Hero hero = heroes.stream()
                 .filter(h -> h.getId() != null && h.getId().equals(heroId))
                 .findFirst()
@@ -81,11 +76,7 @@ public class GetHeroByIdTest {
     public void testGetHeroByIdReturnsCorrectData() {
         int heroId = VALID_HERO_ID_1; // Anti-Mage
 
-        Response response = heroesEndpoint.getAllHeroes();
-
-        assertEquals(response.getStatusCode(), EndpointConstants.STATUS_OK);
-
-        List<Hero> heroes = response.jsonPath().getList("", Hero.class);
+        List<Hero> heroes = heroesEndpoint.heroes();
         Hero hero = heroes.stream()
                 .filter(h -> h.getId() != null && h.getId().equals(heroId))
                 .findFirst()
@@ -102,16 +93,32 @@ public class GetHeroByIdTest {
         logger.info("Successfully verified hero data for ID: {}", heroId);
     }
 
+    @Test(description = "Verify that the hero catalog finds heroes by ID and by name")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Get hero by ID")
+    @Description("This test verifies that the cached hero catalog resolves the same hero by ID, internal name and localized name")
+    public void testHeroCatalogFindsHeroByIdAndName() {
+        Hero hero = heroesEndpoint.findHeroById(VALID_HERO_ID_1);
+
+        assertNotNull(hero, "Hero with ID " + VALID_HERO_ID_1 + " should exist in the catalog");
+        assertEquals(hero.getId().intValue(), VALID_HERO_ID_1, "Hero ID should match the requested ID");
+
+        Hero byName = heroesEndpoint.findHeroByName(hero.getName());
+        Hero byLocalizedName = heroesEndpoint.findHeroByName(hero.getLocalizedName().toUpperCase());
+
+        assertEquals(byName, hero, "Lookup by internal name should return the same hero");
+        assertEquals(byLocalizedName, hero, "Lookup by localized name should ignore case and return the same hero");
+        assertNull(heroesEndpoint.findHeroById(INVALID_HERO_ID), "Invalid hero ID should not be found in the catalog");
+
+        logger.info("Successfully verified hero catalog lookups for ID: {}", VALID_HERO_ID_1);
+    }
+
     @Test(description = "Verify that finding a hero by invalid ID returns no results")
     @Severity(SeverityLevel.NORMAL)
     @Story("Get hero by ID")
     @Description("This test verifies that finding a hero by an invalid ID returns no results")
     public void testGetHeroByInvalidIdReturnsNoResults() {
-        Response response = heroesEndpoint.getAllHeroes();
-
-        assertEquals(response.getStatusCode(), EndpointConstants.STATUS_OK);
-
-        List<Hero> heroes = response.jsonPath().getList("", Hero.class);
+        List<Hero> heroes = heroesEndpoint.heroes();
         Hero hero = heroes.stream()
                 .filter(h -> h.getId() != null && h.getId().equals(INVALID_HERO_ID))
                 .findFirst()
@@ -127,11 +134,7 @@ public class GetHeroByIdTest {
     @Story("Get hero by ID")
     @Description("This test verifies that the hero data for a specific ID matches the expected schema")
     public void testHeroByIdSchemaIsValid() {
-        Response response = heroesEndpoint.getAllHeroes();
-
-        assertEquals(response.getStatusCode(), EndpointConstants.STATUS_OK);
-
-        List<Hero> heroes = response.jsonPath().getList("", Hero.class);
+        List<Hero> heroes = heroesEndpoint.heroes();
         List<Hero> singleHero = heroes.stream()
                 .filter(h -> h.getId() != null && h.getId().equals(VALID_HERO_ID_1))
                 .collect(Collectors.toList());
@@ -4,6 +4,8 @@ import com.dota2.api.endpoints.HeroesEndpoint;
 import com.dota2.config.TestConfig;
 import com.dota2.constants.EndpointConstants;
 import com.dota2.model.Hero;
+import com.dota2.model.Page;
+import com.dota2.utils.ParsedResponse;
 import com.dota2.utils.SchemaValidator;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
@@ -13,7 +15,10 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.hamcrest.Matchers.*;
 import static org.testng.Assert.*;
@@ -48,6 +53,21 @@ public class GetHeroesTest {
         logger.info("Successfully verified GET /heroes returns 200 OK with heroes data");
     }
 
+    @Test(description = "Verify that the async GET /heroes endpoint returns 200 OK")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Get all heroes")
+    @Description("This test verifies that the non-blocking GET /heroes call completes with a 200 OK status code")
+    public void testGetAllHeroesAsyncReturns200() {
+        Response response = heroesEndpoint.getAllHeroesAsync().join();
+
+        assertEquals(response.getStatusCode(), EndpointConstants.STATUS_OK,
+                "Expected 200 OK status code");
+
+        response.then().body("size()", greaterThan(0));
+
+        logger.info("Successfully verified async GET /heroes returns 200 OK with heroes data");
+    }
+
     @Test(description = "Verify that the heroes data contains required fields")
     @Severity(SeverityLevel.CRITICAL)
     @Story("Get all heroes")
@@ -57,11 +77,12 @@ public class GetHeroesTest {
 
         assertEquals(response.getStatusCode(), EndpointConstants.STATUS_OK);
 
-        response.then().body("every { it.containsKey('" + EndpointConstants.ID_FIELD + "') }", is(true));
-        response.then().body("every { it.containsKey('" + EndpointConstants.NAME_FIELD + "') }", is(true));
-        response.then().body("every { it.containsKey('" + EndpointConstants.LOCALIZED_NAME_FIELD + "') }", is(true));
-        response.then().body("every { it.containsKey('" + EndpointConstants.PRIMARY_ATTR_FIELD + "') }", is(true));
-        response.then().body("every { it.containsKey('" + EndpointConstants.ROLES_FIELD + "') }", is(true));
+        ParsedResponse parsed = ParsedResponse.of(response);
+        parsed.then().body("every { it.containsKey('" + EndpointConstants.ID_FIELD + "') }", is(true));
+        parsed.then().body("every { it.containsKey('" + EndpointConstants.NAME_FIELD + "') }", is(true));
+        parsed.then().body("every { it.containsKey('" + EndpointConstants.LOCALIZED_NAME_FIELD + "') }", is(true));
+        parsed.then().body("every { it.containsKey('" + EndpointConstants.PRIMARY_ATTR_FIELD + "') }", is(true));
+        parsed.then().body("every { it.containsKey('" + EndpointConstants.ROLES_FIELD + "') }", is(true));
 
         logger.info("Successfully verified heroes contain all required fields");
     }
@@ -80,6 +101,16 @@ public class GetHeroesTest {
         logger.info("Successfully verified heroes schema is valid");
     }
 
+    @Test(description = "Verify that the heroes schema is valid while the response is downloading")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Get all heroes")
+    @Description("This test validates the heroes response against the JSON schema token by token as it arrives, stopping at the first violation")
+    public void testHeroesSchemaIsValidWhileStreaming() {
+        SchemaValidator.validateStreaming(EndpointConstants.HEROES_ENDPOINT, Collections.emptyMap(), "hero-schema.json");
+
+        logger.info("Successfully verified heroes schema is valid while streaming");
+    }
+
     @Test(description = "Verify that we can process heroes with pagination")
     @Severity(SeverityLevel.NORMAL)
     @Story("Get heroes with pagination")
@@ -88,11 +119,7 @@ public class GetHeroesTest {
         int limit = 5;
         int offset = 0;
 
-        Response response = heroesEndpoint.getAllHeroes();
-
-        assertEquals(response.getStatusCode(), EndpointConstants.STATUS_OK);
-
-        List<Hero> allHeroes = response.jsonPath().getList("", Hero.class);
+        List<Hero> allHeroes = heroesEndpoint.heroes();
         List<Hero> firstPage = allHeroes.subList(offset, Math.min(offset + limit, allHeroes.size()));
 
         assertEquals(firstPage.size(), limit, "First page should contain " + limit + " heroes");
@@ -119,4 +146,30 @@ public class GetHeroesTest {
 
         logger.info("Successfully verified heroes pagination processing");
     }
+
+    @Test(description = "Verify that the heroes pagination API returns only the requested page")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Get heroes with pagination")
+    @Description("This test verifies that heroes pages are served from the hero catalog and that streaming pages covers every hero once")
+    public void testHeroesPaginationReturnsRequestedPage() {
+        int limit = 5;
+
+        Page<Hero> firstPage = heroesEndpoint.getHeroesWithPagination(limit, 0);
+        Page<Hero> secondPage = heroesEndpoint.getHeroesWithPagination(limit, limit);
+
+        assertEquals(firstPage.getItems().size(), limit, "First page should contain " + limit + " heroes");
+        assertEquals(secondPage.getItems().size(), limit, "Second page should contain " + limit + " heroes");
+        assertTrue(firstPage.hasNext(), "First page should report more heroes");
+        assertNotEquals(firstPage.getItems().get(0).getId(), secondPage.getItems().get(0).getId(),
+                "The second page should start with a different hero than the first page");
+
+        Set<Integer> streamedIds = new HashSet<>();
+        heroesEndpoint.streamHeroPages(limit)
+                .flatMap(page -> page.getItems().stream())
+                .forEach(hero -> assertTrue(streamedIds.add(hero.getId()), "Hero " + hero.getId() + " streamed twice"));
+
+        assertEquals(streamedIds.size(), firstPage.getTotal(), "Streaming pages should cover every hero");
+
+        logger.info("Successfully verified heroes pagination API over {} heroes", firstPage.getTotal());
+    }
 }
\ No newline at end of file
@@ -51,11 +51,7 @@ public class GetMatchByIdTest {
     @Story("Get match by ID")
     @Description("This test verifies that getting a match by ID returns the correct match data")
     public void testGetMatchByIdReturnsCorrectData() {
-        Response response = matchesEndpoint.getMatchById(VALID_MATCH_ID_1);
-
-        assertEquals(response.getStatusCode(), EndpointConstants.STATUS_OK);
-
-        Match match = response.as(Match.class);
+        Match match = matchesEndpoint.match(VALID_MATCH_ID_1);
 
         assertEquals(match.getMatchId(), VALID_MATCH_ID_1, "Match ID should match the requested ID");
         assertNotNull(match.getStartTime(), "Match start time should not be null");
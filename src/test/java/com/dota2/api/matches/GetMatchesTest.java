@@ -4,6 +4,7 @@ import com.dota2.api.endpoints.MatchesEndpoint;
 import com.dota2.config.TestConfig;
 import com.dota2.constants.EndpointConstants;
 import com.dota2.model.Match;
+import com.dota2.utils.ParsedResponse;
 import com.dota2.utils.SchemaValidator;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
@@ -59,12 +60,13 @@ public class GetMatchesTest {
 
         assertEquals(response.getStatusCode(), EndpointConstants.STATUS_OK);
 
-        response.then().body("[0]", hasKey(EndpointConstants.MATCH_ID_FIELD));
-        response.then().body("[0]", hasKey(EndpointConstants.START_TIME_FIELD));
-        response.then().body("[0]", hasKey(EndpointConstants.DURATION_FIELD));
-        response.then().body("[0]", hasKey(EndpointConstants.RADIANT_WIN_FIELD));
-        response.then().body("[0]", hasKey(EndpointConstants.RADIANT_TEAM_FIELD));
-        response.then().body("[0]", hasKey(EndpointConstants.DIRE_TEAM_FIELD));
+        ParsedResponse parsed = ParsedResponse.of(response);
+        parsed.then().body("[0]", hasKey(EndpointConstants.MATCH_ID_FIELD));
+        parsed.then().body("[0]", hasKey(EndpointConstants.START_TIME_FIELD));
+        parsed.then().body("[0]", hasKey(EndpointConstants.DURATION_FIELD));
+        parsed.then().body("[0]", hasKey(EndpointConstants.RADIANT_WIN_FIELD));
+        parsed.then().body("[0]", hasKey(EndpointConstants.RADIANT_TEAM_FIELD));
+        parsed.then().body("[0]", hasKey(EndpointConstants.DIRE_TEAM_FIELD));
 
         logger.info("Successfully verified matches contain all required fields");
     }
@@ -77,11 +79,7 @@ public class GetMatchesTest {
         Map<String, Object> params = new HashMap<>();
         params.put("game_mode", 1); // All Pick
 
-        Response response = matchesEndpoint.getMatchesByParams(params);
-
-        assertEquals(response.getStatusCode(), EndpointConstants.STATUS_OK);
-
-        List<Match> matches = response.jsonPath().getList("", Match.class);
+        List<Match> matches = matchesEndpoint.matches(params);
 
         assertFalse(matches.isEmpty(), "Should return some matches");
 
@@ -96,11 +94,7 @@ public class GetMatchesTest {
         int limit = 5;
         int offset = 0;
 
-        Response response = matchesEndpoint.getRecentMatches();
-
-        assertEquals(response.getStatusCode(), EndpointConstants.STATUS_OK);
-
-        List<Match> allMatches = response.jsonPath().getList("", Match.class);
+        List<Match> allMatches = matchesEndpoint.recentMatches();
         List<Match> firstPage = allMatches.subList(offset, Math.min(offset + limit, allMatches.size()));
 
         assertEquals(firstPage.size(), limit, "First page should contain " + limit + " matches");
@@ -1,9 +1,11 @@
 package com.dota2.api.players;
 
+import com.dota2.api.endpoints.PlayerOverview;
 import com.dota2.api.endpoints.PlayersEndpoint;
 import com.dota2.config.TestConfig;
 import com.dota2.constants.EndpointConstants;
 import com.dota2.model.Player;
+import com.dota2.utils.ParsedResponse;
 import com.dota2.utils.SchemaValidator;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
@@ -14,6 +16,8 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import java.time.Duration;
+
 import static org.hamcrest.Matchers.*;
 import static org.testng.Assert.*;
 
@@ -68,11 +72,7 @@ public class GetPlayerByIdTest {
     @Story("Get player by ID")
     @Description("This test verifies that getting a player by ID returns the correct player data")
     public void testGetPlayerByIdReturnsCorrectData() {
-        Response response = playersEndpoint.getPlayerById(VALID_PLAYER_ID_1);
-
-        assertEquals(response.getStatusCode(), EndpointConstants.STATUS_OK);
-
-        Player player = response.as(Player.class);
+        Player player = playersEndpoint.player(VALID_PLAYER_ID_1);
 
         assertNotNull(player.getProfile(), "Player profile should not be null");
         assertNotNull(player.getProfile().getAccountId(), "Player profile account ID should not be null");
@@ -111,8 +111,9 @@ public class GetPlayerByIdTest {
 
         String responseBody = response.getBody().asString();
         if (!responseBody.equals("[]") && !responseBody.equals("{}")) {
-            response.then().body("size()", greaterThan(0));
-            response.then().body("[0]", hasKey("match_id"));
+            ParsedResponse parsed = ParsedResponse.of(response);
+            parsed.then().body("size()", greaterThan(0));
+            parsed.then().body("[0]", hasKey("match_id"));
         } else {
             logger.info("No recent matches found for player ID: {}, but API returned successfully", VALID_PLAYER_ID_1);
         }
@@ -128,15 +129,31 @@ public class GetPlayerByIdTest {
         Response response = playersEndpoint.getPlayerWinLoss(VALID_PLAYER_ID_1);
 
         assertEquals(response.getStatusCode(), EndpointConstants.STATUS_OK);
-        response.then().body("win", notNullValue());
-        response.then().body("lose", notNullValue());
+        ParsedResponse parsed = ParsedResponse.of(response);
+        parsed.then().body("win", notNullValue());
+        parsed.then().body("lose", notNullValue());
 
-        response.then().body("win", greaterThanOrEqualTo(0));
-        response.then().body("lose", greaterThanOrEqualTo(0));
+        parsed.then().body("win", greaterThanOrEqualTo(0));
+        parsed.then().body("lose", greaterThanOrEqualTo(0));
 
         logger.info("Successfully verified win/loss data for player ID: {}", VALID_PLAYER_ID_1);
     }
 
+    @Test(description = "Verify that a player overview completes within its deadline")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Get player overview")
+    @Description("This test verifies that the profile, win/loss and recent matches calls complete within one shared deadline")
+    public void testGetPlayerOverviewWithinDeadline() {
+        PlayerOverview overview = playersEndpoint.getPlayerOverview(VALID_PLAYER_ID_1, Duration.ofSeconds(60));
+
+        assertEquals(overview.getProfile().getStatusCode(), EndpointConstants.STATUS_OK);
+        assertEquals(overview.getWinLoss().getStatusCode(), EndpointConstants.STATUS_OK);
+        assertEquals(overview.getRecentMatches().getStatusCode(), EndpointConstants.STATUS_OK);
+        overview.getWinLoss().then().body("win", greaterThanOrEqualTo(0));
+
+        logger.info("Successfully verified overview for player ID: {}", VALID_PLAYER_ID_1);
+    }
+
     @Test(description = "Verify that getting a player by invalid ID returns appropriate response")
     @Severity(SeverityLevel.NORMAL)
     @Story("Get player by invalid ID")
@@ -4,6 +4,7 @@ import com.dota2.api.endpoints.TeamsEndpoint;
 import com.dota2.config.TestConfig;
 import com.dota2.constants.EndpointConstants;
 import com.dota2.model.Team;
+import com.dota2.utils.ParsedResponse;
 import com.dota2.utils.SchemaValidator;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
@@ -67,11 +68,7 @@ public class GetTeamByIdTest {
     @Story("Get team by ID")
     @Description("This test verifies that getting a team by ID returns the correct team data")
     public void testGetTeamByIdReturnsCorrectData() {
-        Response response = teamsEndpoint.getTeamById(VALID_TEAM_ID_1);
-
-        assertEquals(response.getStatusCode(), EndpointConstants.STATUS_OK);
-
-        Team team = response.as(Team.class);
+        Team team = teamsEndpoint.team(VALID_TEAM_ID_1);
 
         assertEquals(team.getTeamId().intValue(), VALID_TEAM_ID_1, "Team ID should match the requested ID");
         assertNotNull(team.getName(), "Team name should not be null");
@@ -112,9 +109,10 @@ public class GetTeamByIdTest {
 
         String responseBody = response.getBody().asString();
         if (!responseBody.equals("[]") && !responseBody.equals("{}")) {
-            response.then().body("size()", greaterThan(0));
-            if (response.jsonPath().getList("").size() > 0) {
-                response.then().body("[0]", hasKey("match_id"));
+            ParsedResponse parsed = ParsedResponse.of(response);
+            parsed.then().body("size()", greaterThan(0));
+            if (parsed.getList("").size() > 0) {
+                parsed.then().body("[0]", hasKey("match_id"));
             }
         }
 
@@ -132,9 +130,10 @@ public class GetTeamByIdTest {
 
         String responseBody = response.getBody().asString();
         if (!responseBody.equals("[]") && !responseBody.equals("{}")) {
-            response.then().body("size()", greaterThan(0));
-            if (response.jsonPath().getList("").size() > 0) {
-                response.then().body("[0]", hasKey("account_id"));
+            ParsedResponse parsed = ParsedResponse.of(response);
+            parsed.then().body("size()", greaterThan(0));
+            if (parsed.getList("").size() > 0) {
+                parsed.then().body("[0]", hasKey("account_id"));
             }
         }
 
@@ -4,6 +4,7 @@ import com.dota2.api.endpoints.TeamsEndpoint;
 import com.dota2.config.TestConfig;
 import com.dota2.constants.EndpointConstants;
 import com.dota2.model.Team;
+import com.dota2.utils.ParsedResponse;
 import com.dota2.utils.SchemaValidator;
 import io.qameta.allure.*;
 import io.restassured.response.Response;
@@ -59,8 +60,9 @@ public class GetTeamsTest {
 
         assertEquals(response.getStatusCode(), EndpointConstants.STATUS_OK);
 
-        response.then().body("[0]", hasKey("team_id"));
-        response.then().body("[0]", hasKey("name"));
+        ParsedResponse parsed = ParsedResponse.of(response);
+        parsed.then().body("[0]", hasKey("team_id"));
+        parsed.then().body("[0]", hasKey("name"));
 
 
         logger.info("Successfully verified teams contain all required fields");
@@ -72,10 +74,7 @@ public class GetTeamsTest {
     @Description("This test verifies that teams can be retrieved and client-side pagination works")
     public void testTeamsPagination() {
 
-        Response response = teamsEndpoint.getAllTeams();
-        assertEquals(response.getStatusCode(), EndpointConstants.STATUS_OK);
-
-        List<Team> allTeams = response.jsonPath().getList("", Team.class);
+        List<Team> allTeams = teamsEndpoint.teams();
         assertTrue(allTeams.size() > 0, "Should return some teams");
 
         int limit = 5;
@@ -96,10 +95,7 @@ public class GetTeamsTest {
     @Story("Get teams with sorting")
     @Description("This test verifies that teams can be sorted client-side")
     public void testTeamsSorting() {
-        Response response = teamsEndpoint.getAllTeams();
-        assertEquals(response.getStatusCode(), EndpointConstants.STATUS_OK);
-
-        List<Team> allTeams = response.jsonPath().getList("", Team.class);
+        List<Team> allTeams = teamsEndpoint.teams();
         assertTrue(allTeams.size() > 0, "Should return some teams");
 
         List<Team> teamsWithRating = allTeams.stream()
@@ -128,6 +124,7 @@ public class GetTeamsTest {
         assertEquals(response.getStatusCode(), EndpointConstants.STATUS_OK);
 
         assertTrue(response.getBody().asString().startsWith("["), "Response should be an array");
+        SchemaValidator.validateEachElement(response, "team-schema.json");
 
         List<Integer> teamIds = response.jsonPath().getList("team_id");
         if (teamIds != null && !teamIds.isEmpty()) {
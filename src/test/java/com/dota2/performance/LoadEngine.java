@@ -0,0 +1,132 @@
+package com.dota2.performance;
+
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator driving the endpoint classes.
+ * Arrivals are scheduled from the scenario's rate profile and handed to a pool of virtual
+ * users; response times are measured from the scheduled start of each iteration, so time
+ * spent queued behind a slow system is counted instead of silently omitted.
+ */
+public class LoadEngine {
+    private static final Logger logger = LogManager.getLogger(LoadEngine.class);
+    private static final long SCHEDULER_STEP_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Runs a scenario to completion
+     * @param scenario load profile and iteration to run
+     * @return results, warm-up excluded
+     */
+    public LoadResult run(LoadScenario scenario) {
+        logger.info("Starting load scenario {}: {} stages over {} s, warm-up {} s, up to {} virtual users",
+                scenario.getName(), scenario.getStages().size(), scenario.getTotalDuration().toSeconds(),
+                scenario.getWarmUp().toSeconds(), scenario.getMaxUsers());
+        ExecutorService users = newUserPool(scenario);
+        Semaphore slots = new Semaphore(scenario.getMaxUsers());
+        LoadResult result = new LoadResult(scenario.getName());
+
+        long start = System.nanoTime();
+        long warmUpEnd = start + scenario.getWarmUp().toNanos();
+        double pending = 0;
+        for (long elapsed = 0; ; elapsed += SCHEDULER_STEP_NANOS) {
+            double rate = scenario.rateAt(elapsed);
+            if (rate < 0) {
+                break;
+            }
+            pending += rate * SCHEDULER_STEP_NANOS / TimeUnit.SECONDS.toNanos(1);
+            while (pending >= 1) {
+                pending -= 1;
+                long intendedStart = start + elapsed;
+                boolean warmUp = intendedStart - warmUpEnd < 0;
+                parkUntil(intendedStart);
+                if (!slots.tryAcquire()) {
+                    result.recordDropped(warmUp);
+                    continue;
+                }
+                users.execute(() -> {
+                    try {
+                        iterate(scenario, result, intendedStart, warmUp);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+        }
+
+        users.shutdown();
+        try {
+            if (!users.awaitTermination(scenario.getGracefulStop().toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("Load scenario {}: {} iterations still running after the graceful stop, interrupting them",
+                        scenario.getName(), scenario.getMaxUsers() - slots.availablePermits());
+                users.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            users.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        result.finish(System.nanoTime() - Math.max(start, Math.min(warmUpEnd, System.nanoTime())));
+        logger.info("Load scenario {} finished: {}", scenario.getName(), result);
+        return result;
+    }
+
+    private static void iterate(LoadScenario scenario, LoadResult result, long intendedStart, boolean warmUp) {
+        long actualStart = System.nanoTime();
+        Response response = null;
+        Exception error = null;
+        try {
+            response = scenario.getRequest().get();
+        } catch (Exception e) {
+            error = e;
+        }
+        long end = System.nanoTime();
+        if (warmUp) {
+            result.recordWarmUp();
+            return;
+        }
+        if (error != null) {
+            result.recordError(end - intendedStart, end - actualStart, error);
+        } else {
+            result.record(end - intendedStart, end - actualStart, response.getStatusCode(), scenario.getCheck().test(response));
+        }
+    }
+
+    /**
+     * Uses one virtual thread per iteration when the JVM offers them (Java 21+), and a bounded
+     * pool of platform threads otherwise; the semaphore caps iterations in flight either way
+     */
+    private static ExecutorService newUserPool(LoadScenario scenario) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(scenario.getMaxUsers(), scenario.getMaxUsers(),
+                    30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "vu-" + scenario.getName() + "-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            pool.allowCoreThreadTimeOut(true);
+            for (int i = 0; i < Math.min(scenario.getPreAllocatedUsers(), scenario.getMaxUsers()); i++) {
+                pool.prestartCoreThread();
+            }
+            return pool;
+        }
+    }
+
+    private static void parkUntil(long deadline) {
+        for (long remaining = deadline - System.nanoTime(); remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.dota2.performance;
+
+import com.dota2.api.endpoints.HeroesEndpoint;
+import com.dota2.api.endpoints.MatchesEndpoint;
+import com.dota2.api.endpoints.PlayersEndpoint;
+import com.dota2.api.endpoints.TeamsEndpoint;
+import com.dota2.config.TestConfig;
+import com.dota2.constants.EndpointConstants;
+import com.dota2.utils.SchemaValidator;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Testes de performance com o motor de carga em Java (modelo aberto, taxa de chegada em rampa).
+ * Ficam no grupo "load", que o surefire exclui por padrão; rodam com mvn test -P stub,load
+ * (ou só -P load, contra a OpenDota). Os thresholds de p95 são os de cada teste abaixo.
+ */
+@Epic("Dota 2 API Testing")
+@Feature("API Performance")
+@Listeners(TestConfig.class)
+@Test(groups = LoadPerformanceTest.GROUP)
+public class LoadPerformanceTest {
+    public static final String GROUP = "load";
+
+    private static final Logger logger = LogManager.getLogger(LoadPerformanceTest.class);
+    private static final Path REPORT_OUTPUT_PATH = Paths.get("target", "load-reports");
+    private static final Duration WARM_UP = Duration.ofSeconds(10);
+
+    // Arteezy
+    private static final long PLAYER_ID = 86745912L;
+    // PSG.LGD
+    private static final int TEAM_ID = 15;
+
+    private final LoadEngine loadEngine = new LoadEngine();
+    private HeroesEndpoint heroesEndpoint;
+    private MatchesEndpoint matchesEndpoint;
+    private TeamsEndpoint teamsEndpoint;
+    private PlayersEndpoint playersEndpoint;
+
+    @BeforeClass
+    public void setup() {
+        heroesEndpoint = new HeroesEndpoint();
+        matchesEndpoint = new MatchesEndpoint();
+        teamsEndpoint = new TeamsEndpoint();
+        playersEndpoint = new PlayersEndpoint();
+    }
+
+    @Test(description = "Executa o teste de performance para o endpoint Heroes")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Heroes API Performance")
+    @Description("Este teste gera carga em rampa no endpoint Heroes e avalia p95 e taxa de erros, validando o esquema de uma a cada N respostas")
+    public void testHeroesPerformance() throws IOException {
+        Predicate<Response> heroSchema = SchemaValidator.sampled("hero-schema.json");
+        LoadResult result = loadEngine.run(LoadScenario.builder()
+                .name("heroes_performance")
+                .request(heroesEndpoint::getAllHeroes)
+                .check(response -> response.getStatusCode() == EndpointConstants.STATUS_OK && heroSchema.test(response))
+                .warmUp(WARM_UP)
+                .stage(new LoadStage(Duration.ofSeconds(10), 0.2))
+                .stage(new LoadStage(Duration.ofSeconds(20), 0.5))
+                .stage(new LoadStage(Duration.ofSeconds(20), 0.8))
+                .stage(new LoadStage(Duration.ofSeconds(10), 0))
+                .build());
+
+        report(result);
+        assertTrue(result.getResponseTime().getPercentileMillis(95) < 2000,
+                "p95 do endpoint Heroes acima de 2000 ms: " + result.getResponseTime());
+        assertTrue(result.getErrorRate() < 0.2, "Taxa de erros do endpoint Heroes acima de 20%: " + result);
+    }
+
+    @Test(description = "Executa o teste de performance para o endpoint Matches")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Matches API Performance")
+    @Description("Este teste gera carga em rampa no endpoint Matches e avalia p95 e taxa de erros")
+    public void testMatchesPerformance() throws IOException {
+        LoadResult result = loadEngine.run(LoadScenario.builder()
+                .name("matches_performance")
+                .request(matchesEndpoint::getRecentMatches)
+                .warmUp(WARM_UP)
+                .stage(new LoadStage(Duration.ofSeconds(10), 0.2))
+                .stage(new LoadStage(Duration.ofSeconds(15), 0.3))
+                .stage(new LoadStage(Duration.ofSeconds(15), 0.5))
+                .stage(new LoadStage(Duration.ofSeconds(10), 0))
+                .build());
+
+        report(result);
+        assertTrue(result.getResponseTime().getPercentileMillis(95) < 1200,
+                "p95 do endpoint Matches acima de 1200 ms: " + result.getResponseTime());
+        assertTrue(result.getErrorRate() < 0.25, "Taxa de erros do endpoint Matches acima de 25%: " + result);
+    }
+
+    @Test(description = "Executa o teste de performance para os endpoints Teams e Players")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Teams and Players API Performance")
+    @Description("Este teste alterna requisições entre Teams e Players sob carga constante e avalia p95 e taxa de erros")
+    public void testTeamsAndPlayersPerformance() throws IOException {
+        AtomicLong iteration = new AtomicLong();
+        LoadResult result = loadEngine.run(LoadScenario.constantArrivalRate("teams_players_performance", 0.3,
+                        Duration.ofSeconds(35), () -> iteration.getAndIncrement() % 2 == 0
+                                ? teamsEndpoint.getTeamById(TEAM_ID)
+                                : playersEndpoint.getPlayerById(PLAYER_ID))
+                .warmUp(WARM_UP)
+                .build());
+
+        report(result);
+        assertTrue(result.getResponseTime().getPercentileMillis(95) < 1500,
+                "p95 dos endpoints Teams e Players acima de 1500 ms: " + result.getResponseTime());
+        assertTrue(result.getErrorRate() < 0.25, "Taxa de erros dos endpoints Teams e Players acima de 25%: " + result);
+    }
+
+    private void report(LoadResult result) throws IOException {
+        Path reportFile = result.writeReport(REPORT_OUTPUT_PATH);
+        logger.info("Relatório de performance gerado em: {}", reportFile);
+        Allure.addAttachment("Load Report " + result.getName(), "application/json", Files.readString(reportFile), ".json");
+    }
+}
@@ -0,0 +1,158 @@
+package com.dota2.performance;
+
+import com.dota2.utils.LatencyHistogram;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Results of a load scenario, warm-up excluded.
+ * Response time runs from the scheduled start of an iteration to its end (corrected for
+ * coordinated omission); service time runs from the moment it actually started.
+ */
+public class LoadResult {
+    private static final double[] REPORTED_PERCENTILES = {50, 90, 95, 99, 99.9};
+
+    private final String name;
+    private final LatencyHistogram responseTime = new LatencyHistogram();
+    private final LatencyHistogram serviceTime = new LatencyHistogram();
+    private final LongAdder iterations = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder warmUpIterations = new LongAdder();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private long measuredNanos;
+
+    public LoadResult(String name) {
+        this.name = name;
+    }
+
+    void record(long responseNanos, long serviceNanos, int statusCode, boolean passed) {
+        responseTime.recordNanos(responseNanos);
+        serviceTime.recordNanos(serviceNanos);
+        iterations.increment();
+        if (!passed) {
+            failures.increment();
+        }
+        outcomes.computeIfAbsent(String.valueOf(statusCode), key -> new LongAdder()).increment();
+    }
+
+    void recordError(long responseNanos, long serviceNanos, Exception error) {
+        responseTime.recordNanos(responseNanos);
+        serviceTime.recordNanos(serviceNanos);
+        iterations.increment();
+        failures.increment();
+        outcomes.computeIfAbsent(error.getClass().getSimpleName(), key -> new LongAdder()).increment();
+    }
+
+    void recordDropped(boolean warmUp) {
+        if (!warmUp) {
+            dropped.increment();
+        }
+    }
+
+    void recordWarmUp() {
+        warmUpIterations.increment();
+    }
+
+    void finish(long measuredNanos) {
+        this.measuredNanos = measuredNanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LatencyHistogram getResponseTime() {
+        return responseTime;
+    }
+
+    public LatencyHistogram getServiceTime() {
+        return serviceTime;
+    }
+
+    public long getIterations() {
+        return iterations.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getWarmUpIterations() {
+        return warmUpIterations.sum();
+    }
+
+    /**
+     * Gets the share of iterations that failed or were dropped for lack of a free virtual user
+     * @return error rate between 0 and 1
+     */
+    public double getErrorRate() {
+        long attempted = getIterations() + getDropped();
+        return attempted == 0 ? 0 : (double) (getFailures() + getDropped()) / attempted;
+    }
+
+    public double getThroughput() {
+        return measuredNanos <= 0 ? 0 : getIterations() / (measuredNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public Map<String, Long> getOutcomes() {
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Writes the results as JSON
+     * @param directory report directory, created when missing
+     * @return path of the report file
+     * @throws IOException if the report cannot be written
+     */
+    public Path writeReport(Path directory) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", name);
+        report.put("iterations", getIterations());
+        report.put("failures", getFailures());
+        report.put("dropped", getDropped());
+        report.put("warmUpIterations", getWarmUpIterations());
+        report.put("errorRate", getErrorRate());
+        report.put("throughputPerSecond", getThroughput());
+        report.put("outcomes", getOutcomes());
+        report.put("responseTimeMs", latencies(responseTime));
+        report.put("serviceTimeMs", latencies(serviceTime));
+
+        Files.createDirectories(directory);
+        Path file = directory.resolve(name + ".json");
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        return file;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d iterations, %d failed, %d dropped, %.2f/s, outcomes %s, response time [%s]",
+                getIterations(), getFailures(), getDropped(), getThroughput(), getOutcomes(), responseTime);
+    }
+
+    private static Map<String, Object> latencies(LatencyHistogram histogram) {
+        Map<String, Object> latencies = new LinkedHashMap<>();
+        latencies.put("mean", histogram.getMeanMillis());
+        for (double percentile : REPORTED_PERCENTILES) {
+            latencies.put("p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                    histogram.getPercentileMillis(percentile));
+        }
+        latencies.put("max", histogram.getMaxMillis());
+        return latencies;
+    }
+}
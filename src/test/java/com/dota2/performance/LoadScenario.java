@@ -0,0 +1,77 @@
+package com.dota2.performance;
+
+import io.restassured.response.Response;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Open-model load scenario: iterations start at the scheduled arrival rate whether or not
+ * earlier ones have finished, like k6's constant-arrival-rate and ramping-arrival-rate executors.
+ */
+@Getter
+@Builder
+public class LoadScenario {
+    private final String name;
+    private final Supplier<Response> request;
+    @Builder.Default
+    private final Predicate<Response> check = response -> response.getStatusCode() == 200;
+    @Singular
+    private final List<LoadStage> stages;
+    /** Arrival rate, in iterations per second, at the start of the first stage */
+    @Builder.Default
+    private final double startRate = 0;
+    /** Iterations scheduled within the warm-up still run but are left out of the results */
+    @Builder.Default
+    private final Duration warmUp = Duration.ZERO;
+    /** Virtual users started up front */
+    @Builder.Default
+    private final int preAllocatedUsers = 2;
+    /** Iterations in flight at most; arrivals beyond it are dropped and counted */
+    @Builder.Default
+    private final int maxUsers = 20;
+    /** Time given to in-flight iterations after the last stage ends */
+    @Builder.Default
+    private final Duration gracefulStop = Duration.ofSeconds(30);
+
+    /**
+     * Starts a scenario that keeps one arrival rate for its whole duration
+     * @param name scenario name, used in the report file name
+     * @param rate iterations per second
+     * @param duration how long to generate load, warm-up included
+     * @param request iteration to run
+     * @return builder to refine the scenario
+     */
+    public static LoadScenarioBuilder constantArrivalRate(String name, double rate, Duration duration, Supplier<Response> request) {
+        return builder().name(name).request(request).startRate(rate).stage(new LoadStage(duration, rate));
+    }
+
+    /**
+     * Gets the scheduled arrival rate at a point in the run
+     * @param elapsedNanos time since the start of the run
+     * @return iterations per second, or -1 once every stage has ended
+     */
+    public double rateAt(long elapsedNanos) {
+        double from = startRate;
+        long stageStart = 0;
+        for (LoadStage stage : stages) {
+            long length = stage.getDuration().toNanos();
+            if (elapsedNanos < stageStart + length) {
+                double progress = (double) (elapsedNanos - stageStart) / length;
+                return from + (stage.getTargetRate() - from) * progress;
+            }
+            from = stage.getTargetRate();
+            stageStart += length;
+        }
+        return -1;
+    }
+
+    public Duration getTotalDuration() {
+        return stages.stream().map(LoadStage::getDuration).reduce(Duration.ZERO, Duration::plus);
+    }
+}
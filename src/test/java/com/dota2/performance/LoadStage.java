@@ -0,0 +1,16 @@
+package com.dota2.performance;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Stage of a load profile: the arrival rate ramps linearly to the target over the duration
+ */
+@Data
+@AllArgsConstructor
+public class LoadStage {
+    private Duration duration;
+    private double targetRate;
+}
@@ -0,0 +1,161 @@
+package com.dota2.utils;
+
+import com.dota2.config.TestConfig;
+import io.qameta.allure.*;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+/**
+ * Tests that ParsedResponse returns the same values, with the same types, as response.jsonPath()
+ * for the paths it walks itself and for the GPath expressions it hands to Rest-Assured
+ */
+@Epic("Dota 2 API Testing")
+@Feature("Utils - Parsed Response")
+@Listeners(TestConfig.class)
+public class ParsedResponseTest {
+    private static final String LIST_BODY = "["
+            + "{\"id\":1,\"name\":\"Anti-Mage\",\"roles\":[\"Carry\",\"Escape\"],\"profile\":{\"account_id\":86745912,\"avatar\":null},"
+            + "\"win_rate\":0.52,\"pro\":true,\"matches\":[{\"match_id\":7000000001},{\"match_id\":7000000002}]},"
+            + "{\"id\":2,\"name\":\"Axe\",\"roles\":[],\"profile\":{\"account_id\":111620041},"
+            + "\"win_rate\":1e40,\"pro\":false,\"matches\":[]},"
+            + "{\"id\":3,\"name\":\"Bane\",\"roles\":[\"Support\"],\"profile\":null,\"matches\":[{\"match_id\":12}]}"
+            + "]";
+    private static final String OBJECT_BODY = "{"
+            + "\"a\":{\"b\":{\"c\":\"deep\"},\"list\":[{\"b\":1},{\"b\":2},{\"c\":3}]},"
+            + "\"team_id\":15,\"rating\":1500.5,\"big\":123456789012345678901234567890,"
+            + "\"grid\":[[{\"x\":1},{\"x\":2}],[{\"x\":3}]],\"tags\":[\"a\",\"b\"],\"empty\":{},\"nothing\":null"
+            + "}";
+    private static final int GC_ATTEMPTS = 100;
+
+    @DataProvider(name = "paths", parallel = true)
+    public Object[][] paths() {
+        return new Object[][] {
+                { LIST_BODY, "" },
+                { LIST_BODY, "size()" },
+                { LIST_BODY, "[0]" },
+                { LIST_BODY, "[2]" },
+                { LIST_BODY, "[5]" },
+                { LIST_BODY, "[0].name" },
+                { LIST_BODY, "[0].name.size()" },
+                { LIST_BODY, "[0].roles" },
+                { LIST_BODY, "[0].roles.size()" },
+                { LIST_BODY, "[0].roles[1]" },
+                { LIST_BODY, "[0].profile.account_id" },
+                { LIST_BODY, "[0].profile.avatar" },
+                { LIST_BODY, "[0].win_rate" },
+                { LIST_BODY, "[1].win_rate" },
+                { LIST_BODY, "[0].matches[1].match_id" },
+                { LIST_BODY, "id" },
+                { LIST_BODY, "name" },
+                { LIST_BODY, "pro" },
+                { LIST_BODY, "win_rate" },
+                { LIST_BODY, "roles" },
+                { LIST_BODY, "profile" },
+                { LIST_BODY, "profile.account_id" },
+                { LIST_BODY, "matches" },
+                { LIST_BODY, "matches.match_id" },
+                { LIST_BODY, "findAll { it.pro }.name" },
+                { LIST_BODY, "find { it.id == 2 }.profile.account_id" },
+                { OBJECT_BODY, "" },
+                { OBJECT_BODY, "size()" },
+                { OBJECT_BODY, "a" },
+                { OBJECT_BODY, "a.b" },
+                { OBJECT_BODY, "a.b.c" },
+                { OBJECT_BODY, "a.b.c.size()" },
+                { OBJECT_BODY, "a.missing" },
+                { OBJECT_BODY, "a.missing.b" },
+                { OBJECT_BODY, "a.list.b" },
+                { OBJECT_BODY, "a.list.size()" },
+                { OBJECT_BODY, "team_id" },
+                { OBJECT_BODY, "rating" },
+                { OBJECT_BODY, "big" },
+                { OBJECT_BODY, "grid.x" },
+                { OBJECT_BODY, "grid[1]" },
+                { OBJECT_BODY, "tags[0]" },
+                { OBJECT_BODY, "tags.size()" },
+                { OBJECT_BODY, "empty" },
+                { OBJECT_BODY, "empty.size()" },
+                { OBJECT_BODY, "nothing" },
+                { OBJECT_BODY, "nothing.b" },
+                { OBJECT_BODY, "a.list.findAll { it.b }.b" }
+        };
+    }
+
+    @Test(description = "Verify that ParsedResponse.get matches response.jsonPath().get",
+            dataProvider = "paths")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Path lookups")
+    @Description("This test verifies that a path read through ParsedResponse gives the same value and type as Rest-Assured's JsonPath")
+    public void testGetMatchesJsonPath(String body, String path) {
+        Response response = jsonResponse(body);
+        Object expected = response.jsonPath().get(path);
+        Object actual = ParsedResponse.of(response).get(path);
+
+        assertEquals(actual, expected, "Value at path '" + path + "'");
+        if (expected != null) {
+            assertEquals(actual.getClass(), expected.getClass(), "Type of the value at path '" + path + "'");
+        }
+    }
+
+    @Test(description = "Verify that lists collected from every element follow GPath")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Path lookups")
+    @Description("This test verifies that collecting a field from every element of a list skips null elements, "
+            + "gives null for elements without the field and nests the values of nested lists, as GPath does")
+    public void testCollectedListsMatchJsonPath() {
+        Response listResponse = jsonResponse(LIST_BODY);
+        ParsedResponse parsedList = ParsedResponse.of(listResponse);
+        List<Object> accountIds = parsedList.getList("profile.account_id");
+        assertEquals(accountIds, listResponse.jsonPath().getList("profile.account_id"));
+        assertEquals(accountIds, List.of(86745912, 111620041), "A null profile should be skipped");
+
+        List<Object> matchIds = parsedList.getList("matches.match_id");
+        assertEquals(matchIds, listResponse.jsonPath().getList("matches.match_id"));
+        assertEquals(matchIds, List.of(List.of(7000000001L, 7000000002L), List.of(), List.of(12)),
+                "Values collected from nested lists should stay nested");
+
+        Response objectResponse = jsonResponse(OBJECT_BODY);
+        List<Object> collected = ParsedResponse.of(objectResponse).getList("a.list.b");
+        assertEquals(collected, objectResponse.jsonPath().getList("a.list.b"));
+        assertEquals(collected, Arrays.asList(1, 2, null), "An element without the field should give null");
+    }
+
+    @Test(description = "Verify that a parsed response can still be garbage collected")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Parse cache")
+    @Description("This test verifies that caching the parsed body of a response does not keep the response reachable "
+            + "once neither it nor its ParsedResponse is referenced any more")
+    public void testParsedResponseDoesNotRetainResponse() throws InterruptedException {
+        WeakReference<Response> response = parseAndDrop();
+        for (int i = 0; i < GC_ATTEMPTS && response.get() != null; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        assertNull(response.get(), "The response should be collected once its ParsedResponse is unreferenced");
+    }
+
+    private static WeakReference<Response> parseAndDrop() {
+        Response response = jsonResponse(LIST_BODY);
+        ParsedResponse parsed = ParsedResponse.of(response);
+        assertEquals(parsed.getList("id"), List.of(1, 2, 3));
+        assertSame(ParsedResponse.of(response), parsed, "The parsed body should be cached while the response is alive");
+        return new WeakReference<>(response);
+    }
+
+    private static Response jsonResponse(String body) {
+        return new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType("application/json")
+                .setBody(body)
+                .build();
+    }
+}